@@ -6,8 +6,11 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.validation.annotation.Validated;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 
 
 @Configuration
@@ -26,6 +29,28 @@ public class AppProperties {
    
     private final Admin admin = new Admin();
 
+    private final Dashboard dashboard = new Dashboard();
+
+    private final Pagination pagination = new Pagination();
+
+    private final Search search = new Search();
+
+    private final Auth auth = new Auth();
+
+    private final BulkImport bulkImport = new BulkImport();
+
+    private final Allocation allocation = new Allocation();
+
+    private final Retry retry = new Retry();
+
+    private final Vacancy vacancy = new Vacancy();
+
+    private final Menu menu = new Menu();
+
+    private final Stream stream = new Stream();
+
+    private final Meals meals = new Meals();
+
   
     @Getter
     @Setter
@@ -40,6 +65,35 @@ public class AppProperties {
 
         @Positive(message = "Refresh token expiration must be positive")
         private long refreshExpiration = 604800000L;
+
+        @Positive(message = "Verified token cache size must be positive")
+        private int tokenCacheSize = 10000;
+
+        @Positive(message = "User details cache size must be positive")
+        private int userCacheSize = 1000;
+
+        // HS256 (shared secret), ES256 or EdDSA
+        private String algorithm = "HS256";
+
+        private String keyDirectory = "keys";
+
+        // ISO instant asymmetric signing was switched on; shared-secret tokens issued before it are
+        // accepted for one refresh expiration after it. Empty rejects them outright.
+        private String legacyHmacCutoff = "";
+
+        // 0 disables automatic key generation
+        @PositiveOrZero(message = "Key rotation period must not be negative")
+        private long keyRotationPeriod = 0L;
+
+        @Positive(message = "Key reload interval must be positive")
+        private long keyReloadInterval = 300000L;
+
+        // Expected number of revoked sessions alive at once, sizes the Bloom filter
+        @Positive(message = "Revocation capacity must be positive")
+        private int revocationCapacity = 100000;
+
+        @Positive(message = "Revocation rebuild interval must be positive")
+        private long revocationRebuildInterval = 3600000L;
     }
 
    
@@ -68,4 +122,156 @@ public class AppProperties {
       
         private String name = "System Admin";
     }
+
+    @Getter
+    @Setter
+    public static class Dashboard {
+
+        @Positive(message = "Dashboard reconcile interval must be positive")
+        private long reconcileInterval = 300000L;
+    }
+
+    @Getter
+    @Setter
+    public static class Pagination {
+
+        @Positive(message = "Default page size must be positive")
+        private int defaultPageSize = 20;
+
+        @Positive(message = "Max page size must be positive")
+        private int maxPageSize = 100;
+    }
+
+    @Getter
+    @Setter
+    public static class Search {
+
+        @Positive(message = "Search reindex interval must be positive")
+        private long reindexInterval = 600000L;
+
+        @Positive(message = "Max search results must be positive")
+        private int maxResults = 20;
+    }
+
+    @Getter
+    @Setter
+    public static class Auth {
+
+        // Raising it rehashes passwords on their next login
+        @Min(value = 4, message = "BCrypt strength must be between 4 and 31")
+        @Max(value = 31, message = "BCrypt strength must be between 4 and 31")
+        private int bcryptStrength = 10;
+
+        // 0 uses half of the available processors
+        @PositiveOrZero(message = "Hash threads must not be negative")
+        private int hashThreads = 0;
+
+        @Positive(message = "Hash queue capacity must be positive")
+        private int hashQueueCapacity = 64;
+
+        @Positive(message = "Hash timeout must be positive")
+        private long hashTimeout = 5000L;
+
+        @Positive(message = "Login attempts per email must be positive")
+        private int loginAttemptsPerEmail = 5;
+
+        @Positive(message = "Login attempts per address must be positive")
+        private int loginAttemptsPerAddress = 120;
+
+        @Positive(message = "Login attempt window must be positive")
+        private long loginAttemptWindow = 60000L;
+
+        @Positive(message = "Login throttle size must be positive")
+        private int loginThrottleSize = 10000;
+    }
+
+    @Getter
+    @Setter
+    public static class BulkImport {
+
+        @Positive(message = "Import row limit must be positive")
+        private int maxRows = 5000;
+
+        // Ms an import may wait for all of its password hashes
+        @Positive(message = "Import hash timeout must be positive")
+        private long hashTimeout = 300000L;
+    }
+
+    @Getter
+    @Setter
+    public static class Allocation {
+
+        @Positive(message = "Allocation batch size must be positive")
+        private int maxBatchSize = 500;
+    }
+
+    @Getter
+    @Setter
+    public static class Retry {
+
+        @Min(value = 1, message = "At least one attempt is required")
+        private int maxAttempts = 3;
+
+        @PositiveOrZero(message = "Retry backoff cannot be negative")
+        private long backoff = 20L;
+    }
+
+    @Getter
+    @Setter
+    public static class Vacancy {
+
+        @Positive(message = "Vacancy index rebuild interval must be positive")
+        private long rebuildInterval = 600000L;
+    }
+
+    @Getter
+    @Setter
+    public static class Menu {
+
+        @PositiveOrZero(message = "Menu cache max age cannot be negative")
+        private long cacheMaxAge = 60L;
+
+        @Positive(message = "Menu calendar must cover at least one day")
+        private int calendarDays = 30;
+    }
+
+    @Getter
+    @Setter
+    public static class Stream {
+
+        @Positive(message = "Event stream dispatch threads must be positive")
+        private int dispatchThreads = 4;
+
+        @Positive(message = "Event stream buffer size must be positive")
+        private int bufferSize = 32;
+
+        @Positive(message = "Event stream heartbeat interval must be positive")
+        private long heartbeatInterval = 20000L;
+
+        @Positive(message = "Event stream timeout must be positive")
+        private long timeout = 1800000L;
+
+        @Positive(message = "Event stream limit must be positive")
+        private int maxSubscribers = 10000;
+
+        @Positive(message = "Per-user event stream limit must be positive")
+        private int maxPerUser = 3;
+
+        @Positive(message = "Event stream send timeout must be positive")
+        private long sendTimeout = 10000L;
+    }
+
+    @Getter
+    @Setter
+    public static class Meals {
+
+        @Positive(message = "Meal opt-out horizon must be positive")
+        private int optOutHorizonDays = 14;
+
+        @Positive(message = "Meal forecast history must be positive")
+        private int forecastWeeks = 8;
+
+        @Positive(message = "Meal headcount rebuild interval must be positive")
+        private long rebuildInterval = 600000L;
+    }
 }
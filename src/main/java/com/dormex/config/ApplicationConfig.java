@@ -1,20 +1,27 @@
 package com.dormex.config;
 
+import com.dormex.security.PasswordHashingPool;
+import com.dormex.security.PooledPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.Clock;
 
 
 @Configuration
+@EnableScheduling
 public class ApplicationConfig {
 
   
+    // Raising the strength rehashes each password on its next successful login
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PooledPasswordEncoder passwordEncoder(
+            PasswordHashingPool passwordHashingPool,
+            @Value("${app.auth.bcrypt-strength:10}") int strength) {
+        return new PooledPasswordEncoder(new BCryptPasswordEncoder(strength), passwordHashingPool);
     }
 
     
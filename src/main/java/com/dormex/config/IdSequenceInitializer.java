@@ -0,0 +1,50 @@
+package com.dormex.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Moves the user and student id sequences past the existing rows.
+ *
+ * MySQL has no sequences, so Hibernate keeps them in single-row tables
+ * (users_seq, students_seq) that start at 1 when ddl-auto creates them on a
+ * database whose ids came from AUTO_INCREMENT. The pooled optimizer hands
+ * out the block of ids ending at the stored value, hence the allocation
+ * size margin. Runs before anything else inserts.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class IdSequenceInitializer implements CommandLineRunner {
+
+    private static final int ALLOCATION_SIZE = 50;
+    private static final List<String> TABLES = List.of("users", "students");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        String database = jdbcTemplate.execute(
+            (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"MySQL".equalsIgnoreCase(database)) {
+            return;
+        }
+
+        for (String table : TABLES) {
+            int updated = jdbcTemplate.update(
+                "UPDATE " + table + "_seq SET next_val = GREATEST(next_val, " +
+                    "(SELECT COALESCE(MAX(id), 0) + ? FROM " + table + "))",
+                ALLOCATION_SIZE);
+            log.debug("Aligned {}_seq with existing ids ({} rows)", table, updated);
+        }
+    }
+}
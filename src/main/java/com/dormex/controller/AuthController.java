@@ -6,15 +6,21 @@ import com.dormex.dto.auth.LoginRequest;
 import com.dormex.dto.auth.RefreshTokenRequest;
 import com.dormex.dto.auth.RegisterRequest;
 import com.dormex.entity.enums.Role;
+import com.dormex.security.PasswordHashingPool;
 import com.dormex.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
@@ -22,11 +28,14 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final PasswordHashingPool passwordHashingPool;
 
     @PostMapping("/login")
     @Operation(summary = "Login with email and password")
-    public ResponseEntity<ApiResponse<AuthResponse>> login(@Valid @RequestBody LoginRequest request) {
-        AuthResponse response = authService.login(request);
+    public ResponseEntity<ApiResponse<AuthResponse>> login(
+            @Valid @RequestBody LoginRequest request, HttpServletRequest servletRequest) {
+        // The client address, already resolved from X-Forwarded-For by server.forward-headers-strategy
+        AuthResponse response = authService.login(request, servletRequest.getRemoteAddr());
         return ResponseEntity.ok(ApiResponse.success("Login successful", response));
     }
 
@@ -53,9 +62,31 @@ public class AuthController {
         return ResponseEntity.ok(ApiResponse.success("Token refreshed", response));
     }
 
+    @PostMapping("/logout")
+    @Operation(summary = "Revoke the session of a refresh token")
+    public ResponseEntity<ApiResponse<Void>> logout(@Valid @RequestBody RefreshTokenRequest request) {
+        authService.logout(request);
+        return ResponseEntity.ok(ApiResponse.success("Logged out", null));
+    }
+
+    @GetMapping("/password-hashing")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Password hashing pool load (Admin only)")
+    public ResponseEntity<ApiResponse<PasswordHashingPool.Stats>> getPasswordHashingStats() {
+        return ResponseEntity.ok(ApiResponse.success(passwordHashingPool.stats()));
+    }
+
     @GetMapping("/oauth2/google")
     @Operation(summary = "Initiate Google OAuth2 login", description = "Redirects to Google login page")
     public void googleLogin() {
         // Spring Security handles redirect to /oauth2/authorization/google
     }
+
+    @GetMapping("/jwks")
+    @Operation(summary = "Public keys for verifying access tokens (JWK set)")
+    public ResponseEntity<Map<String, Object>> getJwks() {
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+            .body(authService.getJwks());
+    }
 }
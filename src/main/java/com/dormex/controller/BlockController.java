@@ -9,6 +9,7 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -51,7 +52,9 @@ public class BlockController {
     @Operation(summary = "Get block by ID")
     public ResponseEntity<ApiResponse<BlockResponse>> getBlockById(@PathVariable Long id) {
         BlockResponse response = blockService.getBlockById(id);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return ResponseEntity.ok()
+            .eTag(ETags.of(response.getVersion()))
+            .body(ApiResponse.success(response));
     }
 
     @PutMapping("/{id}")
@@ -59,17 +62,24 @@ public class BlockController {
     @Operation(summary = "Update block (Admin only)")
     public ResponseEntity<ApiResponse<BlockResponse>> updateBlock(
             @PathVariable Long id,
-            @Valid @RequestBody CreateBlockRequest request) {
-        BlockResponse response = blockService.updateBlock(id, request);
-        return ResponseEntity.ok(ApiResponse.success("Block updated", response));
+            @Valid @RequestBody CreateBlockRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        BlockResponse response = blockService.updateBlock(id, request, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok()
+            .eTag(ETags.of(response.getVersion()))
+            .body(ApiResponse.success("Block updated", response));
     }
 
     @PatchMapping("/{id}/toggle-status")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Toggle block active status (Admin only)")
-    public ResponseEntity<ApiResponse<BlockResponse>> toggleBlockStatus(@PathVariable Long id) {
-        BlockResponse response = blockService.toggleBlockStatus(id);
-        return ResponseEntity.ok(ApiResponse.success("Status toggled", response));
+    public ResponseEntity<ApiResponse<BlockResponse>> toggleBlockStatus(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        BlockResponse response = blockService.toggleBlockStatus(id, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok()
+            .eTag(ETags.of(response.getVersion()))
+            .body(ApiResponse.success("Status toggled", response));
     }
 
     @DeleteMapping("/{id}")
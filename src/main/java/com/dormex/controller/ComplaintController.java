@@ -1,6 +1,7 @@
 package com.dormex.controller;
 
 import com.dormex.dto.ApiResponse;
+import com.dormex.dto.CursorPage;
 import com.dormex.dto.complaint.ComplaintResponse;
 import com.dormex.dto.complaint.CreateComplaintRequest;
 import com.dormex.dto.complaint.UpdateComplaintRequest;
@@ -13,13 +14,12 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/complaints")
 @RequiredArgsConstructor
@@ -42,17 +42,21 @@ public class ComplaintController {
     @GetMapping("/my")
     @PreAuthorize("hasRole('STUDENT')")
     @Operation(summary = "Get my complaints (Student only)")
-    public ResponseEntity<ApiResponse<List<ComplaintResponse>>> getMyComplaints(
-            @AuthenticationPrincipal CustomUserDetails userDetails) {
-        List<ComplaintResponse> complaints = complaintService.getMyComplaints(userDetails.getId());
+    public ResponseEntity<ApiResponse<CursorPage<ComplaintResponse>>> getMyComplaints(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<ComplaintResponse> complaints = complaintService.getMyComplaints(userDetails.getId(), cursor, size);
         return ResponseEntity.ok(ApiResponse.success(complaints));
     }
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get all complaints (Admin only)")
-    public ResponseEntity<ApiResponse<List<ComplaintResponse>>> getAllComplaints() {
-        List<ComplaintResponse> complaints = complaintService.getAllComplaints();
+    public ResponseEntity<ApiResponse<CursorPage<ComplaintResponse>>> getAllComplaints(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<ComplaintResponse> complaints = complaintService.getAllComplaints(cursor, size);
         return ResponseEntity.ok(ApiResponse.success(complaints));
     }
 
@@ -60,41 +64,51 @@ public class ComplaintController {
     @Operation(summary = "Get complaint by ID")
     public ResponseEntity<ApiResponse<ComplaintResponse>> getComplaintById(@PathVariable Long id) {
         ComplaintResponse response = complaintService.getComplaintById(id);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return ResponseEntity.ok()
+            .eTag(ETags.of(response.getVersion()))
+            .body(ApiResponse.success(response));
     }
 
     @GetMapping("/student/{studentId}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get complaints by student (Admin only)")
-    public ResponseEntity<ApiResponse<List<ComplaintResponse>>> getComplaintsByStudent(
-            @PathVariable Long studentId) {
-        List<ComplaintResponse> complaints = complaintService.getComplaintsByStudent(studentId);
+    public ResponseEntity<ApiResponse<CursorPage<ComplaintResponse>>> getComplaintsByStudent(
+            @PathVariable Long studentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<ComplaintResponse> complaints = complaintService.getComplaintsByStudent(studentId, cursor, size);
         return ResponseEntity.ok(ApiResponse.success(complaints));
     }
 
     @GetMapping("/status/{status}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get complaints by status (Admin only)")
-    public ResponseEntity<ApiResponse<List<ComplaintResponse>>> getComplaintsByStatus(
-            @PathVariable ComplaintStatus status) {
-        List<ComplaintResponse> complaints = complaintService.getComplaintsByStatus(status);
+    public ResponseEntity<ApiResponse<CursorPage<ComplaintResponse>>> getComplaintsByStatus(
+            @PathVariable ComplaintStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<ComplaintResponse> complaints = complaintService.getComplaintsByStatus(status, cursor, size);
         return ResponseEntity.ok(ApiResponse.success(complaints));
     }
 
     @GetMapping("/category/{category}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get complaints by category (Admin only)")
-    public ResponseEntity<ApiResponse<List<ComplaintResponse>>> getComplaintsByCategory(
-            @PathVariable ComplaintCategory category) {
-        List<ComplaintResponse> complaints = complaintService.getComplaintsByCategory(category);
+    public ResponseEntity<ApiResponse<CursorPage<ComplaintResponse>>> getComplaintsByCategory(
+            @PathVariable ComplaintCategory category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<ComplaintResponse> complaints = complaintService.getComplaintsByCategory(category, cursor, size);
         return ResponseEntity.ok(ApiResponse.success(complaints));
     }
 
     @GetMapping("/pending")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get pending complaints (Admin only)")
-    public ResponseEntity<ApiResponse<List<ComplaintResponse>>> getPendingComplaints() {
-        List<ComplaintResponse> complaints = complaintService.getPendingComplaints();
+    public ResponseEntity<ApiResponse<CursorPage<ComplaintResponse>>> getPendingComplaints(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<ComplaintResponse> complaints = complaintService.getPendingComplaints(cursor, size);
         return ResponseEntity.ok(ApiResponse.success(complaints));
     }
 
@@ -103,9 +117,12 @@ public class ComplaintController {
     @Operation(summary = "Update complaint (Admin only)")
     public ResponseEntity<ApiResponse<ComplaintResponse>> updateComplaint(
             @PathVariable Long id,
-            @Valid @RequestBody UpdateComplaintRequest request) {
-        ComplaintResponse response = complaintService.updateComplaint(id, request);
-        return ResponseEntity.ok(ApiResponse.success("Complaint updated", response));
+            @Valid @RequestBody UpdateComplaintRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ComplaintResponse response = complaintService.updateComplaint(id, request, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok()
+            .eTag(ETags.of(response.getVersion()))
+            .body(ApiResponse.success("Complaint updated", response));
     }
 
     @PatchMapping("/{id}/status")
@@ -114,9 +131,12 @@ public class ComplaintController {
     public ResponseEntity<ApiResponse<ComplaintResponse>> updateStatus(
             @PathVariable Long id,
             @RequestParam ComplaintStatus status,
-            @RequestParam(required = false) String remarks) {
-        ComplaintResponse response = complaintService.updateStatus(id, status, remarks);
-        return ResponseEntity.ok(ApiResponse.success("Status updated", response));
+            @RequestParam(required = false) String remarks,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ComplaintResponse response = complaintService.updateStatus(id, status, remarks, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok()
+            .eTag(ETags.of(response.getVersion()))
+            .body(ApiResponse.success("Status updated", response));
     }
 
     @DeleteMapping("/{id}")
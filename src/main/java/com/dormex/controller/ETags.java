@@ -0,0 +1,38 @@
+package com.dormex.controller;
+
+import com.dormex.exception.BadRequestException;
+import com.dormex.exception.PreconditionFailedException;
+
+/**
+ * Entity versions as HTTP validators. A record's ETag is its version column;
+ * sending it back in If-Match makes the update apply only to that version.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    // Null when the client did not ask for a check (no header or "*")
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        // If-Match uses strong comparison, so a weak tag never matches
+        if (tag.startsWith("W/")) {
+            throw new PreconditionFailedException("If-Match needs a strong entity tag");
+        }
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            throw new BadRequestException("If-Match must be a single quoted entity tag");
+        }
+        try {
+            return Long.valueOf(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match does not match any version of this record");
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.dormex.controller;
+
+import com.dormex.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Export", description = "Streaming data exports")
+@SecurityRequirement(name = "Bearer Authentication")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    @GetMapping("/{type}")
+    @Operation(summary = "Export students, rooms or complaints as CSV or NDJSON (Admin only)",
+        description = "Rows are streamed from the database as they are read; format is csv (default) or ndjson.")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable String type,
+            @RequestParam(defaultValue = "csv") String format) {
+        ExportService.Dataset dataset = ExportService.Dataset.from(type);
+        ExportService.Format exportFormat = ExportService.Format.from(format);
+        String filename = dataset.name().toLowerCase(Locale.ROOT) + "-" + LocalDate.now() + "." + exportFormat.extension();
+
+        StreamingResponseBody body = output -> exportService.export(dataset, exportFormat, output);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+            .body(body);
+    }
+}
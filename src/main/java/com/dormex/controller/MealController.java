@@ -0,0 +1,79 @@
+package com.dormex.controller;
+
+import com.dormex.dto.ApiResponse;
+import com.dormex.dto.meal.*;
+import com.dormex.entity.enums.MealType;
+import com.dormex.security.CustomUserDetails;
+import com.dormex.service.MealService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/meals")
+@RequiredArgsConstructor
+@Tag(name = "Meals", description = "Meal opt-outs, attendance and headcount forecasts")
+@SecurityRequirement(name = "Bearer Authentication")
+public class MealController {
+
+    private final MealService mealService;
+
+    // ========== Student Endpoints ==========
+
+    @PostMapping("/opt-outs")
+    @PreAuthorize("hasRole('STUDENT')")
+    @Operation(summary = "Skip an upcoming meal (Student only)")
+    public ResponseEntity<ApiResponse<MealOptOutResponse>> optOut(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @Valid @RequestBody MealOptOutRequest request) {
+        MealOptOutResponse response = mealService.optOut(userDetails.getId(), request);
+        return ResponseEntity.ok(ApiResponse.success("Opted out of " + response.getMealType() + " on " + response.getDate(), response));
+    }
+
+    @DeleteMapping("/opt-outs")
+    @PreAuthorize("hasRole('STUDENT')")
+    @Operation(summary = "Take back an opt-out (Student only)")
+    public ResponseEntity<ApiResponse<Void>> cancelOptOut(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam MealType mealType) {
+        mealService.cancelOptOut(userDetails.getId(), date, mealType);
+        return ResponseEntity.ok(ApiResponse.success("Opt-out cancelled", null));
+    }
+
+    @GetMapping("/opt-outs/my")
+    @PreAuthorize("hasRole('STUDENT')")
+    @Operation(summary = "Get my upcoming opt-outs (Student only)")
+    public ResponseEntity<ApiResponse<List<MealOptOutResponse>>> getMyOptOuts(
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        return ResponseEntity.ok(ApiResponse.success(mealService.getMyOptOuts(userDetails.getId())));
+    }
+
+    // ========== Admin Endpoints ==========
+
+    @GetMapping("/forecast")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Headcounts and portions to prepare for the meals of the next days (Admin only)")
+    public ResponseEntity<ApiResponse<List<MealForecastResponse>>> getForecast(
+            @RequestParam(defaultValue = "3") int days) {
+        return ResponseEntity.ok(ApiResponse.success("Meal forecast retrieved", mealService.getForecast(days)));
+    }
+
+    @PostMapping("/attendance")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Record the plates served for a meal (Admin only)")
+    public ResponseEntity<ApiResponse<MealAttendanceResponse>> recordAttendance(
+            @Valid @RequestBody MealAttendanceRequest request) {
+        return ResponseEntity.ok(ApiResponse.success("Attendance recorded", mealService.recordAttendance(request)));
+    }
+}
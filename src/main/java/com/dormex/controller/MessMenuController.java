@@ -5,15 +5,24 @@ import com.dormex.dto.menu.*;
 import com.dormex.entity.enums.DayOfWeek;
 import com.dormex.entity.enums.MealType;
 import com.dormex.service.MessMenuService;
+import com.dormex.service.MenuCalendar;
+import com.dormex.service.MenuItemService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/menu")
@@ -22,19 +31,40 @@ import java.util.List;
 public class MessMenuController {
 
     private final MessMenuService menuService;
+    private final MenuItemService menuItemService;
+
+    @Value("${app.menu.cache-max-age:60}")
+    private long cacheMaxAge;
 
     // ========== Public/Student Endpoints ==========
 
     @GetMapping("/today")
-    @Operation(summary = "Get today's menu")
-    public ResponseEntity<ApiResponse<DailyMenuResponse>> getTodayMenu() {
-        return ResponseEntity.ok(ApiResponse.success("Today's menu retrieved", menuService.getTodayMenu()));
+    @Operation(summary = "Get today's menu, optionally leaving out dishes with the given tags (e.g. exclude=nuts)",
+            description = "When filtering, each meal lists its untaggedItems: dishes nobody has tagged yet, which the filter could not check")
+    public ResponseEntity<byte[]> getTodayMenu(@RequestParam(required = false) List<String> exclude) {
+        return cached(menuService.getTodayMenu(exclude));
     }
 
     @GetMapping("/weekly")
     @Operation(summary = "Get weekly menu")
-    public ResponseEntity<ApiResponse<List<DailyMenuResponse>>> getWeeklyMenu() {
-        return ResponseEntity.ok(ApiResponse.success("Weekly menu retrieved", menuService.getWeeklyMenu()));
+    public ResponseEntity<byte[]> getWeeklyMenu() {
+        return cached(menuService.getWeeklyMenu());
+    }
+
+    @GetMapping("/date/{date}")
+    @Operation(summary = "Get the menu served on a date, with dated overrides applied")
+    public ResponseEntity<byte[]> getMenuForDate(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) List<String> exclude) {
+        return cached(menuService.getMenuForDate(date, exclude));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Find the weekly meals and current or upcoming overrides serving a dish, optionally limited to dishes with all given tags")
+    public ResponseEntity<ApiResponse<List<MenuItemMatch>>> searchMenus(
+            @RequestParam(required = false) String item,
+            @RequestParam(required = false) List<String> tag) {
+        return ResponseEntity.ok(ApiResponse.success(menuService.searchMenus(item, tag)));
     }
 
     @GetMapping("/day/{day}")
@@ -48,7 +78,10 @@ public class MessMenuController {
     public ResponseEntity<ApiResponse<MenuResponse>> getMenuByDayAndMeal(
             @PathVariable DayOfWeek day,
             @PathVariable MealType meal) {
-        return ResponseEntity.ok(ApiResponse.success("Menu retrieved", menuService.getMenuByDayAndMeal(day, meal)));
+        MenuResponse response = menuService.getMenuByDayAndMeal(day, meal);
+        return ResponseEntity.ok()
+                .eTag(ETags.of(response.getVersion()))
+                .body(ApiResponse.success("Menu retrieved", response));
     }
 
     // ========== Admin Endpoints ==========
@@ -65,8 +98,12 @@ public class MessMenuController {
     @Operation(summary = "Update menu by ID (Admin)")
     public ResponseEntity<ApiResponse<MenuResponse>> updateMenu(
             @PathVariable Long id,
-            @Valid @RequestBody UpdateMenuRequest request) {
-        return ResponseEntity.ok(ApiResponse.success("Menu updated successfully", menuService.updateMenu(id, request)));
+            @Valid @RequestBody UpdateMenuRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        MenuResponse response = menuService.updateMenu(id, request, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.of(response.getVersion()))
+                .body(ApiResponse.success("Menu updated successfully", response));
     }
 
     @PutMapping("/day/{day}/meal/{meal}")
@@ -75,9 +112,12 @@ public class MessMenuController {
     public ResponseEntity<ApiResponse<MenuResponse>> updateMenuByDayAndMeal(
             @PathVariable DayOfWeek day,
             @PathVariable MealType meal,
-            @Valid @RequestBody UpdateMenuRequest request) {
-        return ResponseEntity.ok(ApiResponse.success(
-                "Menu updated successfully", menuService.updateMenuByDayAndMeal(day, meal, request)));
+            @Valid @RequestBody UpdateMenuRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        MenuResponse response = menuService.updateMenuByDayAndMeal(day, meal, request, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.of(response.getVersion()))
+                .body(ApiResponse.success("Menu updated successfully", response));
     }
 
     @DeleteMapping("/{id}")
@@ -88,10 +128,95 @@ public class MessMenuController {
         return ResponseEntity.ok(ApiResponse.success("Menu deleted successfully", null));
     }
 
+    // ========== Menu Items (Admin) ==========
+
+    @GetMapping("/items")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "List menu items with their diet and allergen tags (Admin)")
+    public ResponseEntity<ApiResponse<List<MenuItemResponse>>> getMenuItems() {
+        return ResponseEntity.ok(ApiResponse.success("Menu items retrieved", menuItemService.getAllItems()));
+    }
+
+    @PostMapping("/items")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Add a menu item with tags (Admin)")
+    public ResponseEntity<ApiResponse<MenuItemResponse>> createMenuItem(@Valid @RequestBody MenuItemRequest request) {
+        MenuItemResponse response = menuItemService.createItem(request);
+        return ResponseEntity.ok()
+                .eTag(ETags.of(response.getVersion()))
+                .body(ApiResponse.success("Menu item created successfully", response));
+    }
+
+    @PutMapping("/items/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Rename or retag a menu item (Admin)")
+    public ResponseEntity<ApiResponse<MenuItemResponse>> updateMenuItem(
+            @PathVariable Long id,
+            @Valid @RequestBody MenuItemRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        MenuItemResponse response = menuService.updateItem(id, request, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.of(response.getVersion()))
+                .body(ApiResponse.success("Menu item updated successfully", response));
+    }
+
+    // ========== Dated Overrides (Admin) ==========
+
+    @GetMapping("/overrides")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "List current and upcoming menu overrides (Admin)")
+    public ResponseEntity<ApiResponse<List<MenuOverrideResponse>>> getUpcomingOverrides() {
+        return ResponseEntity.ok(ApiResponse.success("Menu overrides retrieved", menuService.getUpcomingOverrides()));
+    }
+
+    @PostMapping("/overrides")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Override a meal for a date range (Admin)")
+    public ResponseEntity<ApiResponse<MenuOverrideResponse>> createOverride(
+            @Valid @RequestBody MenuOverrideRequest request) {
+        MenuOverrideResponse response = menuService.createOverride(request);
+        return ResponseEntity.ok()
+                .eTag(ETags.of(response.getVersion()))
+                .body(ApiResponse.success("Menu override created successfully", response));
+    }
+
+    @PutMapping("/overrides/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Update menu override (Admin)")
+    public ResponseEntity<ApiResponse<MenuOverrideResponse>> updateOverride(
+            @PathVariable Long id,
+            @Valid @RequestBody MenuOverrideRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        MenuOverrideResponse response = menuService.updateOverride(id, request, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.of(response.getVersion()))
+                .body(ApiResponse.success("Menu override updated successfully", response));
+    }
+
+    @DeleteMapping("/overrides/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Delete menu override (Admin)")
+    public ResponseEntity<ApiResponse<Void>> deleteOverride(@PathVariable Long id) {
+        menuService.deleteOverride(id);
+        return ResponseEntity.ok(ApiResponse.success("Menu override deleted successfully", null));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get menu by ID (Admin)")
     public ResponseEntity<ApiResponse<MenuResponse>> getMenuById(@PathVariable Long id) {
-        return ResponseEntity.ok(ApiResponse.success("Menu retrieved", menuService.getMenuById(id)));
+        MenuResponse response = menuService.getMenuById(id);
+        return ResponseEntity.ok()
+                .eTag(ETags.of(response.getVersion()))
+                .body(ApiResponse.success("Menu retrieved", response));
+    }
+
+    // Spring answers a matching If-None-Match with 304 and the same headers, without the body
+    private ResponseEntity<byte[]> cached(MenuCalendar.RenderedMenu menu) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.maxAge(cacheMaxAge, TimeUnit.SECONDS).cachePrivate().mustRevalidate())
+                .eTag(menu.eTag())
+                .body(menu.body());
     }
 }
@@ -11,6 +11,7 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -46,7 +47,9 @@ public class RoomController {
     @Operation(summary = "Get room by ID")
     public ResponseEntity<ApiResponse<RoomResponse>> getRoomById(@PathVariable Long id) {
         RoomResponse response = roomService.getRoomById(id);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return ResponseEntity.ok()
+            .eTag(ETags.of(response.getVersion()))
+            .body(ApiResponse.success(response));
     }
 
     @GetMapping("/block/{blockId}")
@@ -65,16 +68,24 @@ public class RoomController {
     }
 
     @GetMapping("/vacant")
-    @Operation(summary = "Get all vacant rooms")
-    public ResponseEntity<ApiResponse<List<RoomResponse>>> getVacantRooms() {
-        List<RoomResponse> rooms = roomService.getVacantRooms();
+    @Operation(summary = "Get all vacant rooms",
+        description = "Rooms in service with at least minFreeBeds free beds (default 1), optionally on a floor or of a room type.")
+    public ResponseEntity<ApiResponse<List<RoomResponse>>> getVacantRooms(
+            @RequestParam(required = false) Integer minFreeBeds,
+            @RequestParam(required = false) Integer floor,
+            @RequestParam(required = false) String roomType) {
+        List<RoomResponse> rooms = roomService.getVacantRooms(null, minFreeBeds, floor, roomType);
         return ResponseEntity.ok(ApiResponse.success(rooms));
     }
 
     @GetMapping("/vacant/block/{blockId}")
     @Operation(summary = "Get vacant rooms in a block")
-    public ResponseEntity<ApiResponse<List<RoomResponse>>> getVacantRoomsByBlock(@PathVariable Long blockId) {
-        List<RoomResponse> rooms = roomService.getVacantRoomsByBlock(blockId);
+    public ResponseEntity<ApiResponse<List<RoomResponse>>> getVacantRoomsByBlock(
+            @PathVariable Long blockId,
+            @RequestParam(required = false) Integer minFreeBeds,
+            @RequestParam(required = false) Integer floor,
+            @RequestParam(required = false) String roomType) {
+        List<RoomResponse> rooms = roomService.getVacantRooms(blockId, minFreeBeds, floor, roomType);
         return ResponseEntity.ok(ApiResponse.success(rooms));
     }
 
@@ -83,9 +94,12 @@ public class RoomController {
     @Operation(summary = "Update room (Admin only)")
     public ResponseEntity<ApiResponse<RoomResponse>> updateRoom(
             @PathVariable Long id,
-            @Valid @RequestBody UpdateRoomRequest request) {
-        RoomResponse response = roomService.updateRoom(id, request);
-        return ResponseEntity.ok(ApiResponse.success("Room updated", response));
+            @Valid @RequestBody UpdateRoomRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        RoomResponse response = roomService.updateRoom(id, request, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok()
+            .eTag(ETags.of(response.getVersion()))
+            .body(ApiResponse.success("Room updated", response));
     }
 
     @PatchMapping("/{id}/status")
@@ -93,9 +107,12 @@ public class RoomController {
     @Operation(summary = "Update room status (Admin only)")
     public ResponseEntity<ApiResponse<RoomResponse>> updateRoomStatus(
             @PathVariable Long id,
-            @RequestParam RoomStatus status) {
-        RoomResponse response = roomService.updateRoomStatus(id, status);
-        return ResponseEntity.ok(ApiResponse.success("Status updated", response));
+            @RequestParam RoomStatus status,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        RoomResponse response = roomService.updateRoomStatus(id, status, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok()
+            .eTag(ETags.of(response.getVersion()))
+            .body(ApiResponse.success("Status updated", response));
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,33 @@
+package com.dormex.controller;
+
+import com.dormex.dto.ApiResponse;
+import com.dormex.dto.search.Suggestion;
+import com.dormex.service.SuggestionIndex;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Search", description = "Typeahead search APIs")
+public class SearchController {
+
+    private final SuggestionIndex suggestionIndex;
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest students and rooms by prefix")
+    public ResponseEntity<ApiResponse<List<Suggestion>>> suggest(
+            @RequestParam String q,
+            @RequestParam(required = false) Suggestion.Type type,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<Suggestion> suggestions = suggestionIndex.suggest(q, type, limit);
+        return ResponseEntity.ok(ApiResponse.success(suggestions));
+    }
+}
@@ -0,0 +1,28 @@
+package com.dormex.controller;
+
+import com.dormex.security.CustomUserDetails;
+import com.dormex.service.EventStreamHub;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/stream")
+@RequiredArgsConstructor
+@Tag(name = "Event Stream", description = "Server-sent events for menu and complaint updates")
+public class StreamController {
+
+    private final EventStreamHub eventStreamHub;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Subscribe to menu changes and status changes on your own complaints")
+    public SseEmitter subscribe(@AuthenticationPrincipal CustomUserDetails userDetails) {
+        return eventStreamHub.subscribe(userDetails.getId());
+    }
+}
@@ -1,16 +1,27 @@
 package com.dormex.controller;
 
 import com.dormex.dto.ApiResponse;
+import com.dormex.dto.PageResponse;
 import com.dormex.dto.student.CreateStudentRequest;
+import com.dormex.dto.student.RoomAllocationRequest;
+import com.dormex.dto.student.StudentFilter;
+import com.dormex.dto.student.StudentImportResult;
 import com.dormex.dto.student.StudentResponse;
 import com.dormex.dto.student.UpdateStudentRequest;
 import com.dormex.entity.enums.StudentStatus;
+import com.dormex.service.StudentImportService;
 import com.dormex.service.StudentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.MediaType;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -25,6 +36,7 @@ import java.util.List;
 public class StudentController {
 
     private final StudentService studentService;
+    private final StudentImportService studentImportService;
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -35,11 +47,36 @@ public class StudentController {
         return ResponseEntity.ok(ApiResponse.success("Student created", response));
     }
 
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Import students from CSV (Admin only)",
+        description = "The header row names the columns after the create request fields, e.g. " +
+            "name,email,password,rollNumber,department,year. Invalid rows are reported and skipped.")
+    public ResponseEntity<ApiResponse<StudentImportResult>> importStudentsCsv(@RequestBody String csv) {
+        StudentImportResult result = studentImportService.importCsv(csv);
+        return ResponseEntity.ok(ApiResponse.success(importMessage(result), result));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Import students from a JSON array of create requests (Admin only)",
+        description = "Invalid rows are reported and skipped.")
+    public ResponseEntity<ApiResponse<StudentImportResult>> importStudentsJson(
+            @RequestBody List<CreateStudentRequest> requests) {
+        StudentImportResult result = studentImportService.importStudents(requests);
+        return ResponseEntity.ok(ApiResponse.success(importMessage(result), result));
+    }
+
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Get all students (Admin only)")
-    public ResponseEntity<ApiResponse<List<StudentResponse>>> getAllStudents() {
-        List<StudentResponse> students = studentService.getAllStudents();
+    @Operation(summary = "List students with filters and pagination (Admin only)",
+        description = "Filter by status, department, year, roomId and blockId. " +
+            "Sort by name, email, rollNumber, department, year, joiningDate or createdAt.")
+    public ResponseEntity<ApiResponse<PageResponse<StudentResponse>>> getStudents(
+            @ParameterObject StudentFilter filter,
+            @ParameterObject @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC)
+            Pageable pageable) {
+        PageResponse<StudentResponse> students = studentService.findStudents(filter, pageable);
         return ResponseEntity.ok(ApiResponse.success(students));
     }
 
@@ -47,7 +84,9 @@ public class StudentController {
     @Operation(summary = "Get student by ID")
     public ResponseEntity<ApiResponse<StudentResponse>> getStudentById(@PathVariable Long id) {
         StudentResponse response = studentService.getStudentById(id);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return ResponseEntity.ok()
+            .eTag(ETags.of(response.getVersion()))
+            .body(ApiResponse.success(response));
     }
 
     @GetMapping("/roll/{rollNumber}")
@@ -59,19 +98,11 @@ public class StudentController {
 
     @GetMapping("/search")
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Search students by name or roll number")
+    @Operation(summary = "Search students by name, roll number, email or department")
     public ResponseEntity<ApiResponse<List<StudentResponse>>> searchStudents(
-            @RequestParam String keyword) {
-        List<StudentResponse> students = studentService.searchStudents(keyword);
-        return ResponseEntity.ok(ApiResponse.success(students));
-    }
-
-    @GetMapping("/status/{status}")
-    @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Get students by status")
-    public ResponseEntity<ApiResponse<List<StudentResponse>>> getStudentsByStatus(
-            @PathVariable StudentStatus status) {
-        List<StudentResponse> students = studentService.getStudentsByStatus(status);
+            @RequestParam String keyword,
+            @RequestParam(required = false) Integer limit) {
+        List<StudentResponse> students = studentService.searchStudents(keyword, limit);
         return ResponseEntity.ok(ApiResponse.success(students));
     }
 
@@ -80,9 +111,12 @@ public class StudentController {
     @Operation(summary = "Update student details (Admin only)")
     public ResponseEntity<ApiResponse<StudentResponse>> updateStudent(
             @PathVariable Long id,
-            @Valid @RequestBody UpdateStudentRequest request) {
-        StudentResponse response = studentService.updateStudent(id, request);
-        return ResponseEntity.ok(ApiResponse.success("Student updated", response));
+            @Valid @RequestBody UpdateStudentRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        StudentResponse response = studentService.updateStudent(id, request, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok()
+            .eTag(ETags.of(response.getVersion()))
+            .body(ApiResponse.success("Student updated", response));
     }
 
     @PatchMapping("/{id}/status")
@@ -90,9 +124,12 @@ public class StudentController {
     @Operation(summary = "Update student status (Admin only)")
     public ResponseEntity<ApiResponse<StudentResponse>> updateStudentStatus(
             @PathVariable Long id,
-            @RequestParam StudentStatus status) {
-        StudentResponse response = studentService.updateStudentStatus(id, status);
-        return ResponseEntity.ok(ApiResponse.success("Status updated", response));
+            @RequestParam StudentStatus status,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        StudentResponse response = studentService.updateStudentStatus(id, status, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok()
+            .eTag(ETags.of(response.getVersion()))
+            .body(ApiResponse.success("Status updated", response));
     }
 
     @PatchMapping("/{id}/room")
@@ -100,9 +137,22 @@ public class StudentController {
     @Operation(summary = "Assign room to student (Admin only)")
     public ResponseEntity<ApiResponse<StudentResponse>> assignRoom(
             @PathVariable Long id,
-            @RequestParam Long roomId) {
-        StudentResponse response = studentService.assignRoom(id, roomId);
-        return ResponseEntity.ok(ApiResponse.success("Room assigned", response));
+            @RequestParam Long roomId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        StudentResponse response = studentService.assignRoom(id, roomId, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok()
+            .eTag(ETags.of(response.getVersion()))
+            .body(ApiResponse.success("Room assigned", response));
+    }
+
+    @PostMapping("/allocations")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Move several students between rooms at once (Admin only)",
+        description = "All moves are applied or none are. A null roomId moves the student out of their room.")
+    public ResponseEntity<ApiResponse<List<StudentResponse>>> allocateRooms(
+            @Valid @RequestBody List<@Valid RoomAllocationRequest> requests) {
+        List<StudentResponse> response = studentService.allocateRooms(requests);
+        return ResponseEntity.ok(ApiResponse.success(response.size() + " students allocated", response));
     }
 
     @DeleteMapping("/{id}")
@@ -112,4 +162,8 @@ public class StudentController {
         studentService.deleteStudent(id);
         return ResponseEntity.ok(ApiResponse.success("Student deleted", null));
     }
+
+    private static String importMessage(StudentImportResult result) {
+        return result.getCreated() + " of " + result.getTotal() + " students imported";
+    }
 }
@@ -29,4 +29,5 @@ public class ComplaintResponse {
     private LocalDateTime resolvedAt;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
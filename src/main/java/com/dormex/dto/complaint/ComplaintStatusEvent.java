@@ -0,0 +1,27 @@
+package com.dormex.dto.complaint;
+
+import com.dormex.entity.enums.ComplaintStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pushed on /api/stream to the student who raised the complaint when its status changes.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComplaintStatusEvent {
+
+    private Long complaintId;
+    private String title;
+    private ComplaintStatus previousStatus;
+    private ComplaintStatus status;
+    private String adminRemarks;
+    private LocalDateTime resolvedAt;
+    private Long version;
+}
@@ -0,0 +1,22 @@
+package com.dormex.dto.meal;
+
+import com.dormex.entity.enums.MealType;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class MealAttendanceRequest {
+
+    @NotNull(message = "Date is required")
+    private LocalDate date;
+
+    @NotNull(message = "Meal type is required")
+    private MealType mealType;
+
+    @NotNull(message = "Plates served is required")
+    @Min(value = 0, message = "Plates served cannot be negative")
+    private Integer served;
+}
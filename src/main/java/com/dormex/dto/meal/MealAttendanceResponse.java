@@ -0,0 +1,27 @@
+package com.dormex.dto.meal;
+
+import com.dormex.entity.MealAttendance;
+import com.dormex.entity.enums.MealType;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+public class MealAttendanceResponse {
+
+    private LocalDate date;
+    private MealType mealType;
+    private int served;
+    private int expected;
+
+    public static MealAttendanceResponse fromEntity(MealAttendance attendance) {
+        return MealAttendanceResponse.builder()
+                .date(attendance.getMealDate())
+                .mealType(attendance.getMealType())
+                .served(attendance.getServed())
+                .expected(attendance.getExpected())
+                .build();
+    }
+}
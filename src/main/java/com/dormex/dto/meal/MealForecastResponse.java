@@ -0,0 +1,25 @@
+package com.dormex.dto.meal;
+
+import com.dormex.entity.enums.DayOfWeek;
+import com.dormex.entity.enums.MealType;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+public class MealForecastResponse {
+
+    private LocalDate date;
+    private DayOfWeek day;
+    private MealType mealType;
+    private List<String> items;
+    private int enrolled;           // Active students
+    private int optedOut;
+    private int expected;           // enrolled - optedOut
+    private double attendanceRate;  // Plates served per expected student in past weeks
+    private int samples;            // Past meals behind the rate; 0 means no history yet
+    private int portions;           // expected x attendanceRate, rounded up
+}
@@ -0,0 +1,17 @@
+package com.dormex.dto.meal;
+
+import com.dormex.entity.enums.MealType;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class MealOptOutRequest {
+
+    @NotNull(message = "Date is required")
+    private LocalDate date;
+
+    @NotNull(message = "Meal type is required")
+    private MealType mealType;
+}
@@ -0,0 +1,31 @@
+package com.dormex.dto.meal;
+
+import com.dormex.entity.MealOptOut;
+import com.dormex.entity.enums.DayOfWeek;
+import com.dormex.entity.enums.MealType;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class MealOptOutResponse {
+
+    private Long id;
+    private LocalDate date;
+    private DayOfWeek day;
+    private MealType mealType;
+    private LocalDateTime createdAt;
+
+    public static MealOptOutResponse fromEntity(MealOptOut optOut) {
+        return MealOptOutResponse.builder()
+                .id(optOut.getId())
+                .date(optOut.getMealDate())
+                .day(DayOfWeek.valueOf(optOut.getMealDate().getDayOfWeek().name()))
+                .mealType(optOut.getMealType())
+                .createdAt(optOut.getCreatedAt())
+                .build();
+    }
+}
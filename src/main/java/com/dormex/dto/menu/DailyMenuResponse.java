@@ -1,9 +1,11 @@
 package com.dormex.dto.menu;
 
 import com.dormex.entity.enums.DayOfWeek;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Builder;
 import lombok.Data;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Data
@@ -11,5 +13,8 @@ import java.util.List;
 public class DailyMenuResponse {
 
     private DayOfWeek day;
+    // Only set for a resolved calendar date, not for the weekly template
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDate date;
     private List<MenuResponse> meals;
 }
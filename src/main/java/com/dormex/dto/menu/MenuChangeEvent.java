@@ -0,0 +1,38 @@
+package com.dormex.dto.menu;
+
+import com.dormex.entity.enums.DayOfWeek;
+import com.dormex.entity.enums.MealType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Pushed on /api/stream when a weekly menu entry or a dated override changes;
+ * clients refetch the menu they show.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MenuChangeEvent {
+
+    private Change change;
+    private Long menuId;
+    private Long overrideId;
+    private DayOfWeek dayOfWeek;
+    private MealType mealType;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Long version;
+
+    public enum Change {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,39 @@
+package com.dormex.dto.menu;
+
+import com.dormex.entity.enums.DayOfWeek;
+import com.dormex.entity.enums.FoodTag;
+import com.dormex.entity.enums.MealType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * A weekly menu slot, or a current or upcoming dated override, serving an
+ * item that matched a menu search. Override matches carry the override id
+ * and dates instead of a day and menu id.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuItemMatch {
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private DayOfWeek dayOfWeek;
+    private MealType mealType;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long menuId;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long overrideId;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDate startDate;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDate endDate;
+    private String item;
+    private Set<FoodTag> tags;
+}
@@ -0,0 +1,18 @@
+package com.dormex.dto.menu;
+
+import com.dormex.entity.enums.FoodTag;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.Set;
+
+@Data
+public class MenuItemRequest {
+
+    @NotBlank(message = "Item name is required")
+    @Size(max = 100, message = "Item name cannot exceed 100 characters")
+    private String name;
+
+    private Set<FoodTag> tags;
+}
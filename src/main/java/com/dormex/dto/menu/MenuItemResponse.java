@@ -0,0 +1,28 @@
+package com.dormex.dto.menu;
+
+import com.dormex.entity.MenuItem;
+import com.dormex.entity.enums.FoodTag;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+@Data
+@Builder
+public class MenuItemResponse {
+
+    private Long id;
+    private String name;
+    private Set<FoodTag> tags;
+    private Long version;
+
+    public static MenuItemResponse fromEntity(MenuItem item) {
+        return MenuItemResponse.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .tags(new TreeSet<>(item.getTags()))
+                .version(item.getVersion())
+                .build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.dormex.dto.menu;
+
+import com.dormex.entity.enums.MealType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class MenuOverrideRequest {
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    // Defaults to the start date for a single day
+    private LocalDate endDate;
+
+    @NotNull(message = "Meal type is required")
+    private MealType mealType;
+
+    @NotBlank(message = "Menu items are required")
+    @Size(max = 500, message = "Items cannot exceed 500 characters")
+    private String items;
+
+    @Size(max = 200, message = "Special note cannot exceed 200 characters")
+    private String specialNote;
+}
@@ -0,0 +1,40 @@
+package com.dormex.dto.menu;
+
+import com.dormex.entity.MenuOverride;
+import com.dormex.entity.enums.MealType;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+@Data
+@Builder
+public class MenuOverrideResponse {
+
+    private Long id;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private MealType mealType;
+    private String items;
+    private List<String> itemList;
+    private String specialNote;
+    private LocalDateTime updatedAt;
+    private Long version;
+
+    public static MenuOverrideResponse fromEntity(MenuOverride override) {
+        return MenuOverrideResponse.builder()
+                .id(override.getId())
+                .startDate(override.getStartDate())
+                .endDate(override.getEndDate())
+                .mealType(override.getMealType())
+                .items(override.getItems())
+                .itemList(Arrays.asList(override.getItems().split("\\s*,\\s*")))
+                .specialNote(override.getSpecialNote())
+                .updatedAt(override.getUpdatedAt())
+                .version(override.getVersion())
+                .build();
+    }
+}
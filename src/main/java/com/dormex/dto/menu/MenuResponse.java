@@ -1,8 +1,10 @@
 package com.dormex.dto.menu;
 
+import com.dormex.entity.MenuOverride;
 import com.dormex.entity.MessMenu;
 import com.dormex.entity.enums.DayOfWeek;
 import com.dormex.entity.enums.MealType;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Builder;
 import lombok.Data;
 
@@ -11,7 +13,7 @@ import java.util.Arrays;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class MenuResponse {
 
     private Long id;
@@ -21,6 +23,13 @@ public class MenuResponse {
     private List<String> itemList;
     private String specialNote;
     private LocalDateTime updatedAt;
+    private Long version;
+    // Set when a dated override replaces the weekly menu for this meal
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long overrideId;
+    // Set on menus filtered by tag: remaining dishes with no tags yet, which the filter could not check
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<String> untaggedItems;
 
     public static MenuResponse fromEntity(MessMenu menu) {
         return MenuResponse.builder()
@@ -31,6 +40,20 @@ public class MenuResponse {
                 .itemList(Arrays.asList(menu.getItems().split("\\s*,\\s*")))
                 .specialNote(menu.getSpecialNote())
                 .updatedAt(menu.getUpdatedAt())
+                .version(menu.getVersion())
+                .build();
+    }
+
+    public static MenuResponse fromOverride(MenuOverride override, DayOfWeek day) {
+        return MenuResponse.builder()
+                .dayOfWeek(day)
+                .mealType(override.getMealType())
+                .items(override.getItems())
+                .itemList(Arrays.asList(override.getItems().split("\\s*,\\s*")))
+                .specialNote(override.getSpecialNote())
+                .updatedAt(override.getUpdatedAt())
+                .version(override.getVersion())
+                .overrideId(override.getId())
                 .build();
     }
 }
@@ -21,4 +21,5 @@ public class BlockResponse {
     private Integer totalRooms;
     private Integer occupiedRooms;
     private LocalDateTime createdAt;
+    private Long version;
 }
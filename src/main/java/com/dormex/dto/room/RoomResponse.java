@@ -26,4 +26,5 @@ public class RoomResponse {
     private String roomType;
     private String amenities;
     private LocalDateTime createdAt;
+    private Long version;
 }
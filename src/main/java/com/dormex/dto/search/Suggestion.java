@@ -0,0 +1,23 @@
+package com.dormex.dto.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Suggestion {
+
+    private Type type;
+    private Long id;
+    private String label;
+    private String detail;
+
+    public enum Type {
+        STUDENT,
+        ROOM
+    }
+}
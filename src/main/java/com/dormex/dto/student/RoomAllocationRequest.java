@@ -0,0 +1,21 @@
+package com.dormex.dto.student;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomAllocationRequest {
+
+    @NotNull(message = "Student id is required")
+    private Long studentId;
+
+    // Null moves the student out of their current room
+    private Long roomId;
+
+    // Optional: the student version last read by the client, checked before moving
+    private Long version;
+}
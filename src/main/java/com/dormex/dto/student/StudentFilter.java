@@ -0,0 +1,20 @@
+package com.dormex.dto.student;
+
+import com.dormex.entity.enums.StudentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentFilter {
+
+    private StudentStatus status;
+    private String department;
+    private String year;
+    private Long roomId;
+    private Long blockId;
+}
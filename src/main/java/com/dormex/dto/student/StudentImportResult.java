@@ -0,0 +1,39 @@
+package com.dormex.dto.student;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentImportResult {
+
+    private int total;
+    private int created;
+    private int failed;
+    private List<RowResult> rows;
+
+    public enum Status {
+        CREATED,
+        FAILED
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowResult {
+        // 1-based data row; the CSV header is not counted
+        private int row;
+        private Status status;
+        private String rollNumber;
+        private String email;
+        private Long studentId;
+        private List<String> errors;
+    }
+}
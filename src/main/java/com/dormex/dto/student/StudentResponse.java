@@ -35,4 +35,5 @@ public class StudentResponse {
     private String profilePicture;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
@@ -43,6 +43,10 @@ public class Block {
     @Builder.Default
     private List<Room> rooms = new ArrayList<>();
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
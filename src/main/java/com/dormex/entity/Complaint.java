@@ -13,8 +13,15 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "complaints", indexes = {
-    @Index(name = "idx_complaint_student", columnList = "student_id"),
-    @Index(name = "idx_complaint_status", columnList = "status")
+    @Index(name = "idx_complaint_created", columnList = "createdAt, id"),
+    @Index(name = "idx_complaint_student_created", columnList = "student_id, createdAt, id"),
+    @Index(name = "idx_complaint_status_created", columnList = "status, createdAt, id"),
+    @Index(name = "idx_complaint_category_created", columnList = "category, createdAt, id")
+})
+@NamedEntityGraph(name = "Complaint.studentAndUser", attributeNodes = {
+    @NamedAttributeNode(value = "student", subgraph = "student")
+}, subgraphs = {
+    @NamedSubgraph(name = "student", attributeNodes = @NamedAttributeNode("user"))
 })
 @Getter
 @Setter
@@ -58,6 +65,10 @@ public class Complaint {
 
     private LocalDateTime resolvedAt;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
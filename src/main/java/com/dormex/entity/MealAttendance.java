@@ -0,0 +1,50 @@
+package com.dormex.entity;
+
+import com.dormex.entity.enums.MealType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Plates served for one meal, next to the headcount expected when it was recorded.
+ */
+@Entity
+@Table(name = "meal_attendance", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_meal_attendance", columnNames = {"meal_date", "meal_type"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MealAttendance {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "meal_date", nullable = false)
+    private LocalDate mealDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "meal_type", nullable = false)
+    private MealType mealType;
+
+    @Column(nullable = false)
+    private Integer served;
+
+    @Column(nullable = false)
+    private Integer expected;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
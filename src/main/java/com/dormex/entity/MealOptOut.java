@@ -0,0 +1,44 @@
+package com.dormex.entity;
+
+import com.dormex.entity.enums.MealType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A student skipping one meal on one date.
+ */
+@Entity
+@Table(name = "meal_opt_outs", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_meal_opt_out", columnNames = {"student_id", "meal_date", "meal_type"})
+}, indexes = {
+    @Index(name = "idx_meal_opt_out_date", columnList = "meal_date")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MealOptOut {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(name = "meal_date", nullable = false)
+    private LocalDate mealDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "meal_type", nullable = false)
+    private MealType mealType;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,57 @@
+package com.dormex.entity;
+
+import com.dormex.entity.enums.FoodTag;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * A dish that appears on the menu, with its diet and allergen tags.
+ * Menus still list dishes by name; names are matched case-insensitively.
+ */
+@Entity
+@Table(name = "menu_items", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_menu_item_key", columnNames = "name_key")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MenuItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    // Lower-cased name with single spaces, see MenuItemIndex.key
+    @Column(name = "name_key", nullable = false, length = 100)
+    private String nameKey;
+
+    @ElementCollection
+    @CollectionTable(name = "menu_item_tags", joinColumns = @JoinColumn(name = "menu_item_id"))
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tag", nullable = false)
+    @Builder.Default
+    private Set<FoodTag> tags = EnumSet.noneOf(FoodTag.class);
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -38,6 +38,10 @@ public class MessMenu {
     @Column(length = 200)
     private String specialNote;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -65,6 +65,10 @@ public class Room {
     @Column(length = 255)
     private String amenities;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,27 @@
+package com.dormex.entity.enums;
+
+import java.util.Locale;
+
+public enum FoodTag {
+    // Diet
+    VEG,
+    NON_VEG,
+    JAIN,
+    VEGAN,
+    // Allergens
+    EGG,
+    DAIRY,
+    NUTS,
+    GLUTEN,
+    SOY,
+    SEAFOOD;
+
+    /**
+     * Parses query parameter spellings such as "nuts" or "non-veg".
+     *
+     * @throws IllegalArgumentException for unknown tags
+     */
+    public static FoodTag parse(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+}
@@ -1,7 +1,9 @@
 package com.dormex.repository;
 
 import com.dormex.entity.Block;
+import com.dormex.repository.projection.BlockOccupancyView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -17,4 +19,12 @@ public interface BlockRepository extends JpaRepository<Block, Long> {
     List<Block> findByActiveTrue();
 
     long countByActiveTrue();
+
+    @Query("SELECT b.id AS blockId, b.name AS blockName, b.active AS active, " +
+           "COUNT(r) AS totalRooms, " +
+           "COALESCE(SUM(r.capacity), 0) AS totalCapacity, " +
+           "COALESCE(SUM(r.currentOccupancy), 0) AS currentOccupancy " +
+           "FROM Block b LEFT JOIN b.rooms r " +
+           "GROUP BY b.id, b.name, b.active ORDER BY b.id")
+    List<BlockOccupancyView> findOccupancyByBlock();
 }
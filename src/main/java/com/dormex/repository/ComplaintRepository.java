@@ -3,35 +3,76 @@ package com.dormex.repository;
 import com.dormex.entity.Complaint;
 import com.dormex.entity.enums.ComplaintCategory;
 import com.dormex.entity.enums.ComplaintStatus;
+import com.dormex.repository.projection.ComplaintExportView;
+import com.dormex.repository.projection.ComplaintStatusCategoryCount;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
 
-    List<Complaint> findByStudentIdOrderByCreatedAtDesc(Long studentId);
+    @EntityGraph("Complaint.studentAndUser")
+    @Query("SELECT c FROM Complaint c WHERE " +
+           "(c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Complaint> findPageBefore(@Param("createdAt") LocalDateTime createdAt,
+                                   @Param("id") Long id, Limit limit);
 
-    List<Complaint> findByStatus(ComplaintStatus status);
+    @EntityGraph("Complaint.studentAndUser")
+    @Query("SELECT c FROM Complaint c WHERE c.student.id = :studentId AND " +
+           "(c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Complaint> findPageByStudentBefore(@Param("studentId") Long studentId,
+                                            @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") Long id, Limit limit);
 
-    List<Complaint> findByCategory(ComplaintCategory category);
+    @EntityGraph("Complaint.studentAndUser")
+    @Query("SELECT c FROM Complaint c WHERE c.status = :status AND " +
+           "(c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Complaint> findPageByStatusBefore(@Param("status") ComplaintStatus status,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id, Limit limit);
 
-    List<Complaint> findByStatusAndCategory(ComplaintStatus status, ComplaintCategory category);
+    @EntityGraph("Complaint.studentAndUser")
+    @Query("SELECT c FROM Complaint c WHERE c.category = :category AND " +
+           "(c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Complaint> findPageByCategoryBefore(@Param("category") ComplaintCategory category,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id, Limit limit);
 
-    List<Complaint> findByAssignedTo(Long adminId);
+    // Oldest first, so pending complaints are worked through in arrival order
+    @EntityGraph("Complaint.studentAndUser")
+    @Query("SELECT c FROM Complaint c WHERE c.status IN ('OPEN', 'IN_PROGRESS') AND " +
+           "(c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) " +
+           "ORDER BY c.createdAt ASC, c.id ASC")
+    List<Complaint> findPendingPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id, Limit limit);
 
-    @Query("SELECT c FROM Complaint c ORDER BY c.createdAt DESC")
-    List<Complaint> findAllOrderByCreatedAtDesc();
+    @EntityGraph("Complaint.studentAndUser")
+    List<Complaint> findByStatusAndCategory(ComplaintStatus status, ComplaintCategory category);
 
-    @Query("SELECT c FROM Complaint c WHERE c.status IN ('OPEN', 'IN_PROGRESS') ORDER BY c.createdAt ASC")
-    List<Complaint> findPendingComplaints();
+    @EntityGraph("Complaint.studentAndUser")
+    List<Complaint> findByAssignedTo(Long adminId);
 
     long countByStatus(ComplaintStatus status);
 
+    @Query("SELECT c.status AS status, c.category AS category, COUNT(c) AS count " +
+           "FROM Complaint c GROUP BY c.status, c.category")
+    List<ComplaintStatusCategoryCount> countGroupByStatusAndCategory();
+
     long countByCategory(ComplaintCategory category);
 
     @Query("SELECT COUNT(c) FROM Complaint c WHERE c.createdAt >= :since")
@@ -39,4 +80,15 @@ public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
 
     @Query("SELECT COUNT(c) FROM Complaint c WHERE c.status = 'RESOLVED' AND c.resolvedAt >= :since")
     long countResolvedSince(@Param("since") LocalDateTime since);
+
+    // Forward-only stream for exports; the caller must consume it inside a transaction and close it
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c.id AS id, c.createdAt AS createdAt, s.rollNumber AS rollNumber, u.name AS studentName, " +
+           "c.category AS category, c.title AS title, c.description AS description, c.status AS status, " +
+           "c.adminRemarks AS adminRemarks, c.resolvedAt AS resolvedAt " +
+           "FROM Complaint c JOIN c.student s JOIN s.user u ORDER BY c.id")
+    Stream<ComplaintExportView> streamForExport();
 }
@@ -0,0 +1,18 @@
+package com.dormex.repository;
+
+import com.dormex.entity.MealAttendance;
+import com.dormex.entity.enums.MealType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MealAttendanceRepository extends JpaRepository<MealAttendance, Long> {
+
+    Optional<MealAttendance> findByMealDateAndMealType(LocalDate mealDate, MealType mealType);
+
+    List<MealAttendance> findByMealDateBetween(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,49 @@
+package com.dormex.repository;
+
+import com.dormex.entity.MealOptOut;
+import com.dormex.entity.enums.MealType;
+import com.dormex.repository.projection.MealOptOutView;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MealOptOutRepository extends JpaRepository<MealOptOut, Long> {
+
+    Optional<MealOptOut> findByStudentIdAndMealDateAndMealType(Long studentId, LocalDate mealDate, MealType mealType);
+
+    /*
+     * Concurrent identical opt-outs race for uk_meal_opt_out; the loser's row
+     * is skipped instead of failing the request. Returns 0 if it already existed.
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO meal_opt_outs (student_id, meal_date, meal_type, created_at) " +
+                   "VALUES (:studentId, :mealDate, :mealType, :createdAt)", nativeQuery = true)
+    int insertIfAbsent(@Param("studentId") Long studentId, @Param("mealDate") LocalDate mealDate,
+                       @Param("mealType") String mealType, @Param("createdAt") LocalDateTime createdAt);
+
+    // A locking read sees a row committed by a concurrent insert, which a plain snapshot read may not
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT o FROM MealOptOut o WHERE o.studentId = :studentId AND o.mealDate = :mealDate AND o.mealType = :mealType")
+    Optional<MealOptOut> findForShare(@Param("studentId") Long studentId, @Param("mealDate") LocalDate mealDate,
+                                      @Param("mealType") MealType mealType);
+
+    List<MealOptOut> findByStudentIdAndMealDateGreaterThanEqualOrderByMealDateAscMealTypeAsc(Long studentId, LocalDate from);
+
+    @Query("SELECT o.studentId AS studentId, o.mealDate AS mealDate, o.mealType AS mealType " +
+           "FROM MealOptOut o WHERE o.mealDate >= :from")
+    List<MealOptOutView> findFrom(@Param("from") LocalDate from);
+
+    @Modifying
+    @Query("DELETE FROM MealOptOut o WHERE o.studentId = :studentId")
+    int deleteByStudent(@Param("studentId") Long studentId);
+}
@@ -0,0 +1,21 @@
+package com.dormex.repository;
+
+import com.dormex.entity.MenuItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
+
+    Optional<MenuItem> findByNameKey(String nameKey);
+
+    List<MenuItem> findByNameKeyIn(Collection<String> nameKeys);
+
+    @Query("SELECT DISTINCT i FROM MenuItem i LEFT JOIN FETCH i.tags ORDER BY i.name")
+    List<MenuItem> findAllWithTags();
+}
@@ -0,0 +1,29 @@
+package com.dormex.repository;
+
+import com.dormex.entity.MenuOverride;
+import com.dormex.entity.enums.MealType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface MenuOverrideRepository extends JpaRepository<MenuOverride, Long> {
+
+    List<MenuOverride> findByEndDateGreaterThanEqualOrderByStartDateAscMealTypeAsc(LocalDate date);
+
+    /**
+     * Overrides covering any date from {@code from} to {@code to}, inclusive.
+     */
+    @Query("SELECT o FROM MenuOverride o WHERE o.endDate >= :from AND o.startDate <= :to " +
+           "ORDER BY o.startDate, o.mealType")
+    List<MenuOverride> findInRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT COUNT(o) > 0 FROM MenuOverride o WHERE o.mealType = :mealType " +
+           "AND o.endDate >= :from AND o.startDate <= :to AND (:excludeId IS NULL OR o.id <> :excludeId)")
+    boolean existsOverlapping(@Param("mealType") MealType mealType, @Param("from") LocalDate from,
+                              @Param("to") LocalDate to, @Param("excludeId") Long excludeId);
+}
@@ -0,0 +1,44 @@
+package com.dormex.repository;
+
+import com.dormex.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    // Conditional update, so two concurrent refreshes with the same token cannot both succeed
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.usedAt = :now WHERE t.tokenId = :tokenId " +
+           "AND t.usedAt IS NULL AND t.revoked = false AND t.expiresAt > :now")
+    int markUsed(@Param("tokenId") String tokenId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revoked = true WHERE t.familyId = :familyId")
+    int revokeFamily(@Param("familyId") String familyId);
+
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revoked = true WHERE t.userId = :userId AND t.revoked = false")
+    int revokeAllByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT DISTINCT t.familyId FROM RefreshToken t " +
+           "WHERE t.userId = :userId AND t.revoked = false AND t.expiresAt > :now")
+    List<String> findActiveFamilyIds(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Query("SELECT DISTINCT t.familyId FROM RefreshToken t WHERE t.revoked = true AND t.expiresAt > :now")
+    List<String> findRevokedFamilyIds(@Param("now") LocalDateTime now);
+
+    boolean existsByFamilyIdAndRevokedTrue(String familyId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :cutoff")
+    int deleteExpired(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -2,13 +2,24 @@ package com.dormex.repository;
 
 import com.dormex.entity.Room;
 import com.dormex.entity.enums.RoomStatus;
+import com.dormex.repository.projection.RoomExportView;
+import com.dormex.repository.projection.RoomOccupancyView;
+import com.dormex.repository.projection.RoomStatusCount;
+import com.dormex.repository.projection.RoomSuggestionView;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface RoomRepository extends JpaRepository<Room, Long> {
@@ -23,11 +34,9 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
 
     boolean existsByBlockIdAndRoomNumber(Long blockId, String roomNumber);
 
-    @Query("SELECT r FROM Room r WHERE r.currentOccupancy < r.capacity AND r.status = 'AVAILABLE'")
-    List<Room> findVacantRooms();
-
-    @Query("SELECT r FROM Room r WHERE r.block.id = :blockId AND r.currentOccupancy < r.capacity AND r.status = 'AVAILABLE'")
-    List<Room> findVacantRoomsByBlock(@Param("blockId") Long blockId);
+    // Loads every room for the vacancy index in one query
+    @Query("SELECT r FROM Room r JOIN FETCH r.block")
+    List<Room> findAllWithBlock();
 
     @Query("SELECT COUNT(r) FROM Room r WHERE r.status = 'AVAILABLE' OR r.status = 'OCCUPIED'")
     long countAvailableRooms();
@@ -37,9 +46,62 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
 
     long countByStatus(RoomStatus status);
 
+    @Query("SELECT r.status AS status, COUNT(r) AS count FROM Room r GROUP BY r.status")
+    List<RoomStatusCount> countGroupByStatus();
+
     @Query("SELECT SUM(r.capacity) FROM Room r WHERE r.status != 'UNDER_MAINTENANCE'")
     Long getTotalCapacity();
 
     @Query("SELECT SUM(r.currentOccupancy) FROM Room r")
     Long getTotalOccupancy();
+
+    /*
+     * Occupancy changes are single conditional UPDATEs, so concurrent
+     * allocations cannot both take the last bed. The status is assigned first
+     * so it is computed from the old occupancy on every database (MySQL
+     * evaluates assignments left to right). The version is bumped so a
+     * concurrent edit of the loaded room cannot write back a stale occupancy.
+     * The expected version makes the row read beforehand the exact state the
+     * change starts from. Returns 0 if the room changed since that read, the
+     * change would take the room over capacity or below zero, it would add a
+     * student to a room under maintenance, or the room does not exist.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Room r SET " +
+           "r.status = CASE WHEN r.status = com.dormex.entity.enums.RoomStatus.UNDER_MAINTENANCE THEN r.status " +
+           "WHEN r.currentOccupancy + :delta >= r.capacity THEN com.dormex.entity.enums.RoomStatus.FULL " +
+           "WHEN r.currentOccupancy + :delta > 0 THEN com.dormex.entity.enums.RoomStatus.OCCUPIED " +
+           "ELSE com.dormex.entity.enums.RoomStatus.AVAILABLE END, " +
+           "r.currentOccupancy = r.currentOccupancy + :delta, " +
+           "r.version = r.version + 1, " +
+           "r.updatedAt = LOCAL DATETIME " +
+           "WHERE r.id = :id AND r.version = :version AND r.currentOccupancy + :delta BETWEEN 0 AND r.capacity " +
+           "AND (:delta < 0 OR r.status <> com.dormex.entity.enums.RoomStatus.UNDER_MAINTENANCE)")
+    int adjustOccupancy(@Param("id") Long id, @Param("delta") int delta, @Param("version") Long version);
+
+    // Always read from the database, never from the persistence context
+    @Query("SELECT r.block.id AS blockId, r.status AS status, r.capacity AS capacity, " +
+           "r.currentOccupancy AS currentOccupancy, r.version AS version FROM Room r WHERE r.id = :id")
+    Optional<RoomOccupancyView> findOccupancyById(@Param("id") Long id);
+
+    // Reads the latest committed row even where a plain read would return the transaction's snapshot
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r.block.id AS blockId, r.status AS status, r.capacity AS capacity, " +
+           "r.currentOccupancy AS currentOccupancy, r.version AS version FROM Room r WHERE r.id = :id")
+    Optional<RoomOccupancyView> findOccupancyByIdForUpdate(@Param("id") Long id);
+
+    @Query("SELECT r.id AS id, b.id AS blockId, b.name AS blockName, r.roomNumber AS roomNumber " +
+           "FROM Room r JOIN r.block b")
+    List<RoomSuggestionView> findAllForSuggestions();
+
+    // Forward-only stream for exports; the caller must consume it inside a transaction and close it
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r.id AS id, b.name AS blockName, r.roomNumber AS roomNumber, r.floor AS floor, " +
+           "r.roomType AS roomType, r.capacity AS capacity, r.currentOccupancy AS currentOccupancy, " +
+           "r.status AS status, r.amenities AS amenities " +
+           "FROM Room r JOIN r.block b ORDER BY r.id")
+    Stream<RoomExportView> streamForExport();
 }
@@ -2,16 +2,36 @@ package com.dormex.repository;
 
 import com.dormex.entity.Student;
 import com.dormex.entity.enums.StudentStatus;
+import com.dormex.repository.projection.StudentExportView;
+import com.dormex.repository.projection.StudentSearchView;
+import com.dormex.repository.projection.StudentStatusCount;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface StudentRepository extends JpaRepository<Student, Long> {
+public interface StudentRepository extends JpaRepository<Student, Long>, JpaSpecificationExecutor<Student> {
+
+    // The graph only applies to the page query, not to the count query
+    @Override
+    @EntityGraph(attributePaths = "user")
+    Page<Student> findAll(Specification<Student> spec, Pageable pageable);
 
     Optional<Student> findByRollNumber(String rollNumber);
 
@@ -19,21 +39,50 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
 
     boolean existsByRollNumber(String rollNumber);
 
+    @Query("SELECT s.rollNumber FROM Student s WHERE s.rollNumber IN :rollNumbers")
+    List<String> findExistingRollNumbers(@Param("rollNumbers") Collection<String> rollNumbers);
+
     boolean existsByUserId(Long userId);
 
     List<Student> findByStatus(StudentStatus status);
 
+    @Query("SELECT s.id FROM Student s WHERE s.status = :status")
+    List<Long> findIdsByStatus(@Param("status") StudentStatus status);
+
     List<Student> findByRoomId(Long roomId);
 
-    @Query("SELECT s FROM Student s JOIN s.user u WHERE " +
-           "LOWER(u.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(s.rollNumber) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    List<Student> searchByNameOrRoll(@Param("keyword") String keyword);
+    @EntityGraph(attributePaths = "user")
+    List<Student> findByIdIn(Collection<Long> ids);
+
+    // Locked in id order, so concurrent reassignments always queue in the same order
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Student s WHERE s.id IN :ids ORDER BY s.id")
+    List<Student> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT s.id AS id, u.name AS name, s.rollNumber AS rollNumber, " +
+           "u.email AS email, s.department AS department FROM Student s JOIN s.user u")
+    List<StudentSearchView> findAllForSearch();
 
     @Query("SELECT s FROM Student s WHERE s.roomId = :roomId AND s.status = 'ACTIVE'")
     List<Student> findActiveByRoomId(@Param("roomId") Long roomId);
 
     long countByStatus(StudentStatus status);
 
+    @Query("SELECT s.status AS status, COUNT(s) AS count FROM Student s GROUP BY s.status")
+    List<StudentStatusCount> countGroupByStatus();
+
     long countByRoomIdIsNotNullAndStatus(StudentStatus status);
+
+    // Forward-only stream for exports; the caller must consume it inside a transaction and close it
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s.id AS id, s.rollNumber AS rollNumber, u.name AS name, u.email AS email, " +
+           "s.phone AS phone, s.department AS department, s.year AS year, s.status AS status, " +
+           "b.name AS blockName, r.roomNumber AS roomNumber, " +
+           "s.joiningDate AS joiningDate, s.leavingDate AS leavingDate " +
+           "FROM Student s JOIN s.user u LEFT JOIN Room r ON r.id = s.roomId LEFT JOIN r.block b " +
+           "ORDER BY s.id")
+    Stream<StudentExportView> streamForExport();
 }
@@ -0,0 +1,55 @@
+package com.dormex.repository;
+
+import com.dormex.dto.student.StudentFilter;
+import com.dormex.entity.Room;
+import com.dormex.entity.Student;
+import com.dormex.entity.enums.StudentStatus;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+public final class StudentSpecifications {
+
+    private StudentSpecifications() {
+    }
+
+    public static Specification<Student> matching(StudentFilter filter) {
+        return Specification.where(hasStatus(filter.getStatus()))
+            .and(inDepartment(filter.getDepartment()))
+            .and(inYear(filter.getYear()))
+            .and(inRoom(filter.getRoomId()))
+            .and(inBlock(filter.getBlockId()));
+    }
+
+    public static Specification<Student> hasStatus(StudentStatus status) {
+        if (status == null) return null;
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Student> inDepartment(String department) {
+        if (!StringUtils.hasText(department)) return null;
+        return (root, query, cb) -> cb.equal(cb.lower(root.get("department")), department.trim().toLowerCase());
+    }
+
+    public static Specification<Student> inYear(String year) {
+        if (!StringUtils.hasText(year)) return null;
+        return (root, query, cb) -> cb.equal(root.get("year"), year.trim());
+    }
+
+    public static Specification<Student> inRoom(Long roomId) {
+        if (roomId == null) return null;
+        return (root, query, cb) -> cb.equal(root.get("roomId"), roomId);
+    }
+
+    // Student only stores roomId, so match it against the rooms of the block
+    public static Specification<Student> inBlock(Long blockId) {
+        if (blockId == null) return null;
+        return (root, query, cb) -> {
+            Subquery<Long> roomIds = query.subquery(Long.class);
+            Root<Room> room = roomIds.from(Room.class);
+            roomIds.select(room.get("id")).where(cb.equal(room.get("block").get("id"), blockId));
+            return root.get("roomId").in(roomIds);
+        };
+    }
+}
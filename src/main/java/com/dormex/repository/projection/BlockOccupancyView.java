@@ -0,0 +1,16 @@
+package com.dormex.repository.projection;
+
+public interface BlockOccupancyView {
+
+    Long getBlockId();
+
+    String getBlockName();
+
+    boolean isActive();
+
+    long getTotalRooms();
+
+    long getTotalCapacity();
+
+    long getCurrentOccupancy();
+}
@@ -0,0 +1,29 @@
+package com.dormex.repository.projection;
+
+import com.dormex.entity.enums.ComplaintCategory;
+import com.dormex.entity.enums.ComplaintStatus;
+
+import java.time.LocalDateTime;
+
+public interface ComplaintExportView {
+
+    Long getId();
+
+    LocalDateTime getCreatedAt();
+
+    String getRollNumber();
+
+    String getStudentName();
+
+    ComplaintCategory getCategory();
+
+    String getTitle();
+
+    String getDescription();
+
+    ComplaintStatus getStatus();
+
+    String getAdminRemarks();
+
+    LocalDateTime getResolvedAt();
+}
@@ -0,0 +1,13 @@
+package com.dormex.repository.projection;
+
+import com.dormex.entity.enums.ComplaintCategory;
+import com.dormex.entity.enums.ComplaintStatus;
+
+public interface ComplaintStatusCategoryCount {
+
+    ComplaintStatus getStatus();
+
+    ComplaintCategory getCategory();
+
+    long getCount();
+}
@@ -0,0 +1,14 @@
+package com.dormex.repository.projection;
+
+import com.dormex.entity.enums.MealType;
+
+import java.time.LocalDate;
+
+public interface MealOptOutView {
+
+    Long getStudentId();
+
+    LocalDate getMealDate();
+
+    MealType getMealType();
+}
@@ -0,0 +1,24 @@
+package com.dormex.repository.projection;
+
+import com.dormex.entity.enums.RoomStatus;
+
+public interface RoomExportView {
+
+    Long getId();
+
+    String getBlockName();
+
+    String getRoomNumber();
+
+    Integer getFloor();
+
+    String getRoomType();
+
+    Integer getCapacity();
+
+    Integer getCurrentOccupancy();
+
+    RoomStatus getStatus();
+
+    String getAmenities();
+}
@@ -0,0 +1,16 @@
+package com.dormex.repository.projection;
+
+import com.dormex.entity.enums.RoomStatus;
+
+public interface RoomOccupancyView {
+
+    Long getBlockId();
+
+    RoomStatus getStatus();
+
+    int getCapacity();
+
+    int getCurrentOccupancy();
+
+    Long getVersion();
+}
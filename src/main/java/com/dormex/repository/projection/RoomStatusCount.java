@@ -0,0 +1,10 @@
+package com.dormex.repository.projection;
+
+import com.dormex.entity.enums.RoomStatus;
+
+public interface RoomStatusCount {
+
+    RoomStatus getStatus();
+
+    long getCount();
+}
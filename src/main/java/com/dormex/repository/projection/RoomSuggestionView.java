@@ -0,0 +1,12 @@
+package com.dormex.repository.projection;
+
+public interface RoomSuggestionView {
+
+    Long getId();
+
+    Long getBlockId();
+
+    String getBlockName();
+
+    String getRoomNumber();
+}
@@ -0,0 +1,32 @@
+package com.dormex.repository.projection;
+
+import com.dormex.entity.enums.StudentStatus;
+
+import java.time.LocalDate;
+
+public interface StudentExportView {
+
+    Long getId();
+
+    String getRollNumber();
+
+    String getName();
+
+    String getEmail();
+
+    String getPhone();
+
+    String getDepartment();
+
+    String getYear();
+
+    StudentStatus getStatus();
+
+    String getBlockName();
+
+    String getRoomNumber();
+
+    LocalDate getJoiningDate();
+
+    LocalDate getLeavingDate();
+}
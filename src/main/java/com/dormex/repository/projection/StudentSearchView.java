@@ -0,0 +1,14 @@
+package com.dormex.repository.projection;
+
+public interface StudentSearchView {
+
+    Long getId();
+
+    String getName();
+
+    String getRollNumber();
+
+    String getEmail();
+
+    String getDepartment();
+}
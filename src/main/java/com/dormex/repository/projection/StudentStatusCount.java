@@ -0,0 +1,10 @@
+package com.dormex.repository.projection;
+
+import com.dormex.entity.enums.StudentStatus;
+
+public interface StudentStatusCount {
+
+    StudentStatus getStatus();
+
+    long getCount();
+}
@@ -0,0 +1,43 @@
+package com.dormex.security;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Small thread-safe LRU map. Once full, the least recently used entry is
+ * evicted on every insert.
+ */
+final class BoundedCache<K, V> {
+
+    private final Map<K, V> entries;
+
+    BoundedCache(int maxSize) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    synchronized V computeIfAbsent(K key, Function<K, V> factory) {
+        return entries.computeIfAbsent(key, factory);
+    }
+
+    synchronized void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    synchronized void remove(K key) {
+        entries.remove(key);
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+}
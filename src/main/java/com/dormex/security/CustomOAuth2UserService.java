@@ -20,6 +20,7 @@ import java.util.Optional;
 public class CustomOAuth2UserService extends DefaultOAuth2UserService {
 
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
 
     @Override
     @Transactional
@@ -43,6 +44,7 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
             user.setName(name);
             user.setProfilePicture(picture);
             user = userRepository.save(user);
+            userDetailsCache.evict(user.getId());
         } else {
             // Create new user from Google OAuth
             user = User.builder()
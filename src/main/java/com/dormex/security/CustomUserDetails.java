@@ -1,6 +1,7 @@
 package com.dormex.security;
 
 import com.dormex.entity.User;
+import com.dormex.entity.enums.Role;
 import lombok.Getter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -19,6 +20,7 @@ public class CustomUserDetails implements UserDetails, OAuth2User {
     private final String email;
     private final String password;
     private final boolean enabled;
+    private final Role role;
     private final Collection<? extends GrantedAuthority> authorities;
     private Map<String, Object> attributes;
 
@@ -28,11 +30,25 @@ public class CustomUserDetails implements UserDetails, OAuth2User {
         this.email = user.getEmail();
         this.password = user.getPassword();
         this.enabled = user.isEnabled();
+        this.role = user.getRole();
         this.authorities = Collections.singletonList(
             new SimpleGrantedAuthority("ROLE_" + user.getRole().name())
         );
     }
 
+    // Built from verified token claims, without the name and password
+    public CustomUserDetails(Long id, String email, Role role, boolean enabled) {
+        this.id = id;
+        this.name = null;
+        this.email = email;
+        this.password = null;
+        this.enabled = enabled;
+        this.role = role;
+        this.authorities = Collections.singletonList(
+            new SimpleGrantedAuthority("ROLE_" + role.name())
+        );
+    }
+
     public static CustomUserDetails create(User user, Map<String, Object> attributes) {
         CustomUserDetails userDetails = new CustomUserDetails(user);
         userDetails.attributes = attributes;
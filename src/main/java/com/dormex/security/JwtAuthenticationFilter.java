@@ -9,7 +9,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -23,7 +23,9 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final CustomUserDetailsService userDetailsService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final UserDetailsCache userDetailsCache;
+    private final RevokedSessions revokedSessions;
 
     @Override
     protected void doFilterInternal(
@@ -33,21 +35,61 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = extractTokenFromRequest(request);
 
-        if (StringUtils.hasText(token) && jwtService.validateToken(token)) {
-            Long userId = jwtService.getUserIdFromToken(token);
-            UserDetails userDetails = userDetailsService.loadUserById(userId);
+        if (StringUtils.hasText(token)) {
+            CustomUserDetails userDetails = authenticate(token);
 
-            UsernamePasswordAuthenticationToken authentication =
-                new UsernamePasswordAuthenticationToken(
-                    userDetails, null, userDetails.getAuthorities());
+            if (userDetails != null && userDetails.isEnabled()) {
+                UsernamePasswordAuthenticationToken authentication =
+                    new UsernamePasswordAuthenticationToken(
+                        userDetails, null, userDetails.getAuthorities());
 
-            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
         }
 
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Resolves the principal with at most one signature check. Repeated
+     * tokens come from the cache; otherwise the role and status claims are
+     * trusted unless the user changed after the token was issued, in which
+     * case the user is looked up instead. Tokens of a revoked session are
+     * rejected.
+     */
+    private CustomUserDetails authenticate(String token) {
+        CustomUserDetails cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        JwtClaims claims = jwtService.parseAndValidate(token).orElse(null);
+        // Refresh tokens are only accepted by the refresh endpoint
+        if (claims == null || claims.refresh() || revokedSessions.isRevoked(claims.sessionId())) {
+            return null;
+        }
+
+        long issuedAt = claims.issuedAt().toEpochMilli();
+        CustomUserDetails userDetails;
+        long resolvedAt = issuedAt;
+
+        if (claims.hasPrincipal() && !userDetailsCache.changedSince(claims.userId(), issuedAt)) {
+            userDetails = claims.toPrincipal();
+        } else {
+            try {
+                userDetails = userDetailsCache.get(claims.userId());
+                resolvedAt = System.currentTimeMillis();
+            } catch (UsernameNotFoundException e) {
+                log.error("JWT subject {} no longer exists", claims.userId());
+                return null;
+            }
+        }
+
+        verifiedTokenCache.put(token, userDetails, resolvedAt, claims.expiresAt().toEpochMilli());
+        return userDetails;
+    }
+
     private String extractTokenFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
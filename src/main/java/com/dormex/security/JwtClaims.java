@@ -0,0 +1,30 @@
+package com.dormex.security;
+
+import com.dormex.entity.enums.Role;
+
+import java.time.Instant;
+
+/**
+ * Claims of a verified token. Role and enabled are null for tokens issued
+ * before they were added as claims. The session id names the refresh-token
+ * family the token belongs to; the token id is only set on refresh tokens.
+ */
+public record JwtClaims(
+        Long userId,
+        String email,
+        Role role,
+        Boolean enabled,
+        Instant issuedAt,
+        Instant expiresAt,
+        String sessionId,
+        String tokenId,
+        boolean refresh) {
+
+    public boolean hasPrincipal() {
+        return role != null && enabled != null;
+    }
+
+    public CustomUserDetails toPrincipal() {
+        return new CustomUserDetails(userId, email, role, enabled);
+    }
+}
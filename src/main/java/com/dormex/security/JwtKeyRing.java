@@ -0,0 +1,319 @@
+package com.dormex.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PublicJwk;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Asymmetric signing keys for ES256 or EdDSA tokens.
+ *
+ * Keys live in {@code app.jwt.key-directory} as PEM pairs named after their
+ * key id: {@code <kid>.key} (PKCS#8 private key) and {@code <kid>.pub}
+ * (X.509 public key). Every public key verifies tokens, the newest private
+ * key signs them. The directory is re-read on a schedule, so keys added by
+ * another instance or by hand are picked up without a restart. With a
+ * rotation period set, a new pair is generated once the signing key is that
+ * old, and public keys are kept until every token they signed has expired.
+ *
+ * In the default HS256 mode the ring is disabled and holds no keys.
+ */
+@Slf4j
+@Component
+public class JwtKeyRing {
+
+    public static final String HS256 = "HS256";
+    public static final String ES256 = "ES256";
+    public static final String EDDSA = "EdDSA";
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final DateTimeFormatter KEY_ID_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    private final String algorithm;
+    private final Path keyDirectory;
+    private final long rotationPeriod;
+    private final long retention;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public JwtKeyRing(
+            @Value("${app.jwt.algorithm:HS256}") String algorithm,
+            @Value("${app.jwt.key-directory:keys}") String keyDirectory,
+            @Value("${app.jwt.key-rotation-period:0}") long rotationPeriod,
+            @Value("${app.jwt.refresh-expiration}") long refreshExpiration) {
+        if (!List.of(HS256, ES256, EDDSA).contains(algorithm)) {
+            throw new IllegalArgumentException("Unsupported JWT algorithm: " + algorithm);
+        }
+        this.algorithm = algorithm;
+        this.keyDirectory = Path.of(keyDirectory);
+        this.rotationPeriod = rotationPeriod;
+        this.retention = rotationPeriod + refreshExpiration;
+
+        if (isEnabled()) {
+            if (!hasPrivateKey()) {
+                generateKeyPair();
+            }
+            reload();
+        }
+    }
+
+    public boolean isEnabled() {
+        return !HS256.equals(algorithm);
+    }
+
+    public SignatureAlgorithm signatureAlgorithm() {
+        return ES256.equals(algorithm) ? Jwts.SIG.ES256 : Jwts.SIG.EdDSA;
+    }
+
+    /**
+     * The current signing key and its id, read together so a concurrent
+     * reload can never pair one key's id with another key.
+     */
+    public SigningKey signingKey() {
+        return snapshot.signingKey();
+    }
+
+    /**
+     * Verification key for a token's kid header, or null if unknown.
+     */
+    public PublicKey verificationKey(String keyId) {
+        return snapshot.verificationKeys().get(keyId);
+    }
+
+    public List<PublicJwk<?>> jwks() {
+        return snapshot.jwks();
+    }
+
+    // ========== Rotation ==========
+
+    @Scheduled(
+        fixedDelayString = "${app.jwt.key-reload-interval:300000}",
+        initialDelayString = "${app.jwt.key-reload-interval:300000}")
+    public void refresh() {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            if (rotationPeriod > 0) {
+                rotateIfDue();
+            }
+            reload();
+        } catch (RuntimeException e) {
+            // Keep signing with the current keys rather than failing requests
+            log.error("Could not refresh JWT keys from {}", keyDirectory, e);
+        }
+    }
+
+    void rotateIfDue() {
+        long now = System.currentTimeMillis();
+        Long newest = newestPrivateKeyAge(now);
+        if (newest == null || newest >= rotationPeriod) {
+            generateKeyPair();
+        }
+
+        // Private keys are only needed by the newest pair, public keys until their tokens expire
+        String signing = newestKeyId(".key");
+        for (Path file : list()) {
+            String name = file.getFileName().toString();
+            long age = now - lastModified(file);
+            if (name.endsWith(".key") && !name.equals(signing + ".key")) {
+                delete(file);
+            } else if (name.endsWith(".pub") && !name.equals(signing + ".pub") && age > retention) {
+                delete(file);
+            }
+        }
+    }
+
+    void reload() {
+        Map<String, PublicKey> verificationKeys = new HashMap<>();
+        List<PublicJwk<?>> jwks = new ArrayList<>();
+        for (Path file : list()) {
+            String name = file.getFileName().toString();
+            if (name.endsWith(".pub")) {
+                String keyId = name.substring(0, name.length() - 4);
+                PublicKey key = readPublicKey(file);
+                verificationKeys.put(keyId, key);
+                jwks.add(Jwks.builder().key(key).id(keyId).algorithm(algorithm).publicKeyUse("sig").build());
+            }
+        }
+
+        String signingKeyId = newestKeyId(".key");
+        if (signingKeyId == null || !verificationKeys.containsKey(signingKeyId)) {
+            throw new IllegalStateException("No complete JWT key pair in " + keyDirectory.toAbsolutePath());
+        }
+        PrivateKey signingKey = readPrivateKey(keyDirectory.resolve(signingKeyId + ".key"));
+
+        snapshot = new Snapshot(new SigningKey(signingKeyId, signingKey), Map.copyOf(verificationKeys), List.copyOf(jwks));
+        log.info("Loaded {} JWT verification keys, signing with {}", verificationKeys.size(), signingKeyId);
+    }
+
+    private void generateKeyPair() {
+        try {
+            KeyPairGenerator generator;
+            if (ES256.equals(algorithm)) {
+                generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+            } else {
+                generator = KeyPairGenerator.getInstance("Ed25519");
+            }
+            KeyPair pair = generator.generateKeyPair();
+
+            String keyId = ZonedDateTime.now(ZoneOffset.UTC).format(KEY_ID_FORMAT)
+                + "-" + HexFormat.of().toHexDigits((short) RANDOM.nextInt());
+            Files.createDirectories(keyDirectory);
+            // Public key first, so a concurrent reload never sees a private key without its pair
+            writePem(keyDirectory.resolve(keyId + ".pub"), "PUBLIC KEY", pair.getPublic().getEncoded());
+            Path privateKey = keyDirectory.resolve(keyId + ".key");
+            writePem(privateKey, "PRIVATE KEY", pair.getPrivate().getEncoded());
+            restrictToOwner(privateKey);
+            log.info("Generated {} JWT key pair {}", algorithm, keyId);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not generate " + algorithm + " key pair", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ========== Files ==========
+
+    private boolean hasPrivateKey() {
+        return newestKeyId(".key") != null;
+    }
+
+    private Long newestPrivateKeyAge(long now) {
+        return list().stream()
+            .filter(file -> file.getFileName().toString().endsWith(".key"))
+            .map(file -> now - lastModified(file))
+            .min(Long::compare)
+            .orElse(null);
+    }
+
+    private String newestKeyId(String suffix) {
+        return list().stream()
+            .filter(file -> file.getFileName().toString().endsWith(suffix))
+            .max(Comparator.comparingLong(JwtKeyRing::lastModified)
+                .thenComparing(file -> file.getFileName().toString()))
+            .map(file -> {
+                String name = file.getFileName().toString();
+                return name.substring(0, name.length() - suffix.length());
+            })
+            .orElse(null);
+    }
+
+    private List<Path> list() {
+        if (!Files.isDirectory(keyDirectory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(keyDirectory)) {
+            return files.filter(Files::isRegularFile).toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private PublicKey readPublicKey(Path file) {
+        try {
+            return keyFactory().generatePublic(new X509EncodedKeySpec(readPem(file)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid public key " + file, e);
+        }
+    }
+
+    private PrivateKey readPrivateKey(Path file) {
+        try {
+            return keyFactory().generatePrivate(new PKCS8EncodedKeySpec(readPem(file)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid private key " + file, e);
+        }
+    }
+
+    private KeyFactory keyFactory() throws GeneralSecurityException {
+        return KeyFactory.getInstance(ES256.equals(algorithm) ? "EC" : "Ed25519");
+    }
+
+    private static byte[] readPem(Path file) {
+        try {
+            String body = Files.readString(file, StandardCharsets.US_ASCII)
+                .replaceAll("-----(BEGIN|END) [A-Z ]+-----", "")
+                .replaceAll("\\s", "");
+            return Base64.getDecoder().decode(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writePem(Path file, String type, byte[] der) throws IOException {
+        String body = Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII)).encodeToString(der);
+        Files.writeString(file, "-----BEGIN " + type + "-----\n" + body + "\n-----END " + type + "-----\n",
+            StandardCharsets.US_ASCII);
+    }
+
+    private static void restrictToOwner(Path file) throws IOException {
+        try {
+            Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException e) {
+            log.warn("Could not restrict permissions of {}", file);
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+            log.info("Removed retired JWT key file {}", file.getFileName());
+        } catch (IOException e) {
+            log.warn("Could not remove retired JWT key file {}", file, e);
+        }
+    }
+
+    public record SigningKey(String id, PrivateKey key) {
+    }
+
+    private record Snapshot(
+            SigningKey signingKey,
+            Map<String, PublicKey> verificationKeys,
+            List<PublicJwk<?>> jwks) {
+
+        static final Snapshot EMPTY = new Snapshot(null, Map.of(), List.of());
+    }
+}
@@ -1,90 +1,222 @@
 package com.dormex.security;
 
+import com.dormex.entity.enums.Role;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.MacAlgorithm;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.PublicKey;
+import java.time.Instant;
 import java.util.Date;
+import java.util.Optional;
 
+/**
+ * Issues and verifies access and refresh tokens.
+ *
+ * Tokens are HMAC-signed with the shared secret unless app.jwt.algorithm
+ * selects ES256 or EdDSA, in which case they carry a kid header and are
+ * signed by the {@link JwtKeyRing}. Tokens without a kid are then only
+ * accepted while app.jwt.legacy-hmac-cutoff opens a migration window. The
+ * key, signature algorithm and parser
+ * are resolved once at startup and shared by all threads; JwtParser is
+ * immutable and thread-safe.
+ */
 @Slf4j
 @Component
 public class JwtService {
 
+    private static final String CLAIM_EMAIL = "email";
+    private static final String CLAIM_ROLE = "role";
+    private static final String CLAIM_ENABLED = "enabled";
+    private static final String CLAIM_SESSION = "sid";
+    private static final String CLAIM_TYPE = "typ";
+    private static final String TYPE_REFRESH = "refresh";
+
     private final SecretKey key;
+    private final MacAlgorithm algorithm;
+    private final JwtKeyRing keyRing;
+    private final JwtParser parser;
     private final long jwtExpiration;
     private final long refreshExpiration;
+    private final Instant legacyCutoff;
+
+    public JwtService(String secret, long jwtExpiration, long refreshExpiration) {
+        this(secret, jwtExpiration, refreshExpiration, null);
+    }
 
+    public JwtService(String secret, long jwtExpiration, long refreshExpiration, JwtKeyRing keyRing) {
+        this(secret, jwtExpiration, refreshExpiration, keyRing, "");
+    }
+
+    @Autowired
     public JwtService(
             @Value("${app.jwt.secret}") String secret,
             @Value("${app.jwt.expiration}") long jwtExpiration,
-            @Value("${app.jwt.refresh-expiration}") long refreshExpiration) {
+            @Value("${app.jwt.refresh-expiration}") long refreshExpiration,
+            JwtKeyRing keyRing,
+            @Value("${app.jwt.legacy-hmac-cutoff:}") String legacyCutoff) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.algorithm = macAlgorithmFor(key);
+        this.keyRing = keyRing != null && keyRing.isEnabled() ? keyRing : null;
+        this.parser = this.keyRing == null
+            ? Jwts.parser().verifyWith(key).build()
+            : Jwts.parser().keyLocator(new KidLocator()).build();
         this.jwtExpiration = jwtExpiration;
         this.refreshExpiration = refreshExpiration;
+        this.legacyCutoff = legacyCutoff == null || legacyCutoff.isBlank() ? null : Instant.parse(legacyCutoff.trim());
     }
 
     public String generateToken(Authentication authentication) {
-        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
-        return generateToken(userDetails.getId(), userDetails.getEmail());
+        return generateToken((CustomUserDetails) authentication.getPrincipal());
+    }
+
+    public String generateToken(CustomUserDetails user) {
+        return generateToken(user, null);
+    }
+
+    /**
+     * Access token bound to a refresh-token family, so revoking the family
+     * also rejects its access tokens.
+     */
+    public String generateToken(CustomUserDetails user, String sessionId) {
+        return buildToken(user, sessionId, null, jwtExpiration);
     }
 
-    public String generateToken(Long userId, String email) {
-        return buildToken(userId, email, jwtExpiration);
+    public String generateRefreshToken(CustomUserDetails user, String sessionId, String tokenId) {
+        return buildToken(user, sessionId, tokenId, refreshExpiration);
     }
 
-    public String generateRefreshToken(Long userId, String email) {
-        return buildToken(userId, email, refreshExpiration);
+    public long getRefreshExpiration() {
+        return refreshExpiration;
     }
 
-    private String buildToken(Long userId, String email, long expiration) {
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + expiration);
+    // Role and status travel in the token so the filter can skip the user lookup
+    private String buildToken(CustomUserDetails user, String sessionId, String tokenId, long expiration) {
+        long now = System.currentTimeMillis();
+
+        JwtBuilder builder = Jwts.builder()
+            .subject(String.valueOf(user.getId()))
+            .claim(CLAIM_EMAIL, user.getEmail())
+            .claim(CLAIM_ROLE, user.getRole().name())
+            .claim(CLAIM_ENABLED, user.isEnabled())
+            .issuedAt(new Date(now))
+            .expiration(new Date(now + expiration));
+        if (sessionId != null) {
+            builder.claim(CLAIM_SESSION, sessionId);
+        }
+        if (tokenId != null) {
+            builder.id(tokenId).claim(CLAIM_TYPE, TYPE_REFRESH);
+        }
 
-        return Jwts.builder()
-            .subject(String.valueOf(userId))
-            .claim("email", email)
-            .issuedAt(now)
-            .expiration(expiryDate)
-            .signWith(key)
+        if (keyRing == null) {
+            return builder.signWith(key, algorithm).compact();
+        }
+        JwtKeyRing.SigningKey signingKey = keyRing.signingKey();
+        return builder
+            .header().keyId(signingKey.id()).and()
+            .signWith(signingKey.key(), keyRing.signatureAlgorithm())
             .compact();
     }
 
     public Long getUserIdFromToken(String token) {
-        Claims claims = parseToken(token);
-        return Long.parseLong(claims.getSubject());
+        return parseAndValidate(token)
+            .map(JwtClaims::userId)
+            .orElseThrow(() -> new MalformedJwtException("Invalid JWT token"));
     }
 
     public String getEmailFromToken(String token) {
-        Claims claims = parseToken(token);
-        return claims.get("email", String.class);
+        return parseAndValidate(token)
+            .map(JwtClaims::email)
+            .orElseThrow(() -> new MalformedJwtException("Invalid JWT token"));
     }
 
     public boolean validateToken(String token) {
+        return parseAndValidate(token).isPresent();
+    }
+
+    /**
+     * Verifies the token once and returns its claims, or empty if it is
+     * malformed, expired or not signed with our key.
+     */
+    public Optional<JwtClaims> parseAndValidate(String token) {
         try {
-            parseToken(token);
-            return true;
+            Jws<Claims> jws = parser.parseSignedClaims(token);
+            Claims claims = jws.getPayload();
+            if (keyRing != null && jws.getHeader().getKeyId() == null && !issuedBeforeCutoff(claims)) {
+                log.error("Shared-secret JWT token issued after the asymmetric switch");
+                return Optional.empty();
+            }
+            String role = claims.get(CLAIM_ROLE, String.class);
+            return Optional.of(new JwtClaims(
+                Long.parseLong(claims.getSubject()),
+                claims.get(CLAIM_EMAIL, String.class),
+                role != null ? Role.valueOf(role) : null,
+                claims.get(CLAIM_ENABLED, Boolean.class),
+                claims.getIssuedAt().toInstant(),
+                claims.getExpiration().toInstant(),
+                claims.get(CLAIM_SESSION, String.class),
+                claims.getId(),
+                TYPE_REFRESH.equals(claims.get(CLAIM_TYPE, String.class))));
         } catch (MalformedJwtException e) {
             log.error("Invalid JWT token");
         } catch (ExpiredJwtException e) {
             log.error("Expired JWT token");
         } catch (UnsupportedJwtException e) {
             log.error("Unsupported JWT token");
+        } catch (io.jsonwebtoken.security.SecurityException e) {
+            log.error("Invalid JWT signature");
         } catch (IllegalArgumentException e) {
             log.error("JWT claims string is empty");
         }
-        return false;
+        return Optional.empty();
+    }
+
+    // Anyone holding the old secret can set any iat, so the window itself closes one refresh lifetime after the cutoff
+    private boolean legacyWindowOpen() {
+        return legacyCutoff != null && Instant.now().isBefore(legacyCutoff.plusMillis(refreshExpiration));
+    }
+
+    private boolean issuedBeforeCutoff(Claims claims) {
+        return legacyWindowOpen() && claims.getIssuedAt() != null && claims.getIssuedAt().toInstant().isBefore(legacyCutoff);
+    }
+
+    /**
+     * Finds the verification key by kid in O(1). Tokens without a kid were
+     * signed with the shared secret before asymmetric mode was switched on,
+     * and verify against it only during the migration window.
+     */
+    private class KidLocator extends LocatorAdapter<Key> {
+
+        @Override
+        protected Key locate(JwsHeader header) {
+            String keyId = header.getKeyId();
+            if (keyId == null) {
+                if (!legacyWindowOpen()) {
+                    throw new UnsupportedJwtException("JWT token has no key id");
+                }
+                return key;
+            }
+            PublicKey publicKey = keyRing.verificationKey(keyId);
+            if (publicKey == null) {
+                throw new UnsupportedJwtException("Unknown JWT key id " + keyId);
+            }
+            return publicKey;
+        }
     }
 
-    private Claims parseToken(String token) {
-        return Jwts.parser()
-            .verifyWith(key)
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
+    // Same choice signWith(key) makes, but resolved once instead of per token
+    private static MacAlgorithm macAlgorithmFor(SecretKey key) {
+        int bits = key.getEncoded().length * 8;
+        if (bits >= 512) return Jwts.SIG.HS512;
+        if (bits >= 384) return Jwts.SIG.HS384;
+        return Jwts.SIG.HS256;
     }
 }
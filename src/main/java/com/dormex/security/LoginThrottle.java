@@ -0,0 +1,99 @@
+package com.dormex.security;
+
+import com.dormex.exception.TooManyRequestsException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * In-memory token buckets limiting password sign-in attempts per email and
+ * per client address. Checked before any password is hashed, so a flood of
+ * guesses against one account, or from one address, is turned away without
+ * costing a BCrypt round. Buckets live in bounded LRU maps; an evicted
+ * bucket simply starts full again.
+ */
+@Slf4j
+@Component
+public class LoginThrottle {
+
+    private final BoundedCache<String, TokenBucket> emailBuckets;
+    private final BoundedCache<String, TokenBucket> addressBuckets;
+    private final int emailCapacity;
+    private final int addressCapacity;
+    private final long emailRefillNanos;
+    private final long addressRefillNanos;
+
+    public LoginThrottle(
+            @Value("${app.auth.login-attempts-per-email:5}") int emailAttempts,
+            @Value("${app.auth.login-attempts-per-address:120}") int addressAttempts,
+            @Value("${app.auth.login-attempt-window:60000}") long window,
+            @Value("${app.auth.login-throttle-size:10000}") int size) {
+        this.emailBuckets = new BoundedCache<>(size);
+        this.addressBuckets = new BoundedCache<>(size);
+        this.emailCapacity = emailAttempts;
+        this.addressCapacity = addressAttempts;
+        // Both buckets refill completely over one window
+        this.emailRefillNanos = window * 1_000_000L / emailAttempts;
+        this.addressRefillNanos = window * 1_000_000L / addressAttempts;
+    }
+
+    /**
+     * Takes one attempt from both buckets.
+     *
+     * @throws TooManyRequestsException if either bucket is empty
+     */
+    public void acquire(String email, String address) {
+        long now = System.nanoTime();
+        if (address != null) {
+            TokenBucket bucket = addressBuckets.computeIfAbsent(address,
+                key -> new TokenBucket(addressCapacity, addressRefillNanos, now));
+            reject(bucket.tryAcquire(now), "address " + address);
+        }
+        if (email != null) {
+            String key = email.trim().toLowerCase(Locale.ROOT);
+            TokenBucket bucket = emailBuckets.computeIfAbsent(key,
+                k -> new TokenBucket(emailCapacity, emailRefillNanos, now));
+            reject(bucket.tryAcquire(now), "account " + key);
+        }
+    }
+
+    private static void reject(long waitNanos, String subject) {
+        if (waitNanos > 0) {
+            log.debug("Throttled sign-in for {}", subject);
+            long seconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+            throw new TooManyRequestsException("Too many sign-in attempts, please retry later", seconds);
+        }
+    }
+
+    static final class TokenBucket {
+        private final int capacity;
+        private final long refillNanos;
+        private long available;
+        private long refilledAt;
+
+        TokenBucket(int capacity, long refillNanos, long now) {
+            this.capacity = capacity;
+            this.refillNanos = refillNanos;
+            this.available = capacity;
+            this.refilledAt = now;
+        }
+
+        /**
+         * Returns 0 if a token was taken, otherwise how long until the next one.
+         */
+        synchronized long tryAcquire(long now) {
+            long earned = (now - refilledAt) / refillNanos;
+            if (earned > 0) {
+                available = Math.min(capacity, available + earned);
+                refilledAt = available == capacity ? now : refilledAt + earned * refillNanos;
+            }
+            if (available > 0) {
+                available--;
+                return 0;
+            }
+            return refillNanos - (now - refilledAt);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.dormex.security;
 
+import com.dormex.service.RefreshTokenService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -15,7 +16,7 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationSuccessHandler {
 
-    private final JwtService jwtService;
+    private final RefreshTokenService refreshTokenService;
 
     @Value("${cors.allowed-origins}")
     private String allowedOrigins;
@@ -27,14 +28,13 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
             Authentication authentication) throws IOException {
 
         CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
-        String token = jwtService.generateToken(userDetails.getId(), userDetails.getEmail());
-        String refreshToken = jwtService.generateRefreshToken(userDetails.getId(), userDetails.getEmail());
+        RefreshTokenService.TokenPair tokens = refreshTokenService.issue(userDetails);
 
         // Redirect to frontend with tokens as query params
         String frontendUrl = allowedOrigins.split(",")[0];
         String targetUrl = UriComponentsBuilder.fromUriString(frontendUrl + "/oauth2/callback")
-            .queryParam("token", token)
-            .queryParam("refreshToken", refreshToken)
+            .queryParam("token", tokens.accessToken())
+            .queryParam("refreshToken", tokens.refreshToken())
             .build().toUriString();
 
         getRedirectStrategy().sendRedirect(request, response, targetUrl);
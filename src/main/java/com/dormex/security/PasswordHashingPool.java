@@ -0,0 +1,166 @@
+package com.dormex.security;
+
+import com.dormex.exception.TooManyRequestsException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded pool that runs every BCrypt hash and check.
+ *
+ * BCrypt is deliberately CPU heavy, so a login burst on request threads
+ * would occupy every core. Here at most {@code app.auth.hash-threads} hashes
+ * run at once and a short queue absorbs spikes; once the queue is full, or a
+ * caller has waited too long, the request is rejected with 429 right away
+ * instead of piling up behind the others.
+ */
+@Slf4j
+@Component
+public class PasswordHashingPool {
+
+    private static final int RETRY_AFTER_SECONDS = 1;
+
+    private final ThreadPoolExecutor executor;
+    private final long timeout;
+    private final LongAdder rejected = new LongAdder();
+
+    public PasswordHashingPool(
+            @Value("${app.auth.hash-threads:0}") int threads,
+            @Value("${app.auth.hash-queue-capacity:64}") int queueCapacity,
+            @Value("${app.auth.hash-timeout:5000}") long timeout) {
+        // Leave half of the cores for everything else by default
+        int size = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            task -> {
+                Thread thread = new Thread(task, "password-hashing-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        this.timeout = timeout;
+    }
+
+    /**
+     * Runs the hash on the pool and waits for it.
+     *
+     * @throws TooManyRequestsException if the pool is saturated
+     */
+    public <T> T execute(Callable<T> hash) {
+        Future<T> future;
+        try {
+            future = executor.submit(hash);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Password hashing saturated: {} queued, {} running", executor.getQueue().size(), executor.getActiveCount());
+            throw new TooManyRequestsException("Too many sign-in attempts, please retry shortly", RETRY_AFTER_SECONDS);
+        }
+
+        try {
+            return future.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Still queued tasks are dropped, a running hash finishes but is ignored
+            future.cancel(false);
+            rejected.increment();
+            throw new TooManyRequestsException("Too many sign-in attempts, please retry shortly", RETRY_AFTER_SECONDS);
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    /**
+     * Runs a batch of hashes and waits up to {@code batchTimeout} ms for all of
+     * them, returning the results in order. At most one hash per pool thread
+     * of the batch is in flight, so the queue stays free for sign-ins, and a
+     * full queue delays the batch instead of failing it.
+     *
+     * @throws TooManyRequestsException if the batch does not finish in time
+     */
+    public <T> List<T> executeAll(List<? extends Callable<T>> hashes, long batchTimeout) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchTimeout);
+        int window = executor.getMaximumPoolSize();
+        List<T> results = new ArrayList<>(hashes.size());
+        Deque<Future<T>> inFlight = new ArrayDeque<>();
+        int next = 0;
+        try {
+            while (results.size() < hashes.size()) {
+                while (next < hashes.size() && inFlight.size() < window) {
+                    try {
+                        inFlight.add(executor.submit(hashes.get(next)));
+                        next++;
+                    } catch (RejectedExecutionException e) {
+                        break;
+                    }
+                }
+                Future<T> oldest = inFlight.poll();
+                if (oldest == null) {
+                    // Saturated by sign-ins with nothing of ours queued; back off and retry
+                    Thread.sleep(Math.max(1, Math.min(10, TimeUnit.NANOSECONDS.toMillis(remaining(deadline)))));
+                    continue;
+                }
+                results.add(oldest.get(remaining(deadline), TimeUnit.NANOSECONDS));
+            }
+            return results;
+        } catch (TimeoutException e) {
+            inFlight.forEach(future -> future.cancel(false));
+            rejected.increment();
+            log.warn("Password hashing batch timed out after {} of {} hashes", results.size(), hashes.size());
+            throw new TooManyRequestsException("Password hashing is busy, please retry shortly", RETRY_AFTER_SECONDS);
+        } catch (InterruptedException e) {
+            inFlight.forEach(future -> future.cancel(false));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing passwords", e);
+        } catch (ExecutionException e) {
+            inFlight.forEach(future -> future.cancel(false));
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static long remaining(long deadline) throws TimeoutException {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            throw new TimeoutException();
+        }
+        return remaining;
+    }
+
+    public Stats stats() {
+        return new Stats(executor.getPoolSize(), executor.getActiveCount(), executor.getQueue().size(),
+            executor.getQueue().remainingCapacity(), executor.getCompletedTaskCount(), rejected.sum());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public record Stats(int threads, int active, int queued, int queueRemaining, long completed, long rejected) {
+    }
+}
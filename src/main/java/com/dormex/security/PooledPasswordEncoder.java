@@ -0,0 +1,48 @@
+package com.dormex.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Runs a delegate encoder's hashing on the {@link PasswordHashingPool}
+ * instead of the calling request thread.
+ */
+public class PooledPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final PasswordHashingPool pool;
+
+    public PooledPasswordEncoder(PasswordEncoder delegate, PasswordHashingPool pool) {
+        this.delegate = delegate;
+        this.pool = pool;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return pool.execute(() -> delegate.encode(rawPassword));
+    }
+
+    /**
+     * Hashes a batch on the pool without crowding out sign-ins; see
+     * {@link PasswordHashingPool#executeAll}.
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords, long batchTimeout) {
+        List<Callable<String>> hashes = rawPasswords.stream()
+            .<Callable<String>>map(rawPassword -> () -> delegate.encode(rawPassword))
+            .toList();
+        return pool.executeAll(hashes, batchTimeout);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return pool.execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // Only reads the cost factor from the hash, cheap enough for the caller's thread
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,91 @@
+package com.dormex.security;
+
+import com.dormex.repository.RefreshTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Revoked refresh-token families ("sessions"), checked on every refresh and
+ * whenever the JWT filter verifies a token it has not cached yet.
+ *
+ * A Bloom filter answers the common case, a session that was never revoked,
+ * without touching the database. Only a positive answer is confirmed with a
+ * query, so false positives cost a lookup but never reject a valid token.
+ * The filter cannot forget entries, so it is rebuilt from the table on a
+ * schedule, which also purges expired refresh tokens.
+ */
+@Slf4j
+@Component
+public class RevokedSessions {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final int capacity;
+
+    private volatile BloomFilter revoked;
+    private volatile BloomFilter rebuilding;
+
+    public RevokedSessions(
+            RefreshTokenRepository refreshTokenRepository,
+            @Value("${app.jwt.revocation-capacity:100000}") int capacity) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.capacity = capacity;
+        this.revoked = new BloomFilter(capacity, FALSE_POSITIVE_RATE);
+    }
+
+    /**
+     * Call once the family is marked revoked in the database, or within the
+     * same transaction: until it commits the confirming query still says no.
+     */
+    public void revoke(String sessionId) {
+        revoked.add(sessionId);
+        BloomFilter next = rebuilding;
+        if (next != null) {
+            next.add(sessionId);
+        }
+    }
+
+    public boolean isRevoked(String sessionId) {
+        return sessionId != null
+            && revoked.mightContain(sessionId)
+            && refreshTokenRepository.existsByFamilyIdAndRevokedTrue(sessionId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(
+        fixedDelayString = "${app.jwt.revocation-rebuild-interval:3600000}",
+        initialDelayString = "${app.jwt.revocation-rebuild-interval:3600000}")
+    public void reconcile() {
+        int purged = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            log.info("Purged {} expired refresh tokens", purged);
+        }
+        rebuild();
+    }
+
+    public synchronized void rebuild() {
+        BloomFilter fresh = new BloomFilter(capacity, FALSE_POSITIVE_RATE);
+        // Revocations made while the table is read must land in both filters
+        rebuilding = fresh;
+        List<String> families = refreshTokenRepository.findRevokedFamilyIds(LocalDateTime.now());
+        families.forEach(fresh::add);
+        revoked = fresh;
+        rebuilding = null;
+
+        if (families.size() > capacity) {
+            log.warn("{} revoked sessions exceed the revocation capacity of {}", families.size(), capacity);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.dormex.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of user details for the JWT filter, sitting in front of
+ * {@link CustomUserDetailsService} so a hit never opens a transaction.
+ *
+ * Evicting a user also records when it changed, which tells the filter
+ * that role and enabled claims in tokens issued before then are stale.
+ */
+@Component
+public class UserDetailsCache {
+
+    private final CustomUserDetailsService userDetailsService;
+    private final BoundedCache<Long, CustomUserDetails> users;
+    private final Map<Long, Long> changedAt = new ConcurrentHashMap<>();
+
+    public UserDetailsCache(
+            CustomUserDetailsService userDetailsService,
+            @Value("${app.jwt.user-cache-size:1000}") int maxSize) {
+        this.userDetailsService = userDetailsService;
+        this.users = new BoundedCache<>(maxSize);
+    }
+
+    public CustomUserDetails get(Long userId) throws UsernameNotFoundException {
+        CustomUserDetails user = users.get(userId);
+        if (user == null) {
+            user = (CustomUserDetails) userDetailsService.loadUserById(userId);
+            users.put(userId, user);
+        }
+        return user;
+    }
+
+    /**
+     * Call after a user's role, status or profile changed.
+     */
+    public void evict(Long userId) {
+        changedAt.put(userId, System.currentTimeMillis());
+        users.remove(userId);
+    }
+
+    public boolean changedSince(Long userId, long epochMillis) {
+        Long changed = changedAt.get(userId);
+        return changed != null && changed >= epochMillis;
+    }
+}
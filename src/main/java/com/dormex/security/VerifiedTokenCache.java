@@ -0,0 +1,62 @@
+package com.dormex.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Principals of already verified tokens, keyed by the SHA-256 digest of the
+ * token so raw tokens are never held in memory. Entries are dropped once the
+ * token expires or the user changed after the principal was resolved.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final UserDetailsCache userDetailsCache;
+    private final BoundedCache<String, Entry> tokens;
+
+    public VerifiedTokenCache(
+            UserDetailsCache userDetailsCache,
+            @Value("${app.jwt.token-cache-size:10000}") int maxSize) {
+        this.userDetailsCache = userDetailsCache;
+        this.tokens = new BoundedCache<>(maxSize);
+    }
+
+    public CustomUserDetails get(String token) {
+        String digest = digest(token);
+        Entry entry = tokens.get(digest);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() <= System.currentTimeMillis()
+                || userDetailsCache.changedSince(entry.principal().getId(), entry.resolvedAt())) {
+            tokens.remove(digest);
+            return null;
+        }
+        return entry.principal();
+    }
+
+    /**
+     * @param resolvedAt when the principal's role and status were read, either
+     *                   the token's issue time or the time of the user lookup
+     */
+    public void put(String token, CustomUserDetails principal, long resolvedAt, long expiresAt) {
+        tokens.put(digest(token), new Entry(principal, resolvedAt, expiresAt));
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record Entry(CustomUserDetails principal, long resolvedAt, long expiresAt) {
+    }
+}
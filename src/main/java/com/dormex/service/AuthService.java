@@ -9,7 +9,9 @@ import com.dormex.entity.enums.AuthProvider;
 import com.dormex.entity.enums.Role;
 import com.dormex.exception.BadRequestException;
 import com.dormex.repository.UserRepository;
-import com.dormex.security.JwtService;
+import com.dormex.security.CustomUserDetails;
+import com.dormex.security.JwtKeyRing;
+import com.dormex.security.LoginThrottle;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -18,14 +20,18 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Map;
+
 @Service
 @RequiredArgsConstructor
 public class AuthService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final JwtKeyRing jwtKeyRing;
+    private final RefreshTokenService refreshTokenService;
+    private final LoginThrottle loginThrottle;
 
     @Value("${app.jwt.expiration}")
     private long jwtExpiration;
@@ -49,7 +55,9 @@ public class AuthService {
         return generateAuthResponse(user);
     }
 
-    public AuthResponse login(LoginRequest request) {
+    public AuthResponse login(LoginRequest request, String clientAddress) {
+        loginThrottle.acquire(request.getEmail(), clientAddress);
+
         authenticationManager.authenticate(
             new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
         );
@@ -65,26 +73,29 @@ public class AuthService {
     }
 
     public AuthResponse refreshToken(RefreshTokenRequest request) {
-        String refreshToken = request.getRefreshToken();
-
-        if (!jwtService.validateToken(refreshToken)) {
-            throw new BadRequestException("Invalid or expired refresh token");
-        }
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+        return buildAuthResponse(rotation.user(), rotation.tokens());
+    }
 
-        Long userId = jwtService.getUserIdFromToken(refreshToken);
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new BadRequestException("User not found"));
+    public void logout(RefreshTokenRequest request) {
+        refreshTokenService.logout(request.getRefreshToken());
+    }
 
-        return generateAuthResponse(user);
+    /**
+     * Public verification keys as a JWK set; empty when tokens are HMAC-signed.
+     */
+    public Map<String, Object> getJwks() {
+        return Map.of("keys", jwtKeyRing.jwks());
     }
 
     private AuthResponse generateAuthResponse(User user) {
-        String accessToken = jwtService.generateToken(user.getId(), user.getEmail());
-        String refreshToken = jwtService.generateRefreshToken(user.getId(), user.getEmail());
+        return buildAuthResponse(user, refreshTokenService.issue(new CustomUserDetails(user)));
+    }
 
+    private AuthResponse buildAuthResponse(User user, RefreshTokenService.TokenPair tokens) {
         return AuthResponse.builder()
-            .accessToken(accessToken)
-            .refreshToken(refreshToken)
+            .accessToken(tokens.accessToken())
+            .refreshToken(tokens.refreshToken())
             .tokenType("Bearer")
             .expiresIn(jwtExpiration / 1000) // Convert to seconds
             .user(AuthResponse.UserInfo.builder()
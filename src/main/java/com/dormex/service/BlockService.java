@@ -18,6 +18,9 @@ import java.util.List;
 public class BlockService {
 
     private final BlockRepository blockRepository;
+    private final DashboardCounters dashboardCounters;
+    private final SuggestionIndex suggestionIndex;
+    private final VacancyIndex vacancyIndex;
 
     @Transactional
     public BlockResponse createBlock(CreateBlockRequest request) {
@@ -33,6 +36,7 @@ public class BlockService {
             .build();
 
         block = blockRepository.save(block);
+        dashboardCounters.blockSaved(block.getId(), block.getName(), block.isActive());
         return mapToResponse(block);
     }
 
@@ -56,28 +60,38 @@ public class BlockService {
             .toList();
     }
 
+    @RetryOnConflict
     @Transactional
-    public BlockResponse updateBlock(Long id, CreateBlockRequest request) {
+    public BlockResponse updateBlock(Long id, CreateBlockRequest request, Long expectedVersion) {
         Block block = findBlockById(id);
+        Versions.check("Block", id, expectedVersion, block.getVersion());
 
         if (!block.getName().equals(request.getName()) && 
             blockRepository.existsByName(request.getName())) {
             throw new BadRequestException("Block name already exists");
         }
 
+        boolean renamed = !block.getName().equals(request.getName());
         block.setName(request.getName());
         block.setDescription(request.getDescription());
         block.setTotalFloors(request.getTotalFloors());
 
-        block = blockRepository.save(block);
+        block = blockRepository.saveAndFlush(block);
+        dashboardCounters.blockSaved(block.getId(), block.getName(), block.isActive());
+        if (renamed) {
+            suggestionIndex.blockRenamed(block.getId(), block.getName());
+            vacancyIndex.blockRenamed(block.getId(), block.getName());
+        }
         return mapToResponse(block);
     }
 
     @Transactional
-    public BlockResponse toggleBlockStatus(Long id) {
+    public BlockResponse toggleBlockStatus(Long id, Long expectedVersion) {
         Block block = findBlockById(id);
+        Versions.check("Block", id, expectedVersion, block.getVersion());
         block.setActive(!block.isActive());
-        block = blockRepository.save(block);
+        block = blockRepository.saveAndFlush(block);
+        dashboardCounters.blockSaved(block.getId(), block.getName(), block.isActive());
         return mapToResponse(block);
     }
 
@@ -88,6 +102,7 @@ public class BlockService {
             throw new BadRequestException("Cannot delete block with existing rooms");
         }
         blockRepository.delete(block);
+        dashboardCounters.blockDeleted(block.getId());
     }
 
     Block findBlockById(Long id) {
@@ -110,6 +125,7 @@ public class BlockService {
             .totalRooms(totalRooms)
             .occupiedRooms(occupiedRooms)
             .createdAt(block.getCreatedAt())
+            .version(block.getVersion())
             .build();
     }
 }
@@ -1,6 +1,8 @@
 package com.dormex.service;
 
+import com.dormex.dto.CursorPage;
 import com.dormex.dto.complaint.ComplaintResponse;
+import com.dormex.dto.complaint.ComplaintStatusEvent;
 import com.dormex.dto.complaint.CreateComplaintRequest;
 import com.dormex.dto.complaint.UpdateComplaintRequest;
 import com.dormex.entity.Complaint;
@@ -14,11 +16,17 @@ import com.dormex.repository.ComplaintRepository;
 import com.dormex.repository.StudentRepository;
 import com.dormex.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -27,6 +35,14 @@ public class ComplaintService {
     private final ComplaintRepository complaintRepository;
     private final StudentRepository studentRepository;
     private final UserRepository userRepository;
+    private final DashboardCounters dashboardCounters;
+    private final EventStreamHub eventStreamHub;
+
+    @Value("${app.pagination.default-page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${app.pagination.max-page-size:100}")
+    private int maxPageSize;
 
     @Transactional
     public ComplaintResponse createComplaint(Long userId, CreateComplaintRequest request) {
@@ -42,6 +58,7 @@ public class ComplaintService {
             .build();
 
         complaint = complaintRepository.save(complaint);
+        dashboardCounters.complaintCreated(complaint.getStatus(), complaint.getCategory());
         return mapToResponse(complaint);
     }
 
@@ -52,53 +69,59 @@ public class ComplaintService {
     }
 
     @Transactional(readOnly = true)
-    public List<ComplaintResponse> getAllComplaints() {
-        return complaintRepository.findAllOrderByCreatedAtDesc().stream()
-            .map(this::mapToResponse)
-            .toList();
+    public CursorPage<ComplaintResponse> getAllComplaints(String cursor, Integer size) {
+        KeysetCursor position = KeysetCursor.decode(cursor, KeysetCursor.LATEST);
+        int pageSize = resolvePageSize(size);
+        return toPage(complaintRepository.findPageBefore(
+            position.createdAt(), position.id(), Limit.of(pageSize + 1)), pageSize);
     }
 
     @Transactional(readOnly = true)
-    public List<ComplaintResponse> getComplaintsByStudent(Long studentId) {
-        return complaintRepository.findByStudentIdOrderByCreatedAtDesc(studentId).stream()
-            .map(this::mapToResponse)
-            .toList();
+    public CursorPage<ComplaintResponse> getComplaintsByStudent(Long studentId, String cursor, Integer size) {
+        KeysetCursor position = KeysetCursor.decode(cursor, KeysetCursor.LATEST);
+        int pageSize = resolvePageSize(size);
+        return toPage(complaintRepository.findPageByStudentBefore(
+            studentId, position.createdAt(), position.id(), Limit.of(pageSize + 1)), pageSize);
     }
 
     @Transactional(readOnly = true)
-    public List<ComplaintResponse> getMyComplaints(Long userId) {
+    public CursorPage<ComplaintResponse> getMyComplaints(Long userId, String cursor, Integer size) {
         Student student = studentRepository.findByUserId(userId)
             .orElseThrow(() -> new BadRequestException("Student profile not found"));
 
-        return complaintRepository.findByStudentIdOrderByCreatedAtDesc(student.getId()).stream()
-            .map(this::mapToResponse)
-            .toList();
+        return getComplaintsByStudent(student.getId(), cursor, size);
     }
 
     @Transactional(readOnly = true)
-    public List<ComplaintResponse> getComplaintsByStatus(ComplaintStatus status) {
-        return complaintRepository.findByStatus(status).stream()
-            .map(this::mapToResponse)
-            .toList();
+    public CursorPage<ComplaintResponse> getComplaintsByStatus(ComplaintStatus status, String cursor, Integer size) {
+        KeysetCursor position = KeysetCursor.decode(cursor, KeysetCursor.LATEST);
+        int pageSize = resolvePageSize(size);
+        return toPage(complaintRepository.findPageByStatusBefore(
+            status, position.createdAt(), position.id(), Limit.of(pageSize + 1)), pageSize);
     }
 
     @Transactional(readOnly = true)
-    public List<ComplaintResponse> getComplaintsByCategory(ComplaintCategory category) {
-        return complaintRepository.findByCategory(category).stream()
-            .map(this::mapToResponse)
-            .toList();
+    public CursorPage<ComplaintResponse> getComplaintsByCategory(ComplaintCategory category, String cursor, Integer size) {
+        KeysetCursor position = KeysetCursor.decode(cursor, KeysetCursor.LATEST);
+        int pageSize = resolvePageSize(size);
+        return toPage(complaintRepository.findPageByCategoryBefore(
+            category, position.createdAt(), position.id(), Limit.of(pageSize + 1)), pageSize);
     }
 
     @Transactional(readOnly = true)
-    public List<ComplaintResponse> getPendingComplaints() {
-        return complaintRepository.findPendingComplaints().stream()
-            .map(this::mapToResponse)
-            .toList();
+    public CursorPage<ComplaintResponse> getPendingComplaints(String cursor, Integer size) {
+        KeysetCursor position = KeysetCursor.decode(cursor, KeysetCursor.EARLIEST);
+        int pageSize = resolvePageSize(size);
+        return toPage(complaintRepository.findPendingPageAfter(
+            position.createdAt(), position.id(), Limit.of(pageSize + 1)), pageSize);
     }
 
+    @RetryOnConflict
     @Transactional
-    public ComplaintResponse updateComplaint(Long id, UpdateComplaintRequest request) {
+    public ComplaintResponse updateComplaint(Long id, UpdateComplaintRequest request, Long expectedVersion) {
         Complaint complaint = findComplaintById(id);
+        Versions.check("Complaint", id, expectedVersion, complaint.getVersion());
+        ComplaintStatus previousStatus = complaint.getStatus();
 
         if (request.getStatus() != null) {
             complaint.setStatus(request.getStatus());
@@ -113,13 +136,18 @@ public class ComplaintService {
             complaint.setAssignedTo(request.getAssignedTo());
         }
 
-        complaint = complaintRepository.save(complaint);
+        complaint = complaintRepository.saveAndFlush(complaint);
+        dashboardCounters.complaintStatusChanged(previousStatus, complaint.getStatus());
+        publishStatusChange(complaint, previousStatus);
         return mapToResponse(complaint);
     }
 
+    @RetryOnConflict
     @Transactional
-    public ComplaintResponse updateStatus(Long id, ComplaintStatus status, String remarks) {
+    public ComplaintResponse updateStatus(Long id, ComplaintStatus status, String remarks, Long expectedVersion) {
         Complaint complaint = findComplaintById(id);
+        Versions.check("Complaint", id, expectedVersion, complaint.getVersion());
+        ComplaintStatus previousStatus = complaint.getStatus();
         complaint.setStatus(status);
 
         if (remarks != null) {
@@ -129,7 +157,9 @@ public class ComplaintService {
             complaint.setResolvedAt(LocalDateTime.now());
         }
 
-        complaint = complaintRepository.save(complaint);
+        complaint = complaintRepository.saveAndFlush(complaint);
+        dashboardCounters.complaintStatusChanged(previousStatus, complaint.getStatus());
+        publishStatusChange(complaint, previousStatus);
         return mapToResponse(complaint);
     }
 
@@ -137,6 +167,22 @@ public class ComplaintService {
     public void deleteComplaint(Long id) {
         Complaint complaint = findComplaintById(id);
         complaintRepository.delete(complaint);
+        dashboardCounters.complaintDeleted(complaint.getStatus(), complaint.getCategory());
+    }
+
+    private void publishStatusChange(Complaint complaint, ComplaintStatus previousStatus) {
+        if (complaint.getStatus() == previousStatus) {
+            return;
+        }
+        eventStreamHub.publishToUser(complaint.getStudent().getUser().getId(), "complaint", ComplaintStatusEvent.builder()
+            .complaintId(complaint.getId())
+            .title(complaint.getTitle())
+            .previousStatus(previousStatus)
+            .status(complaint.getStatus())
+            .adminRemarks(complaint.getAdminRemarks())
+            .resolvedAt(complaint.getResolvedAt())
+            .version(complaint.getVersion())
+            .build());
     }
 
     private Complaint findComplaintById(Long id) {
@@ -144,16 +190,65 @@ public class ComplaintService {
             .orElseThrow(() -> new ResourceNotFoundException("Complaint", "id", id));
     }
 
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        if (size < 1) {
+            throw new BadRequestException("Page size must be at least 1");
+        }
+        return Math.min(size, maxPageSize);
+    }
+
+    // Each page query fetches one extra row to learn whether another page follows
+    private CursorPage<ComplaintResponse> toPage(List<Complaint> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<Complaint> complaints = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            Complaint last = complaints.get(complaints.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return CursorPage.<ComplaintResponse>builder()
+            .items(mapToResponses(complaints))
+            .size(complaints.size())
+            .hasMore(hasMore)
+            .nextCursor(nextCursor)
+            .build();
+    }
+
+    private List<ComplaintResponse> mapToResponses(List<Complaint> complaints) {
+        Map<Long, String> assigneeNames = resolveAssigneeNames(complaints);
+        return complaints.stream()
+            .map(complaint -> mapToResponse(complaint, assigneeNames))
+            .toList();
+    }
+
     private ComplaintResponse mapToResponse(Complaint complaint) {
-        Student student = complaint.getStudent();
-        User studentUser = student.getUser();
+        return mapToResponse(complaint, resolveAssigneeNames(List.of(complaint)));
+    }
 
-        String assignedToName = null;
-        if (complaint.getAssignedTo() != null) {
-            assignedToName = userRepository.findById(complaint.getAssignedTo())
-                .map(User::getName)
-                .orElse(null);
+    // Resolves all distinct assignees with a single query instead of one per complaint
+    private Map<Long, String> resolveAssigneeNames(List<Complaint> complaints) {
+        Set<Long> assigneeIds = complaints.stream()
+            .map(Complaint::getAssignedTo)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        if (assigneeIds.isEmpty()) {
+            return Map.of();
         }
+        return userRepository.findAllById(assigneeIds).stream()
+            .collect(Collectors.toMap(User::getId, User::getName));
+    }
+
+    private ComplaintResponse mapToResponse(Complaint complaint, Map<Long, String> assigneeNames) {
+        Student student = complaint.getStudent();
+        User studentUser = student.getUser();
+        String assignedToName = complaint.getAssignedTo() != null
+            ? assigneeNames.get(complaint.getAssignedTo())
+            : null;
 
         return ComplaintResponse.builder()
             .id(complaint.getId())
@@ -170,6 +265,7 @@ public class ComplaintService {
             .resolvedAt(complaint.getResolvedAt())
             .createdAt(complaint.getCreatedAt())
             .updatedAt(complaint.getUpdatedAt())
+            .version(complaint.getVersion())
             .build();
     }
 }
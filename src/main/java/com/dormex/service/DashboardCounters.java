@@ -0,0 +1,338 @@
+package com.dormex.service;
+
+import com.dormex.entity.Room;
+import com.dormex.entity.enums.ComplaintCategory;
+import com.dormex.entity.enums.ComplaintStatus;
+import com.dormex.entity.enums.RoomStatus;
+import com.dormex.entity.enums.StudentStatus;
+import com.dormex.repository.BlockRepository;
+import com.dormex.repository.ComplaintRepository;
+import com.dormex.repository.RoomRepository;
+import com.dormex.repository.StudentRepository;
+import com.dormex.repository.projection.BlockOccupancyView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory dashboard counters.
+ *
+ * Services report their writes here and the deltas are applied after the
+ * surrounding transaction commits, so the admin dashboard is read from memory
+ * instead of re-aggregating the students, rooms and complaints tables.
+ * A periodic reconciliation rebuilds everything from the database so the
+ * counters cannot drift for longer than one reconcile interval.
+ */
+@Slf4j
+@Component
+public class DashboardCounters {
+
+    private final StudentRepository studentRepository;
+    private final BlockRepository blockRepository;
+    private final RoomRepository roomRepository;
+    private final ComplaintRepository complaintRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    // Committing writes share the read side from before their commit until their delta is applied,
+    // so a rebuild's snapshot either contains a write's rows or the delta lands on the new counters
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Counters counters = new Counters();
+
+    public DashboardCounters(StudentRepository studentRepository, BlockRepository blockRepository,
+                             RoomRepository roomRepository, ComplaintRepository complaintRepository,
+                             PlatformTransactionManager transactionManager) {
+        this.studentRepository = studentRepository;
+        this.blockRepository = blockRepository;
+        this.roomRepository = roomRepository;
+        this.complaintRepository = complaintRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    // ========== Write Side ==========
+
+    public void studentCreated(StudentStatus status) {
+        afterCommit(c -> c.students.get(status).increment());
+    }
+
+    public void studentStatusChanged(StudentStatus from, StudentStatus to) {
+        if (from == to) return;
+        afterCommit(c -> {
+            c.students.get(from).decrement();
+            c.students.get(to).increment();
+        });
+    }
+
+    public void studentDeleted(StudentStatus status) {
+        afterCommit(c -> c.students.get(status).decrement());
+    }
+
+    public void roomChanged(RoomState before, RoomState after) {
+        afterCommit(c -> {
+            if (before != null) c.apply(before, -1);
+            if (after != null) c.apply(after, 1);
+        });
+    }
+
+    public void blockSaved(Long blockId, String name, boolean active) {
+        afterCommit(c -> {
+            BlockCounters block = c.block(blockId);
+            block.name = name;
+            block.active = active;
+        });
+    }
+
+    public void blockDeleted(Long blockId) {
+        afterCommit(c -> c.blocks.remove(blockId));
+    }
+
+    public void complaintCreated(ComplaintStatus status, ComplaintCategory category) {
+        afterCommit(c -> {
+            c.complaintsByStatus.get(status).increment();
+            c.complaintsByCategory.get(category).increment();
+        });
+    }
+
+    public void complaintStatusChanged(ComplaintStatus from, ComplaintStatus to) {
+        if (from == to) return;
+        afterCommit(c -> {
+            c.complaintsByStatus.get(from).decrement();
+            c.complaintsByStatus.get(to).increment();
+        });
+    }
+
+    public void complaintDeleted(ComplaintStatus status, ComplaintCategory category) {
+        afterCommit(c -> {
+            c.complaintsByStatus.get(status).decrement();
+            c.complaintsByCategory.get(category).decrement();
+        });
+    }
+
+    // ========== Read Side ==========
+
+    public long students(StudentStatus status) {
+        return counters.students.get(status).sum();
+    }
+
+    public long totalStudents() {
+        return total(counters.students);
+    }
+
+    public long rooms(RoomStatus status) {
+        return counters.rooms.get(status).sum();
+    }
+
+    public long totalRooms() {
+        return total(counters.rooms);
+    }
+
+    public long complaints(ComplaintStatus status) {
+        return counters.complaintsByStatus.get(status).sum();
+    }
+
+    public long complaints(ComplaintCategory category) {
+        return counters.complaintsByCategory.get(category).sum();
+    }
+
+    public long totalComplaints() {
+        return total(counters.complaintsByStatus);
+    }
+
+    /** Capacity of all rooms that are not under maintenance. */
+    public long capacityInService() {
+        return counters.capacityInService.sum();
+    }
+
+    public long totalOccupancy() {
+        return counters.occupancy.sum();
+    }
+
+    public long activeBlocks() {
+        return counters.blocks.values().stream().filter(b -> b.active).count();
+    }
+
+    public List<BlockTotals> activeBlockTotals() {
+        List<BlockTotals> totals = new ArrayList<>();
+        counters.blocks.forEach((id, block) -> {
+            if (block.active) {
+                totals.add(new BlockTotals(id, block.name,
+                    block.rooms.sum(), block.capacity.sum(), block.occupancy.sum()));
+            }
+        });
+        return totals;
+    }
+
+    // ========== Reconciliation ==========
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(
+        fixedDelayString = "${app.dashboard.reconcile-interval:300000}",
+        initialDelayString = "${app.dashboard.reconcile-interval:300000}")
+    public void reconcile() {
+        rebuild();
+    }
+
+    /**
+     * Rebuilds all counters from one read-only transaction and swaps them in
+     * atomically. The write side is taken once the transaction holds its
+     * connection, so writers waiting to commit never keep it from one. Writes
+     * that started committing earlier are in the snapshot and their deltas go
+     * to the old counters; later ones wait for the swap and land on the new.
+     */
+    public void rebuild() {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            lock.writeLock().lock();
+            try {
+                counters = load();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+        log.debug("Dashboard counters rebuilt: {} students, {} rooms, {} complaints",
+            totalStudents(), totalRooms(), totalComplaints());
+    }
+
+    private Counters load() {
+        Counters fresh = new Counters();
+
+        studentRepository.countGroupByStatus()
+            .forEach(row -> fresh.students.get(row.getStatus()).add(row.getCount()));
+        roomRepository.countGroupByStatus()
+            .forEach(row -> fresh.rooms.get(row.getStatus()).add(row.getCount()));
+        complaintRepository.countGroupByStatusAndCategory().forEach(row -> {
+            fresh.complaintsByStatus.get(row.getStatus()).add(row.getCount());
+            fresh.complaintsByCategory.get(row.getCategory()).add(row.getCount());
+        });
+
+        Long capacity = roomRepository.getTotalCapacity();
+        Long occupancy = roomRepository.getTotalOccupancy();
+        fresh.capacityInService.add(capacity != null ? capacity : 0);
+        fresh.occupancy.add(occupancy != null ? occupancy : 0);
+
+        for (BlockOccupancyView block : blockRepository.findOccupancyByBlock()) {
+            BlockCounters totals = fresh.block(block.getBlockId());
+            totals.name = block.getBlockName();
+            totals.active = block.isActive();
+            totals.rooms.add(block.getTotalRooms());
+            totals.capacity.add(block.getTotalCapacity());
+            totals.occupancy.add(block.getCurrentOccupancy());
+        }
+        return fresh;
+    }
+
+    private void afterCommit(Consumer<Counters> update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lock.readLock().lock();
+            try {
+                update.accept(counters);
+            } finally {
+                lock.readLock().unlock();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean locked;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                lock.readLock().lock();
+                locked = true;
+            }
+
+            @Override
+            public void afterCommit() {
+                update.accept(counters);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (locked) {
+                    locked = false;
+                    lock.readLock().unlock();
+                }
+            }
+        });
+    }
+
+    private static long total(Map<?, LongAdder> adders) {
+        return adders.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * The parts of a room the dashboard aggregates over.
+     */
+    public record RoomState(Long blockId, RoomStatus status, int capacity, int occupancy) {
+
+        public static RoomState of(Room room) {
+            return new RoomState(room.getBlock().getId(), room.getStatus(),
+                room.getCapacity(), room.getCurrentOccupancy());
+        }
+    }
+
+    public record BlockTotals(Long blockId, String blockName, long rooms, long capacity, long occupancy) {
+    }
+
+    private static final class Counters {
+        final Map<StudentStatus, LongAdder> students = adders(StudentStatus.class);
+        final Map<RoomStatus, LongAdder> rooms = adders(RoomStatus.class);
+        final Map<ComplaintStatus, LongAdder> complaintsByStatus = adders(ComplaintStatus.class);
+        final Map<ComplaintCategory, LongAdder> complaintsByCategory = adders(ComplaintCategory.class);
+        final LongAdder capacityInService = new LongAdder();
+        final LongAdder occupancy = new LongAdder();
+        final ConcurrentNavigableMap<Long, BlockCounters> blocks = new ConcurrentSkipListMap<>();
+
+        BlockCounters block(Long blockId) {
+            return blocks.computeIfAbsent(blockId, id -> new BlockCounters());
+        }
+
+        void apply(RoomState room, int sign) {
+            rooms.get(room.status()).add(sign);
+            occupancy.add((long) sign * room.occupancy());
+            if (room.status() != RoomStatus.UNDER_MAINTENANCE) {
+                capacityInService.add((long) sign * room.capacity());
+            }
+
+            BlockCounters block = block(room.blockId());
+            block.rooms.add(sign);
+            block.capacity.add((long) sign * room.capacity());
+            block.occupancy.add((long) sign * room.occupancy());
+        }
+
+        private static <E extends Enum<E>> Map<E, LongAdder> adders(Class<E> type) {
+            Map<E, LongAdder> adders = new EnumMap<>(type);
+            for (E constant : type.getEnumConstants()) {
+                adders.put(constant, new LongAdder());
+            }
+            return adders;
+        }
+    }
+
+    private static final class BlockCounters {
+        volatile String name;
+        volatile boolean active;
+        final LongAdder rooms = new LongAdder();
+        final LongAdder capacity = new LongAdder();
+        final LongAdder occupancy = new LongAdder();
+    }
+}
@@ -3,14 +3,14 @@ package com.dormex.service;
 import com.dormex.dto.complaint.ComplaintResponse;
 import com.dormex.dto.dashboard.*;
 import com.dormex.dto.student.StudentResponse;
-import com.dormex.entity.Block;
 import com.dormex.entity.Complaint;
-import com.dormex.entity.Room;
 import com.dormex.entity.Student;
+import com.dormex.entity.enums.ComplaintCategory;
 import com.dormex.entity.enums.ComplaintStatus;
 import com.dormex.entity.enums.RoomStatus;
 import com.dormex.entity.enums.StudentStatus;
-import com.dormex.repository.*;
+import com.dormex.repository.ComplaintRepository;
+import com.dormex.repository.StudentRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
@@ -26,32 +26,27 @@ import java.util.stream.Collectors;
 public class DashboardService {
 
     private final StudentRepository studentRepository;
-    private final BlockRepository blockRepository;
-    private final RoomRepository roomRepository;
     private final ComplaintRepository complaintRepository;
+    private final DashboardCounters dashboardCounters;
 
     public DashboardStats getStats() {
-        long totalStudents = studentRepository.count();
-        long activeStudents = studentRepository.countByStatus(StudentStatus.ACTIVE);
-        long totalBlocks = blockRepository.countByActiveTrue();
-        long totalRooms = roomRepository.count();
-        long availableRooms = roomRepository.countByStatus(RoomStatus.AVAILABLE);
-        long occupiedRooms = roomRepository.countByStatus(RoomStatus.OCCUPIED) + 
-                            roomRepository.countByStatus(RoomStatus.FULL);
-        
-        long totalComplaints = complaintRepository.count();
-        long openComplaints = complaintRepository.countByStatus(ComplaintStatus.OPEN);
-        long inProgressComplaints = complaintRepository.countByStatus(ComplaintStatus.IN_PROGRESS);
-        long resolvedComplaints = complaintRepository.countByStatus(ComplaintStatus.RESOLVED) +
-                                  complaintRepository.countByStatus(ComplaintStatus.CLOSED);
+        long totalStudents = dashboardCounters.totalStudents();
+        long activeStudents = dashboardCounters.students(StudentStatus.ACTIVE);
+        long totalBlocks = dashboardCounters.activeBlocks();
+        long totalRooms = dashboardCounters.totalRooms();
+        long availableRooms = dashboardCounters.rooms(RoomStatus.AVAILABLE);
+        long occupiedRooms = dashboardCounters.rooms(RoomStatus.OCCUPIED) +
+                            dashboardCounters.rooms(RoomStatus.FULL);
+
+        long totalComplaints = dashboardCounters.totalComplaints();
+        long openComplaints = dashboardCounters.complaints(ComplaintStatus.OPEN);
+        long inProgressComplaints = dashboardCounters.complaints(ComplaintStatus.IN_PROGRESS);
+        long resolvedComplaints = dashboardCounters.complaints(ComplaintStatus.RESOLVED) +
+                                  dashboardCounters.complaints(ComplaintStatus.CLOSED);
 
         // Calculate occupancy rate
-        long totalCapacity = roomRepository.findAll().stream()
-                .mapToInt(Room::getCapacity)
-                .sum();
-        long currentOccupancy = roomRepository.findAll().stream()
-                .mapToInt(Room::getCurrentOccupancy)
-                .sum();
+        long totalCapacity = dashboardCounters.capacityInService();
+        long currentOccupancy = dashboardCounters.totalOccupancy();
         double occupancyRate = totalCapacity > 0 ? (double) currentOccupancy / totalCapacity * 100 : 0;
 
         return DashboardStats.builder()
@@ -122,25 +117,20 @@ public class DashboardService {
     }
 
     public List<BlockOccupancy> getBlockOccupancy() {
-        return blockRepository.findByActiveTrue().stream()
-                .map(this::calculateBlockOccupancy)
+        return dashboardCounters.activeBlockTotals().stream()
+                .map(this::mapBlockOccupancy)
                 .collect(Collectors.toList());
     }
 
-    private BlockOccupancy calculateBlockOccupancy(Block block) {
-        List<Room> rooms = roomRepository.findByBlockId(block.getId());
-        
-        long totalRooms = rooms.size();
-        long totalCapacity = rooms.stream().mapToInt(Room::getCapacity).sum();
-        long currentOccupancy = rooms.stream().mapToInt(Room::getCurrentOccupancy).sum();
-        double occupancyRate = totalCapacity > 0 ? (double) currentOccupancy / totalCapacity * 100 : 0;
+    private BlockOccupancy mapBlockOccupancy(DashboardCounters.BlockTotals block) {
+        double occupancyRate = block.capacity() > 0 ? (double) block.occupancy() / block.capacity() * 100 : 0;
 
         return BlockOccupancy.builder()
-                .blockId(block.getId())
-                .blockName(block.getName())
-                .totalRooms(totalRooms)
-                .totalCapacity(totalCapacity)
-                .currentOccupancy(currentOccupancy)
+                .blockId(block.blockId())
+                .blockName(block.blockName())
+                .totalRooms(block.rooms())
+                .totalCapacity(block.capacity())
+                .currentOccupancy(block.occupancy())
                 .occupancyRate(Math.round(occupancyRate * 100.0) / 100.0)
                 .build();
     }
@@ -148,16 +138,19 @@ public class DashboardService {
     public ComplaintSummary getComplaintSummary() {
         Map<String, Long> byStatus = new HashMap<>();
         for (ComplaintStatus status : ComplaintStatus.values()) {
-            byStatus.put(status.name(), complaintRepository.countByStatus(status));
+            byStatus.put(status.name(), dashboardCounters.complaints(status));
         }
 
         Map<String, Long> byCategory = new HashMap<>();
-        complaintRepository.findAll().stream()
-                .collect(Collectors.groupingBy(c -> c.getCategory().name(), Collectors.counting()))
-                .forEach(byCategory::put);
+        for (ComplaintCategory category : ComplaintCategory.values()) {
+            long count = dashboardCounters.complaints(category);
+            if (count > 0) {
+                byCategory.put(category.name(), count);
+            }
+        }
 
         return ComplaintSummary.builder()
-                .total(complaintRepository.count())
+                .total(dashboardCounters.totalComplaints())
                 .byStatus(byStatus)
                 .byCategory(byCategory)
                 .build();
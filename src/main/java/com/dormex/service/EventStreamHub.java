@@ -0,0 +1,325 @@
+package com.dormex.service;
+
+import com.dormex.exception.TooManyRequestsException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fan-out hub behind the /api/stream server-sent events endpoint.
+ *
+ * Each event is serialized once and the same frame is queued for every
+ * recipient. Every subscriber has a small bounded buffer drained by a shared
+ * dispatcher pool, so a slow client never holds up the publisher or anyone
+ * else; a client whose buffer overflows is disconnected and is expected to
+ * reconnect and refetch. A send that blocks on the socket for longer than
+ * app.stream.send-timeout disconnects its client too, and the dispatcher
+ * gets an extra thread until that send returns, so dead peers cannot take
+ * over the pool. Heartbeats keep idle connections open through proxies and
+ * flush out dead ones. Events are not replayed on reconnect.
+ */
+@Slf4j
+@Component
+public class EventStreamHub {
+
+    private static final long RECONNECT_DELAY = 5000L;
+
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor dispatcher;
+    private final int bufferSize;
+    private final long timeout;
+    private final int maxSubscribers;
+    private final int maxPerUser;
+    private final long sendTimeoutNanos;
+
+    private final Map<Long, Set<Subscriber>> subscribersByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong eventIds = new AtomicLong();
+
+    public EventStreamHub(
+            ObjectMapper objectMapper,
+            @Value("${app.stream.dispatch-threads:4}") int threads,
+            @Value("${app.stream.buffer-size:32}") int bufferSize,
+            @Value("${app.stream.timeout:1800000}") long timeout,
+            @Value("${app.stream.max-subscribers:10000}") int maxSubscribers,
+            @Value("${app.stream.max-per-user:3}") int maxPerUser,
+            @Value("${app.stream.send-timeout:10000}") long sendTimeout) {
+        this.objectMapper = objectMapper;
+        AtomicInteger count = new AtomicInteger();
+        // Each subscriber has at most one drain task queued, so the queue is bounded by the subscriber limit
+        this.dispatcher = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            task -> {
+                Thread thread = new Thread(task, "event-stream-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        this.maxSubscribers = maxSubscribers;
+        this.maxPerUser = maxPerUser;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeout);
+    }
+
+    // ========== Subscribing ==========
+
+    /**
+     * Opens a stream for the user.
+     *
+     * @throws TooManyRequestsException if the user or the server has too many open streams
+     */
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeout);
+        Subscriber subscriber = register(userId, emitter);
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> unregister(subscriber));
+        emitter.onError(error -> unregister(subscriber));
+        subscriber.offer(SseEmitter.event().name("ready").reconnectTime(RECONNECT_DELAY).data("subscribed").build());
+        return emitter;
+    }
+
+    Subscriber register(Long userId, SseEmitter emitter) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new TooManyRequestsException("Too many open event streams, please retry shortly", RECONNECT_DELAY / 1000);
+        }
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        AtomicBoolean added = new AtomicBoolean();
+        subscribersByUser.compute(userId, (id, subscribers) -> {
+            Set<Subscriber> current = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            if (current.size() < maxPerUser) {
+                added.set(current.add(subscriber));
+            }
+            return current;
+        });
+        if (!added.get()) {
+            subscriberCount.decrementAndGet();
+            throw new TooManyRequestsException("Too many open event streams for this account", RECONNECT_DELAY / 1000);
+        }
+        return subscriber;
+    }
+
+    private void unregister(Subscriber subscriber) {
+        subscriber.closed = true;
+        AtomicBoolean removed = new AtomicBoolean();
+        subscribersByUser.computeIfPresent(subscriber.userId, (id, subscribers) -> {
+            removed.set(subscribers.remove(subscriber));
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+        if (removed.get()) {
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    // ========== Publishing ==========
+
+    /**
+     * Sends the event to every subscriber once the current transaction commits.
+     */
+    public void publishToAll(String name, Object payload) {
+        AfterCommit.run(() -> {
+            Set<DataWithMediaType> frame = frame(name, payload);
+            subscribersByUser.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.offer(frame)));
+        });
+    }
+
+    /**
+     * Sends the event to the user's own streams once the current transaction commits.
+     */
+    public void publishToUser(Long userId, String name, Object payload) {
+        AfterCommit.run(() -> {
+            Set<Subscriber> subscribers = subscribersByUser.get(userId);
+            if (subscribers != null && !subscribers.isEmpty()) {
+                Set<DataWithMediaType> frame = frame(name, payload);
+                subscribers.forEach(subscriber -> subscriber.offer(frame));
+            }
+        });
+    }
+
+    @Scheduled(
+        fixedDelayString = "${app.stream.heartbeat-interval:20000}",
+        initialDelayString = "${app.stream.heartbeat-interval:20000}")
+    public void heartbeat() {
+        Set<DataWithMediaType> frame = SseEmitter.event().comment("heartbeat").build();
+        subscribersByUser.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.offer(frame)));
+    }
+
+    /**
+     * Disconnects clients whose current send has been blocked for longer than
+     * the send timeout. The emitter cannot be completed while the send holds
+     * it, so the stuck thread is replaced instead and released once the
+     * container's write timeout fails the send.
+     */
+    @Scheduled(
+        fixedDelayString = "${app.stream.send-timeout:10000}",
+        initialDelayString = "${app.stream.send-timeout:10000}")
+    public void evictStuckSends() {
+        long now = System.nanoTime();
+        List<Subscriber> stuck = new ArrayList<>();
+        subscribersByUser.values().forEach(subscribers -> subscribers.forEach(subscriber -> {
+            if (subscriber.markStuck(now)) {
+                stuck.add(subscriber);
+            }
+        }));
+        for (Subscriber subscriber : stuck) {
+            log.debug("Disconnecting event stream consumer for user {} stuck in a send", subscriber.userId);
+            resizeDispatcher(1);
+            evict(subscriber);
+        }
+    }
+
+    private synchronized void resizeDispatcher(int change) {
+        int size = dispatcher.getCorePoolSize() + change;
+        if (change > 0) {
+            dispatcher.setMaximumPoolSize(size);
+            dispatcher.setCorePoolSize(size);
+        } else {
+            dispatcher.setCorePoolSize(size);
+            dispatcher.setMaximumPoolSize(size);
+        }
+    }
+
+    private Set<DataWithMediaType> frame(String name, Object payload) {
+        try {
+            return SseEmitter.event()
+                .id(String.valueOf(eventIds.incrementAndGet()))
+                .name(name)
+                .data(objectMapper.writeValueAsString(payload))
+                .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + name + " event", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        List<Subscriber> open = new ArrayList<>();
+        subscribersByUser.values().forEach(open::addAll);
+        open.forEach(this::evict);
+        dispatcher.shutdown();
+    }
+
+    // Completion runs on the dispatcher, since it waits for a send that may be stuck on the socket
+    private void evict(Subscriber subscriber) {
+        unregister(subscriber);
+        subscriber.schedule();
+    }
+
+    final class Subscriber {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+        private boolean completed;
+        // Guarded by this; sendStartedAt is 0 while no send is running
+        private long sendStartedAt;
+        private boolean stuck;
+
+        private Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(Set<DataWithMediaType> frame) {
+            if (closed) {
+                return;
+            }
+            if (!buffer.offer(frame)) {
+                log.debug("Disconnecting slow event stream consumer for user {}", userId);
+                evict(this);
+                return;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::drain);
+                } catch (RuntimeException e) {
+                    // Shutting down
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<DataWithMediaType> frame;
+                while (!closed && (frame = buffer.poll()) != null) {
+                    sendStarted();
+                    try {
+                        emitter.send(frame);
+                    } finally {
+                        sendFinished();
+                    }
+                }
+                if (closed && !completed) {
+                    completed = true;
+                    buffer.clear();
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the container reports it through the completion callbacks as well
+                unregister(this);
+            } finally {
+                draining.set(false);
+            }
+            if (!buffer.isEmpty() || (closed && !completed)) {
+                schedule();
+            }
+        }
+
+        private synchronized void sendStarted() {
+            sendStartedAt = System.nanoTime();
+        }
+
+        // Hands back the extra dispatcher thread once a send marked as stuck returns
+        private void sendFinished() {
+            boolean wasStuck;
+            synchronized (this) {
+                sendStartedAt = 0;
+                wasStuck = stuck;
+                stuck = false;
+            }
+            if (wasStuck) {
+                resizeDispatcher(-1);
+            }
+        }
+
+        private synchronized boolean markStuck(long now) {
+            if (stuck || sendStartedAt == 0 || now - sendStartedAt <= sendTimeoutNanos) {
+                return false;
+            }
+            stuck = true;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.dormex.service;
+
+import com.dormex.exception.BadRequestException;
+import com.dormex.exception.ResourceNotFoundException;
+import com.dormex.repository.ComplaintRepository;
+import com.dormex.repository.RoomRepository;
+import com.dormex.repository.StudentRepository;
+import com.dormex.repository.projection.ComplaintExportView;
+import com.dormex.repository.projection.RoomExportView;
+import com.dormex.repository.projection.StudentExportView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Streams whole tables as CSV or NDJSON.
+ *
+ * Rows come from forward-only projection queries with a JDBC fetch size and
+ * are written as soon as they are read, so memory use does not grow with the
+ * table. Projections are not managed entities, so the persistence context
+ * stays empty however many rows pass through it.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    private static final List<Column<StudentExportView>> STUDENT_COLUMNS = List.of(
+        new Column<>("id", StudentExportView::getId),
+        new Column<>("rollNumber", StudentExportView::getRollNumber),
+        new Column<>("name", StudentExportView::getName),
+        new Column<>("email", StudentExportView::getEmail),
+        new Column<>("phone", StudentExportView::getPhone),
+        new Column<>("department", StudentExportView::getDepartment),
+        new Column<>("year", StudentExportView::getYear),
+        new Column<>("status", StudentExportView::getStatus),
+        new Column<>("block", StudentExportView::getBlockName),
+        new Column<>("room", StudentExportView::getRoomNumber),
+        new Column<>("joiningDate", StudentExportView::getJoiningDate),
+        new Column<>("leavingDate", StudentExportView::getLeavingDate)
+    );
+
+    private static final List<Column<RoomExportView>> ROOM_COLUMNS = List.of(
+        new Column<>("id", RoomExportView::getId),
+        new Column<>("block", RoomExportView::getBlockName),
+        new Column<>("roomNumber", RoomExportView::getRoomNumber),
+        new Column<>("floor", RoomExportView::getFloor),
+        new Column<>("roomType", RoomExportView::getRoomType),
+        new Column<>("capacity", RoomExportView::getCapacity),
+        new Column<>("currentOccupancy", RoomExportView::getCurrentOccupancy),
+        new Column<>("status", RoomExportView::getStatus),
+        new Column<>("amenities", RoomExportView::getAmenities)
+    );
+
+    private static final List<Column<ComplaintExportView>> COMPLAINT_COLUMNS = List.of(
+        new Column<>("id", ComplaintExportView::getId),
+        new Column<>("createdAt", ComplaintExportView::getCreatedAt),
+        new Column<>("rollNumber", ComplaintExportView::getRollNumber),
+        new Column<>("studentName", ComplaintExportView::getStudentName),
+        new Column<>("category", ComplaintExportView::getCategory),
+        new Column<>("title", ComplaintExportView::getTitle),
+        new Column<>("description", ComplaintExportView::getDescription),
+        new Column<>("status", ComplaintExportView::getStatus),
+        new Column<>("adminRemarks", ComplaintExportView::getAdminRemarks),
+        new Column<>("resolvedAt", ComplaintExportView::getResolvedAt)
+    );
+
+    private final StudentRepository studentRepository;
+    private final RoomRepository roomRepository;
+    private final ComplaintRepository complaintRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Writes the export to the stream. The read-only transaction holds the
+     * cursor open until the last row is written.
+     */
+    @Transactional(readOnly = true)
+    public void export(Dataset dataset, Format format, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        switch (dataset) {
+            case STUDENTS -> write(studentRepository.streamForExport(), STUDENT_COLUMNS, format, writer);
+            case ROOMS -> write(roomRepository.streamForExport(), ROOM_COLUMNS, format, writer);
+            case COMPLAINTS -> write(complaintRepository.streamForExport(), COMPLAINT_COLUMNS, format, writer);
+        }
+        writer.flush();
+    }
+
+    private <V> void write(Stream<V> rows, List<Column<V>> columns, Format format, Writer writer) throws IOException {
+        try (rows) {
+            Iterator<V> iterator = rows.iterator();
+            if (format == Format.CSV) {
+                CsvWriter csv = new CsvWriter(writer);
+                csv.writeRecord(columns.stream().map(Column::name).toList());
+                while (iterator.hasNext()) {
+                    V row = iterator.next();
+                    csv.writeRecord(columns.stream().map(column -> column.value().apply(row)).toList());
+                }
+            } else {
+                while (iterator.hasNext()) {
+                    V row = iterator.next();
+                    Map<String, Object> object = new LinkedHashMap<>();
+                    columns.forEach(column -> object.put(column.name(), column.value().apply(row)));
+                    writer.write(objectMapper.writeValueAsString(object));
+                    writer.write('\n');
+                }
+            }
+        }
+    }
+
+    public enum Dataset {
+        STUDENTS,
+        ROOMS,
+        COMPLAINTS;
+
+        public static Dataset from(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new ResourceNotFoundException("Export", "type", name);
+            }
+        }
+    }
+
+    public enum Format {
+        CSV("text/csv;charset=UTF-8", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public static Format from(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Unsupported export format: " + name);
+            }
+        }
+    }
+
+    private record Column<V>(String name, Function<V, Object> value) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.dormex.service;
+
+import com.dormex.exception.BadRequestException;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a (createdAt, id) ordered listing, encoded as an opaque
+ * URL-safe token for clients.
+ */
+record KeysetCursor(LocalDateTime createdAt, long id) {
+
+    // Start positions for descending and ascending scans (within MySQL DATETIME range)
+    static final KeysetCursor LATEST = new KeysetCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+    static final KeysetCursor EARLIEST = new KeysetCursor(LocalDateTime.of(1000, 1, 1, 0, 0), 0L);
+
+    private static final char SEPARATOR = '|';
+
+    static KeysetCursor decode(String token, KeysetCursor start) {
+        if (!StringUtils.hasText(token)) {
+            return start;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new BadRequestException("Invalid page cursor");
+            }
+            return new KeysetCursor(
+                LocalDateTime.parse(raw.substring(0, separator)),
+                Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid page cursor");
+        }
+    }
+
+    String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,75 @@
+package com.dormex.service;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Holds an in-memory index that is written after commit and periodically
+ * rebuilt from the database.
+ *
+ * A rebuild loads the fresh index without holding any lock, so writes never
+ * wait for its queries. Writes that land meanwhile go to the live index and
+ * are recorded; just before the swap they are replayed onto the fresh one,
+ * so none is lost with the old index. A replayed write may already be in the
+ * loaded data, so writes must be safe to apply twice. The index itself must
+ * be safe for concurrent writes.
+ */
+final class LiveIndex<T> {
+
+    // Writes share the read side; the write side only marks the start of a rebuild and swaps
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile T current;
+    private Queue<Consumer<T>> recorded;
+
+    LiveIndex(T initial) {
+        this.current = initial;
+    }
+
+    T current() {
+        return current;
+    }
+
+    void afterCommit(Consumer<T> write) {
+        AfterCommit.run(() -> {
+            lock.readLock().lock();
+            try {
+                write.accept(current);
+                if (recorded != null) {
+                    recorded.add(write);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    synchronized T rebuild(Supplier<T> loader) {
+        exclusively(() -> recorded = new ConcurrentLinkedQueue<>());
+        T fresh;
+        try {
+            fresh = loader.get();
+        } catch (RuntimeException e) {
+            exclusively(() -> recorded = null);
+            throw e;
+        }
+        exclusively(() -> {
+            recorded.forEach(write -> write.accept(fresh));
+            current = fresh;
+            recorded = null;
+        });
+        return fresh;
+    }
+
+    private void exclusively(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
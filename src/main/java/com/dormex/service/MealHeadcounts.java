@@ -0,0 +1,173 @@
+package com.dormex.service;
+
+import com.dormex.entity.enums.MealType;
+import com.dormex.entity.enums.StudentStatus;
+import com.dormex.repository.MealOptOutRepository;
+import com.dormex.repository.StudentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Opt-out bitsets behind the meal headcounts.
+ *
+ * One bitset holds the active students and one per (date, meal) holds the
+ * students who opted out, both indexed by student id. A headcount is the
+ * popcount of active students less the popcount of active opt-outs, with no
+ * COUNT(*) queries. Opt-out and student status writes flip single bits after
+ * commit; a rebuild on app.meals.rebuild-interval corrects any drift and
+ * drops meals older than a week. It loads without holding the lock and
+ * replays the bit flips recorded meanwhile onto the new sets.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MealHeadcounts {
+
+    // Past meals stay long enough to record their attendance against them
+    static final int RETAINED_DAYS = 7;
+
+    private final StudentRepository studentRepository;
+    private final MealOptOutRepository optOutRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private BitSet active = new BitSet();
+    private Map<Meal, BitSet> optOuts = new HashMap<>();
+    // Flips applied while a rebuild loads; null otherwise
+    private List<Runnable> recorded;
+
+    /**
+     * Students eating the meal: those active now, less those of them who opted out.
+     */
+    public record Headcount(int enrolled, int optedOut) {
+
+        public int expected() {
+            return enrolled - optedOut;
+        }
+    }
+
+    public Headcount headcount(LocalDate date, MealType mealType) {
+        lock.readLock().lock();
+        try {
+            int enrolled = active.cardinality();
+            BitSet optedOut = optOuts.get(new Meal(date, mealType));
+            if (optedOut == null) {
+                return new Headcount(enrolled, 0);
+            }
+            BitSet activeOptedOut = (BitSet) optedOut.clone();
+            activeOptedOut.and(active);
+            return new Headcount(enrolled, activeOptedOut.cardinality());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ========== Write Side ==========
+
+    public void optedOut(Long studentId, LocalDate date, MealType mealType) {
+        AfterCommit.run(() -> write(() ->
+            optOuts.computeIfAbsent(new Meal(date, mealType), meal -> new BitSet()).set(bit(studentId))));
+    }
+
+    public void optOutCancelled(Long studentId, LocalDate date, MealType mealType) {
+        AfterCommit.run(() -> write(() -> {
+            BitSet optedOut = optOuts.get(new Meal(date, mealType));
+            if (optedOut != null) {
+                optedOut.clear(bit(studentId));
+            }
+        }));
+    }
+
+    public void studentStatusChanged(Long studentId, StudentStatus status) {
+        AfterCommit.run(() -> write(() -> active.set(bit(studentId), status == StudentStatus.ACTIVE)));
+    }
+
+    public void studentDeleted(Long studentId) {
+        AfterCommit.run(() -> write(() -> {
+            active.clear(bit(studentId));
+            optOuts.values().forEach(optedOut -> optedOut.clear(bit(studentId)));
+        }));
+    }
+
+    // ========== Rebuild ==========
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(
+        fixedDelayString = "${app.meals.rebuild-interval:600000}",
+        initialDelayString = "${app.meals.rebuild-interval:600000}")
+    public void reindex() {
+        rebuild();
+    }
+
+    /*
+     * Loads without the lock, so headcounts and bit flips never wait for the
+     * queries. Flips that land meanwhile are recorded and replayed onto the
+     * new sets when they are swapped in; a flip is idempotent, so replaying
+     * one the loaded rows already contain changes nothing.
+     */
+    public synchronized void rebuild() {
+        locked(() -> recorded = new ArrayList<>());
+        BitSet freshActive = new BitSet();
+        Map<Meal, BitSet> freshOptOuts = new HashMap<>();
+        try {
+            studentRepository.findIdsByStatus(StudentStatus.ACTIVE).forEach(id -> freshActive.set(bit(id)));
+            optOutRepository.findFrom(LocalDate.now().minusDays(RETAINED_DAYS)).forEach(optOut ->
+                freshOptOuts.computeIfAbsent(new Meal(optOut.getMealDate(), optOut.getMealType()), meal -> new BitSet())
+                    .set(bit(optOut.getStudentId())));
+        } catch (RuntimeException e) {
+            locked(() -> recorded = null);
+            throw e;
+        }
+
+        locked(() -> {
+            active = freshActive;
+            optOuts = freshOptOuts;
+            recorded.forEach(Runnable::run);
+            recorded = null;
+        });
+        log.debug("Meal headcounts rebuilt with {} active students and {} meals with opt-outs",
+            freshActive.cardinality(), freshOptOuts.size());
+    }
+
+    // The change reads the fields when it runs, so a replay applies it to the swapped in sets
+    private void write(Runnable change) {
+        locked(() -> {
+            change.run();
+            if (recorded != null) {
+                recorded.add(change);
+            }
+        });
+    }
+
+    private void locked(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static int bit(Long studentId) {
+        return Math.toIntExact(studentId);
+    }
+
+    private record Meal(LocalDate date, MealType mealType) {
+    }
+}
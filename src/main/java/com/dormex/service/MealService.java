@@ -0,0 +1,223 @@
+package com.dormex.service;
+
+import com.dormex.dto.meal.*;
+import com.dormex.dto.menu.DailyMenuResponse;
+import com.dormex.dto.menu.MenuResponse;
+import com.dormex.entity.MealAttendance;
+import com.dormex.entity.MealOptOut;
+import com.dormex.entity.Student;
+import com.dormex.entity.enums.DayOfWeek;
+import com.dormex.entity.enums.MealType;
+import com.dormex.entity.enums.StudentStatus;
+import com.dormex.exception.BadRequestException;
+import com.dormex.exception.ResourceNotFoundException;
+import com.dormex.repository.MealAttendanceRepository;
+import com.dormex.repository.MealOptOutRepository;
+import com.dormex.repository.StudentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class MealService {
+
+    private final MealOptOutRepository optOutRepository;
+    private final MealAttendanceRepository attendanceRepository;
+    private final StudentRepository studentRepository;
+    private final MealHeadcounts mealHeadcounts;
+    private final MenuCalendar menuCalendar;
+
+    @Value("${app.meals.opt-out-horizon-days:14}")
+    private int optOutHorizonDays;
+
+    @Value("${app.meals.forecast-weeks:8}")
+    private int forecastWeeks;
+
+    // ========== Opt-outs (Student) ==========
+
+    @Transactional
+    public MealOptOutResponse optOut(Long userId, MealOptOutRequest request) {
+        Student student = activeStudent(userId);
+        checkUpcoming(request.getDate());
+        checkServed(request.getDate(), request.getMealType());
+
+        // Opting out twice is harmless, even when both requests arrive at once
+        int inserted = optOutRepository.insertIfAbsent(student.getId(), request.getDate(),
+                request.getMealType().name(), LocalDateTime.now());
+        MealOptOut optOut = optOutRepository
+                .findForShare(student.getId(), request.getDate(), request.getMealType())
+                .orElseThrow(() -> new ResourceNotFoundException("Opt-out not found for "
+                        + request.getMealType() + " on " + request.getDate()));
+        if (inserted > 0) {
+            mealHeadcounts.optedOut(student.getId(), request.getDate(), request.getMealType());
+        }
+        return MealOptOutResponse.fromEntity(optOut);
+    }
+
+    @Transactional
+    public void cancelOptOut(Long userId, LocalDate date, MealType mealType) {
+        Student student = activeStudent(userId);
+        checkUpcoming(date);
+
+        MealOptOut optOut = optOutRepository.findByStudentIdAndMealDateAndMealType(student.getId(), date, mealType)
+                .orElseThrow(() -> new ResourceNotFoundException("Opt-out not found for " + mealType + " on " + date));
+        optOutRepository.delete(optOut);
+        mealHeadcounts.optOutCancelled(student.getId(), date, mealType);
+    }
+
+    @Transactional(readOnly = true)
+    public List<MealOptOutResponse> getMyOptOuts(Long userId) {
+        Student student = studentRepository.findByUserId(userId)
+                .orElseThrow(() -> new BadRequestException("Student profile not found"));
+        return optOutRepository
+                .findByStudentIdAndMealDateGreaterThanEqualOrderByMealDateAscMealTypeAsc(student.getId(), LocalDate.now())
+                .stream()
+                .map(MealOptOutResponse::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    // ========== Attendance (Admin) ==========
+
+    @Transactional
+    public MealAttendanceResponse recordAttendance(MealAttendanceRequest request) {
+        LocalDate today = LocalDate.now();
+        if (request.getDate().isAfter(today) || request.getDate().isBefore(today.minusDays(MealHeadcounts.RETAINED_DAYS))) {
+            throw new BadRequestException("Attendance can only be recorded for the last "
+                    + MealHeadcounts.RETAINED_DAYS + " days");
+        }
+
+        MealAttendance attendance = attendanceRepository
+                .findByMealDateAndMealType(request.getDate(), request.getMealType())
+                .orElseGet(() -> MealAttendance.builder()
+                        .mealDate(request.getDate())
+                        .mealType(request.getMealType())
+                        .build());
+        attendance.setServed(request.getServed());
+        attendance.setExpected(mealHeadcounts.headcount(request.getDate(), request.getMealType()).expected());
+        return MealAttendanceResponse.fromEntity(attendanceRepository.save(attendance));
+    }
+
+    // ========== Forecasts (Admin) ==========
+
+    /**
+     * Portions to prepare for every meal served in the next days: the students
+     * expected after opt-outs, scaled by how many expected students actually
+     * turned up to the same meal on the same weekday in recent weeks. Meals
+     * without such history fall back to that meal on any weekday, then to
+     * every expected student.
+     */
+    @Transactional(readOnly = true)
+    public List<MealForecastResponse> getForecast(int days) {
+        if (days < 1 || days > optOutHorizonDays) {
+            throw new BadRequestException("Days must be between 1 and " + optOutHorizonDays);
+        }
+        LocalDate today = LocalDate.now();
+        History history = new History(attendanceRepository.findByMealDateBetween(
+                today.minusWeeks(forecastWeeks), today.minusDays(1)));
+
+        List<MealForecastResponse> forecast = new ArrayList<>();
+        for (LocalDate date = today; date.isBefore(today.plusDays(days)); date = date.plusDays(1)) {
+            DailyMenuResponse menu = menuCalendar.menu(date);
+            for (MenuResponse meal : menu.getMeals()) {
+                MealHeadcounts.Headcount headcount = mealHeadcounts.headcount(date, meal.getMealType());
+                Rate rate = history.rate(menu.getDay(), meal.getMealType());
+                forecast.add(MealForecastResponse.builder()
+                        .date(date)
+                        .day(menu.getDay())
+                        .mealType(meal.getMealType())
+                        .items(meal.getItemList())
+                        .enrolled(headcount.enrolled())
+                        .optedOut(headcount.optedOut())
+                        .expected(headcount.expected())
+                        .attendanceRate(rate.value())
+                        .samples(rate.samples())
+                        .portions((int) Math.ceil(headcount.expected() * rate.value()))
+                        .build());
+            }
+        }
+        return forecast;
+    }
+
+    // ========== Helper Methods ==========
+
+    private Student activeStudent(Long userId) {
+        Student student = studentRepository.findByUserId(userId)
+                .orElseThrow(() -> new BadRequestException("Student profile not found"));
+        if (student.getStatus() != StudentStatus.ACTIVE) {
+            throw new BadRequestException("Only active students can change their meals");
+        }
+        return student;
+    }
+
+    private void checkUpcoming(LocalDate date) {
+        LocalDate today = LocalDate.now();
+        if (date.isBefore(today) || date.isAfter(today.plusDays(optOutHorizonDays))) {
+            throw new BadRequestException("Meals can only be changed from today up to "
+                    + optOutHorizonDays + " days ahead");
+        }
+    }
+
+    private void checkServed(LocalDate date, MealType mealType) {
+        boolean served = menuCalendar.menu(date).getMeals().stream()
+                .anyMatch(meal -> meal.getMealType() == mealType);
+        if (!served) {
+            throw new BadRequestException("No " + mealType + " is served on " + date);
+        }
+    }
+
+    private record Rate(double value, int samples) {
+
+        static final Rate NONE = new Rate(1.0, 0);
+
+        static Rate of(int served, int expected, int samples) {
+            return expected > 0 ? new Rate((double) served / expected, samples) : NONE;
+        }
+    }
+
+    private static class History {
+
+        private final Map<DayOfWeek, Map<MealType, Totals>> byDay = new EnumMap<>(DayOfWeek.class);
+        private final Map<MealType, Totals> byMeal = new EnumMap<>(MealType.class);
+
+        History(List<MealAttendance> records) {
+            for (MealAttendance record : records) {
+                DayOfWeek day = DayOfWeek.valueOf(record.getMealDate().getDayOfWeek().name());
+                byDay.computeIfAbsent(day, d -> new HashMap<>())
+                        .computeIfAbsent(record.getMealType(), m -> new Totals()).add(record);
+                byMeal.computeIfAbsent(record.getMealType(), m -> new Totals()).add(record);
+            }
+        }
+
+        Rate rate(DayOfWeek day, MealType mealType) {
+            Totals totals = byDay.getOrDefault(day, Map.of()).get(mealType);
+            if (totals == null || totals.expected == 0) {
+                totals = byMeal.get(mealType);
+            }
+            return totals != null ? Rate.of(totals.served, totals.expected, totals.samples) : Rate.NONE;
+        }
+    }
+
+    private static class Totals {
+
+        private int served;
+        private int expected;
+        private int samples;
+
+        void add(MealAttendance record) {
+            served += record.getServed();
+            expected += record.getExpected();
+            samples++;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.dormex.service;
+
+import com.dormex.dto.ApiResponse;
+import com.dormex.dto.menu.DailyMenuResponse;
+import com.dormex.dto.menu.MenuResponse;
+import com.dormex.entity.MenuOverride;
+import com.dormex.entity.MessMenu;
+import com.dormex.entity.enums.DayOfWeek;
+import com.dormex.entity.enums.MealType;
+import com.dormex.repository.MenuOverrideRepository;
+import com.dormex.repository.MessMenuRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Pre-rendered JSON for the menu read endpoints.
+ *
+ * Holds the weekly template and a resolved calendar for the next
+ * app.menu.calendar-days days, in which dated overrides replace template
+ * meals. Every entry is serialized once with a strong ETag over its menu
+ * data, so the weekly menu, today and any date in the window are map
+ * lookups with no SQL or Jackson work. Menu writes record what they touched
+ * after commit; the next read reloads only the changed table and re-renders
+ * only the affected dates. The window moves forward on the first read of
+ * each day, and dates outside it are resolved on demand.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MenuCalendar {
+
+    private final MessMenuRepository menuRepository;
+    private final MenuOverrideRepository overrideRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.menu.calendar-days:30}")
+    private int calendarDays;
+
+    private volatile Snapshot snapshot;
+
+    // Guarded by this: the last snapshot once it is stale, and the changes made since
+    private Snapshot previous;
+    private final Set<DayOfWeek> changedDays = EnumSet.noneOf(DayOfWeek.class);
+    private final List<DateRange> changedRanges = new ArrayList<>();
+
+    /**
+     * A rendered response body and the ETag of the data inside it.
+     */
+    public record RenderedMenu(byte[] body, String eTag) {
+    }
+
+    public RenderedMenu weekly() {
+        return current(LocalDate.now()).weekly();
+    }
+
+    public RenderedMenu date(LocalDate date) {
+        ResolvedDay day = current(LocalDate.now()).dates().get(date);
+        return day != null ? day.rendered() : render(resolveOutsideWindow(date));
+    }
+
+    /**
+     * The date's menu without the given dishes (see {@link MenuItemIndex#key}),
+     * listing the remaining dishes that are not tagged, since nothing is known
+     * about what they contain. Rendered per call, since every combination of
+     * exclusions differs.
+     */
+    public RenderedMenu date(LocalDate date, Set<String> excludedItems, Predicate<String> tagged) {
+        DailyMenuResponse menu = menu(date);
+        return render(DailyMenuResponse.builder()
+            .day(menu.getDay())
+            .date(menu.getDate())
+            .meals(menu.getMeals().stream().map(meal -> without(meal, excludedItems, tagged)).toList())
+            .build());
+    }
+
+    /**
+     * The meals served on the date, with dated overrides applied.
+     */
+    public DailyMenuResponse menu(LocalDate date) {
+        ResolvedDay day = current(LocalDate.now()).dates().get(date);
+        return day != null ? day.menu() : resolveOutsideWindow(date);
+    }
+
+    // ========== Write Side ==========
+
+    public void templateChanged(DayOfWeek day) {
+        AfterCommit.run(() -> changed(day, null));
+    }
+
+    public void overrideChanged(LocalDate from, LocalDate to) {
+        DateRange range = new DateRange(from, to);
+        AfterCommit.run(() -> changed(null, range));
+    }
+
+    // Shares the render lock, so a render that read the old rows can never be installed after this
+    private synchronized void changed(DayOfWeek day, DateRange range) {
+        if (snapshot != null) {
+            previous = snapshot;
+            snapshot = null;
+        }
+        if (day != null) {
+            changedDays.add(day);
+        }
+        if (range != null) {
+            changedRanges.add(range);
+        }
+    }
+
+    // ========== Rendering ==========
+
+    private Snapshot current(LocalDate today) {
+        Snapshot current = snapshot;
+        if (current != null && current.firstDate().equals(today)) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current == null || !current.firstDate().equals(today)) {
+                current = refresh(today, current != null ? current : previous);
+                snapshot = current;
+                previous = null;
+                changedDays.clear();
+                changedRanges.clear();
+            }
+            return current;
+        }
+    }
+
+    private Snapshot refresh(LocalDate today, Snapshot base) {
+        LocalDate lastDate = today.plusDays(calendarDays - 1L);
+        boolean templateStale = base == null || !changedDays.isEmpty();
+        boolean overridesStale = base == null || !changedRanges.isEmpty() || !base.firstDate().equals(today);
+
+        Map<DayOfWeek, List<MenuResponse>> template = templateStale ? loadTemplate() : base.template();
+        List<MenuOverride> overrides = overridesStale ? overrideRepository.findInRange(today, lastDate) : base.overrides();
+        RenderedMenu weekly = templateStale ? renderWeekly(template) : base.weekly();
+
+        Map<LocalDate, ResolvedDay> dates = new HashMap<>();
+        int rendered = 0;
+        for (LocalDate date = today; !date.isAfter(lastDate); date = date.plusDays(1)) {
+            ResolvedDay entry = base != null && !changed(date) ? base.dates().get(date) : null;
+            if (entry == null) {
+                DailyMenuResponse menu = resolveDate(date, template.getOrDefault(dayOf(date), List.of()), overrides);
+                entry = new ResolvedDay(menu, render(menu));
+                rendered++;
+            }
+            dates.put(date, entry);
+        }
+        log.debug("Menu calendar refreshed from {}: {} of {} dates rendered", today, rendered, dates.size());
+        return new Snapshot(today, template, overrides, weekly, dates);
+    }
+
+    private boolean changed(LocalDate date) {
+        return changedDays.contains(dayOf(date)) || changedRanges.stream().anyMatch(range -> range.covers(date));
+    }
+
+    private Map<DayOfWeek, List<MenuResponse>> loadTemplate() {
+        return menuRepository.findAllByOrderByDayOfWeekAscMealTypeAsc().stream()
+            .collect(Collectors.groupingBy(MessMenu::getDayOfWeek,
+                () -> new EnumMap<>(DayOfWeek.class),
+                Collectors.mapping(MenuResponse::fromEntity, Collectors.toList())));
+    }
+
+    private RenderedMenu renderWeekly(Map<DayOfWeek, List<MenuResponse>> template) {
+        List<DailyMenuResponse> week = Arrays.stream(DayOfWeek.values())
+            .map(day -> DailyMenuResponse.builder()
+                .day(day)
+                .meals(template.getOrDefault(day, List.of()))
+                .build())
+            .toList();
+        return render("Weekly menu retrieved", week);
+    }
+
+    private DailyMenuResponse resolveOutsideWindow(LocalDate date) {
+        List<MenuResponse> meals = menuRepository.findByDayOfWeekOrderByMealType(dayOf(date)).stream()
+            .map(MenuResponse::fromEntity)
+            .toList();
+        return resolveDate(date, meals, overrideRepository.findInRange(date, date));
+    }
+
+    // Overrides covering the date replace the template meal of the same type
+    private DailyMenuResponse resolveDate(LocalDate date, List<MenuResponse> templateMeals, List<MenuOverride> overrides) {
+        DayOfWeek day = dayOf(date);
+        Map<MealType, MenuResponse> meals = new EnumMap<>(MealType.class);
+        templateMeals.forEach(meal -> meals.put(meal.getMealType(), meal));
+        overrides.stream()
+            .filter(override -> override.covers(date))
+            .forEach(override -> meals.put(override.getMealType(), MenuResponse.fromOverride(override, day)));
+
+        return DailyMenuResponse.builder()
+            .day(day)
+            .date(date)
+            .meals(List.copyOf(meals.values()))
+            .build();
+    }
+
+    private static MenuResponse without(MenuResponse meal, Set<String> excludedItems, Predicate<String> tagged) {
+        List<String> kept = meal.getItemList().stream()
+            .filter(item -> !excludedItems.contains(MenuItemIndex.key(item)))
+            .toList();
+        return meal.toBuilder()
+            .items(String.join(", ", kept))
+            .itemList(kept)
+            .untaggedItems(kept.stream().filter(item -> !tagged.test(MenuItemIndex.key(item))).toList())
+            .build();
+    }
+
+    private RenderedMenu render(DailyMenuResponse menu) {
+        return render("Menu retrieved for " + menu.getDate(), menu);
+    }
+
+    // The ETag covers the data only, so it survives re-renders of an unchanged menu
+    private RenderedMenu render(String message, Object data) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(ApiResponse.success(message, data));
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(data));
+            return new RenderedMenu(body, "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"");
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not render menu", e);
+        }
+    }
+
+    private static DayOfWeek dayOf(LocalDate date) {
+        return DayOfWeek.valueOf(date.getDayOfWeek().name());
+    }
+
+    private record DateRange(LocalDate from, LocalDate to) {
+
+        boolean covers(LocalDate date) {
+            return !date.isBefore(from) && !date.isAfter(to);
+        }
+    }
+
+    private record Snapshot(LocalDate firstDate, Map<DayOfWeek, List<MenuResponse>> template,
+                            List<MenuOverride> overrides, RenderedMenu weekly, Map<LocalDate, ResolvedDay> dates) {
+    }
+
+    private record ResolvedDay(DailyMenuResponse menu, RenderedMenu rendered) {
+    }
+}
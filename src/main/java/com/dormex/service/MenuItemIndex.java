@@ -0,0 +1,216 @@
+package com.dormex.service;
+
+import com.dormex.dto.menu.MenuItemMatch;
+import com.dormex.entity.MenuItem;
+import com.dormex.entity.MenuOverride;
+import com.dormex.entity.MessMenu;
+import com.dormex.entity.enums.DayOfWeek;
+import com.dormex.entity.enums.FoodTag;
+import com.dormex.entity.enums.MealType;
+import com.dormex.repository.MenuItemRepository;
+import com.dormex.repository.MenuOverrideRepository;
+import com.dormex.repository.MessMenuRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted index over the weekly menu and the current and upcoming overrides.
+ *
+ * Every word of every dish name and every diet or allergen tag maps to the
+ * dishes carrying it, and every dish maps to the (day, meal) slots and dated
+ * overrides serving it. Item searches and allergen filters are set lookups
+ * with no SQL and no scanning of the comma-separated item lists. Menu,
+ * override and catalog writes rebuild it after commit; all three tables are
+ * small. Overrides that end while it is built are skipped at search time.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MenuItemIndex {
+
+    // Weekly slots by day first, then overrides by date
+    private static final Comparator<MenuItemMatch> SLOT_ORDER = Comparator
+        .comparing(MenuItemMatch::getStartDate, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(MenuItemMatch::getDayOfWeek, Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparing(MenuItemMatch::getMealType)
+        .thenComparing(MenuItemMatch::getItem);
+
+    private final MessMenuRepository menuRepository;
+    private final MenuItemRepository itemRepository;
+    private final MenuOverrideRepository overrideRepository;
+
+    private volatile Index index = new Index(Map.of(), Map.of(), Map.of(), Map.of());
+
+    // ========== Write Side ==========
+
+    /**
+     * Rebuilds after the current transaction commits. However many writes in
+     * one transaction ask for it, the index is rebuilt once.
+     */
+    public void refresh() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            rebuild();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                rebuild();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(MenuItemIndex.this);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    // Serialized, so the last rebuild to finish is also the last one to read
+    public synchronized void rebuild() {
+        Map<String, Set<FoodTag>> tagsByItem = new HashMap<>();
+        Map<FoodTag, Set<String>> itemsByTag = new EnumMap<>(FoodTag.class);
+        for (MenuItem item : itemRepository.findAllWithTags()) {
+            tagsByItem.put(item.getNameKey(), Set.copyOf(item.getTags()));
+            item.getTags().forEach(tag -> itemsByTag.computeIfAbsent(tag, t -> new HashSet<>()).add(item.getNameKey()));
+        }
+
+        Map<String, Set<String>> itemsByWord = new HashMap<>();
+        Map<String, List<Slot>> slotsByItem = new HashMap<>();
+        for (MessMenu menu : menuRepository.findAllByOrderByDayOfWeekAscMealTypeAsc()) {
+            for (String name : items(menu.getItems())) {
+                add(itemsByWord, slotsByItem, name,
+                    new Slot(menu.getDayOfWeek(), menu.getMealType(), menu.getId(), null, null, null, name));
+            }
+        }
+        for (MenuOverride override : overrideRepository.findByEndDateGreaterThanEqualOrderByStartDateAscMealTypeAsc(LocalDate.now())) {
+            for (String name : items(override.getItems())) {
+                add(itemsByWord, slotsByItem, name, new Slot(null, override.getMealType(), null, override.getId(),
+                    override.getStartDate(), override.getEndDate(), name));
+            }
+        }
+
+        index = new Index(itemsByWord, slotsByItem, tagsByItem, itemsByTag);
+        log.debug("Menu item index rebuilt with {} dishes and {} tagged items", slotsByItem.size(), tagsByItem.size());
+    }
+
+    private static void add(Map<String, Set<String>> itemsByWord, Map<String, List<Slot>> slotsByItem, String name, Slot slot) {
+        String key = key(name);
+        slotsByItem.computeIfAbsent(key, k -> new ArrayList<>()).add(slot);
+        StudentSearchIndex.tokenize(name)
+            .forEach(word -> itemsByWord.computeIfAbsent(word, w -> new HashSet<>()).add(key));
+    }
+
+    // ========== Read Side ==========
+
+    /**
+     * Weekly menu slots serving a dish whose name contains every word of the
+     * query and that carries all of the given tags.
+     */
+    public List<MenuItemMatch> search(String query, Set<FoodTag> tags) {
+        Index current = index;
+        Set<String> matches = null;
+        for (String word : StudentSearchIndex.tokenize(query)) {
+            Set<String> items = current.itemsByWord().getOrDefault(word, Set.of());
+            matches = matches == null ? new HashSet<>(items) : retain(matches, items);
+        }
+        for (FoodTag tag : tags) {
+            Set<String> items = current.itemsByTag().getOrDefault(tag, Set.of());
+            matches = matches == null ? new HashSet<>(items) : retain(matches, items);
+        }
+        if (matches == null) {
+            return List.of();
+        }
+
+        LocalDate today = LocalDate.now();
+        List<MenuItemMatch> results = new ArrayList<>();
+        for (String key : matches) {
+            Set<FoodTag> itemTags = current.tagsByItem().getOrDefault(key, Set.of());
+            current.slotsByItem().getOrDefault(key, List.of()).stream()
+                .filter(slot -> slot.endDate() == null || !slot.endDate().isBefore(today))
+                .forEach(slot -> results.add(MenuItemMatch.builder()
+                    .dayOfWeek(slot.day())
+                    .mealType(slot.meal())
+                    .menuId(slot.menuId())
+                    .overrideId(slot.overrideId())
+                    .startDate(slot.startDate())
+                    .endDate(slot.endDate())
+                    .item(slot.name())
+                    .tags(itemTags)
+                    .build()));
+        }
+        results.sort(SLOT_ORDER);
+        return results;
+    }
+
+    /**
+     * Keys of the catalog items carrying any of the tags. Dishes missing from
+     * the catalog have no tags, so they are never excluded.
+     */
+    public Set<String> itemsTagged(Set<FoodTag> tags) {
+        Index current = index;
+        Set<String> items = new HashSet<>();
+        tags.forEach(tag -> items.addAll(current.itemsByTag().getOrDefault(tag, Set.of())));
+        return items;
+    }
+
+    /**
+     * Whether the dish has diet or allergen tags. Dishes added to the catalog
+     * from a menu start untagged until an admin reviews them.
+     */
+    public boolean tagged(String key) {
+        return !index.tagsByItem().getOrDefault(key, Set.of()).isEmpty();
+    }
+
+    // ========== Names ==========
+
+    static List<String> items(String items) {
+        if (items == null || items.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(items.trim().split("\\s*,\\s*")).filter(name -> !name.isEmpty()).toList();
+    }
+
+    // Names match regardless of case and spacing
+    static String key(String name) {
+        return name.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> retain(Set<String> matches, Set<String> items) {
+        matches.retainAll(items);
+        return matches;
+    }
+
+    private record Slot(DayOfWeek day, MealType meal, Long menuId, Long overrideId,
+                        LocalDate startDate, LocalDate endDate, String name) {
+    }
+
+    private record Index(Map<String, Set<String>> itemsByWord, Map<String, List<Slot>> slotsByItem,
+                         Map<String, Set<FoodTag>> tagsByItem, Map<FoodTag, Set<String>> itemsByTag) {
+    }
+}
@@ -0,0 +1,134 @@
+package com.dormex.service;
+
+import com.dormex.dto.menu.MenuItemMatch;
+import com.dormex.dto.menu.MenuItemRequest;
+import com.dormex.dto.menu.MenuItemResponse;
+import com.dormex.entity.MenuItem;
+import com.dormex.entity.enums.FoodTag;
+import com.dormex.exception.BadRequestException;
+import com.dormex.exception.ResourceNotFoundException;
+import com.dormex.repository.MenuItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class MenuItemService {
+
+    private final MenuItemRepository itemRepository;
+    private final MenuItemIndex menuItemIndex;
+
+    @Transactional
+    public MenuItemResponse createItem(MenuItemRequest request) {
+        String key = MenuItemIndex.key(request.getName());
+        if (itemRepository.findByNameKey(key).isPresent()) {
+            throw new BadRequestException("Menu item already exists: " + request.getName());
+        }
+
+        MenuItem item = MenuItem.builder()
+                .name(request.getName().trim())
+                .nameKey(key)
+                .tags(tags(request.getTags()))
+                .build();
+
+        item = itemRepository.save(item);
+        menuItemIndex.refresh();
+        return MenuItemResponse.fromEntity(item);
+    }
+
+    @RetryOnConflict
+    @Transactional
+    public MenuItemResponse updateItem(Long id, MenuItemRequest request, Long expectedVersion) {
+        MenuItem item = itemRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Menu item", "id", id));
+        Versions.check("Menu item", id, expectedVersion, item.getVersion());
+
+        String key = MenuItemIndex.key(request.getName());
+        itemRepository.findByNameKey(key)
+                .filter(other -> !other.getId().equals(id))
+                .ifPresent(other -> {
+                    throw new BadRequestException("Menu item already exists: " + request.getName());
+                });
+
+        item.setName(request.getName().trim());
+        item.setNameKey(key);
+        item.getTags().clear();
+        item.getTags().addAll(tags(request.getTags()));
+
+        item = itemRepository.saveAndFlush(item);
+        menuItemIndex.refresh();
+        return MenuItemResponse.fromEntity(item);
+    }
+
+    String nameKey(Long id) {
+        return itemRepository.findById(id)
+                .map(MenuItem::getNameKey)
+                .orElseThrow(() -> new ResourceNotFoundException("Menu item", "id", id));
+    }
+
+    @Transactional(readOnly = true)
+    public List<MenuItemResponse> getAllItems() {
+        return itemRepository.findAllWithTags().stream()
+                .map(MenuItemResponse::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Adds untagged catalog rows for dishes on a menu that are not in the catalog yet.
+     * Runs in the caller's transaction.
+     */
+    public void registerItems(String items) {
+        Map<String, String> namesByKey = new LinkedHashMap<>();
+        MenuItemIndex.items(items).forEach(name -> namesByKey.putIfAbsent(MenuItemIndex.key(name), name));
+        if (namesByKey.isEmpty()) {
+            return;
+        }
+        itemRepository.findByNameKeyIn(namesByKey.keySet()).forEach(item -> namesByKey.remove(item.getNameKey()));
+
+        List<MenuItem> added = namesByKey.entrySet().stream()
+                .map(entry -> MenuItem.builder().name(entry.getValue()).nameKey(entry.getKey()).build())
+                .toList();
+        if (!added.isEmpty()) {
+            itemRepository.saveAll(added);
+            menuItemIndex.refresh();
+        }
+    }
+
+    public List<MenuItemMatch> search(String item, List<String> tags) {
+        Set<FoodTag> required = parseTags(tags);
+        if ((item == null || item.isBlank()) && required.isEmpty()) {
+            throw new BadRequestException("Give an item or a tag to search for");
+        }
+        return menuItemIndex.search(item, required);
+    }
+
+    public Set<FoodTag> parseTags(List<String> values) {
+        Set<FoodTag> tags = EnumSet.noneOf(FoodTag.class);
+        if (values == null) {
+            return tags;
+        }
+        for (String value : values) {
+            if (value.isBlank()) {
+                continue;
+            }
+            try {
+                tags.add(FoodTag.parse(value));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Unknown food tag: " + value);
+            }
+        }
+        return tags;
+    }
+
+    private static Set<FoodTag> tags(Set<FoodTag> requested) {
+        return requested == null || requested.isEmpty() ? EnumSet.noneOf(FoodTag.class) : EnumSet.copyOf(requested);
+    }
+}
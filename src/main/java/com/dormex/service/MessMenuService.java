@@ -1,26 +1,37 @@
 package com.dormex.service;
 
 import com.dormex.dto.menu.*;
+import com.dormex.entity.MenuOverride;
 import com.dormex.entity.MessMenu;
 import com.dormex.entity.enums.DayOfWeek;
+import com.dormex.entity.enums.FoodTag;
 import com.dormex.entity.enums.MealType;
 import com.dormex.exception.BadRequestException;
 import com.dormex.exception.ResourceNotFoundException;
+import com.dormex.repository.MenuOverrideRepository;
 import com.dormex.repository.MessMenuRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
+import java.time.LocalDate;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class MessMenuService {
 
+    // Column length of the item lists on menus and overrides
+    private static final int MAX_ITEMS_LENGTH = 500;
+
     private final MessMenuRepository menuRepository;
+    private final MenuOverrideRepository overrideRepository;
+    private final MenuCalendar menuCalendar;
+    private final MenuItemService menuItemService;
+    private final MenuItemIndex menuItemIndex;
+    private final EventStreamHub eventStreamHub;
 
     @Transactional
     public MenuResponse createMenu(CreateMenuRequest request) {
@@ -36,13 +47,17 @@ public class MessMenuService {
                 .specialNote(request.getSpecialNote())
                 .build();
 
-        return MenuResponse.fromEntity(menuRepository.save(menu));
+        MessMenu saved = menuRepository.save(menu);
+        menuChanged(MenuChangeEvent.Change.CREATED, saved);
+        return MenuResponse.fromEntity(saved);
     }
 
+    @RetryOnConflict
     @Transactional
-    public MenuResponse updateMenu(Long id, UpdateMenuRequest request) {
+    public MenuResponse updateMenu(Long id, UpdateMenuRequest request, Long expectedVersion) {
         MessMenu menu = menuRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Menu not found"));
+        Versions.check("Menu", id, expectedVersion, menu.getVersion());
 
         if (request.getItems() != null && !request.getItems().isBlank()) {
             menu.setItems(request.getItems());
@@ -51,13 +66,18 @@ public class MessMenuService {
             menu.setSpecialNote(request.getSpecialNote());
         }
 
-        return MenuResponse.fromEntity(menuRepository.save(menu));
+        MessMenu saved = menuRepository.saveAndFlush(menu);
+        menuChanged(MenuChangeEvent.Change.UPDATED, saved);
+        return MenuResponse.fromEntity(saved);
     }
 
+    @RetryOnConflict
     @Transactional
-    public MenuResponse updateMenuByDayAndMeal(DayOfWeek day, MealType meal, UpdateMenuRequest request) {
+    public MenuResponse updateMenuByDayAndMeal(DayOfWeek day, MealType meal, UpdateMenuRequest request,
+                                               Long expectedVersion) {
         MessMenu menu = menuRepository.findByDayOfWeekAndMealType(day, meal)
                 .orElseThrow(() -> new ResourceNotFoundException("Menu not found for " + day + " " + meal));
+        Versions.check("Menu", menu.getId(), expectedVersion, menu.getVersion());
 
         if (request.getItems() != null && !request.getItems().isBlank()) {
             menu.setItems(request.getItems());
@@ -66,7 +86,9 @@ public class MessMenuService {
             menu.setSpecialNote(request.getSpecialNote());
         }
 
-        return MenuResponse.fromEntity(menuRepository.save(menu));
+        MessMenu saved = menuRepository.saveAndFlush(menu);
+        menuChanged(MenuChangeEvent.Change.UPDATED, saved);
+        return MenuResponse.fromEntity(saved);
     }
 
     public MenuResponse getMenuById(Long id) {
@@ -87,43 +109,190 @@ public class MessMenuService {
                 .orElseThrow(() -> new ResourceNotFoundException("Menu not found for " + day + " " + meal));
     }
 
-    public List<DailyMenuResponse> getWeeklyMenu() {
-        List<MessMenu> allMenus = menuRepository.findAllByOrderByDayOfWeekAscMealTypeAsc();
+    public MenuCalendar.RenderedMenu getWeeklyMenu() {
+        return menuCalendar.weekly();
+    }
+
+    public MenuCalendar.RenderedMenu getTodayMenu(List<String> exclude) {
+        return getMenuForDate(LocalDate.now(), exclude);
+    }
+
+    /**
+     * The menu served on the date, leaving out dishes tagged with any of the
+     * excluded diet or allergen tags and flagging the dishes that have no tags.
+     */
+    public MenuCalendar.RenderedMenu getMenuForDate(LocalDate date, List<String> exclude) {
+        Set<FoodTag> excludedTags = menuItemService.parseTags(exclude);
+        if (excludedTags.isEmpty()) {
+            return menuCalendar.date(date);
+        }
+        return menuCalendar.date(date, menuItemIndex.itemsTagged(excludedTags), menuItemIndex::tagged);
+    }
 
-        Map<DayOfWeek, List<MessMenu>> groupedByDay = allMenus.stream()
-                .collect(Collectors.groupingBy(MessMenu::getDayOfWeek));
+    public List<MenuItemMatch> searchMenus(String item, List<String> tags) {
+        return menuItemService.search(item, tags);
+    }
 
-        List<DailyMenuResponse> weeklyMenu = new ArrayList<>();
-        for (DayOfWeek day : DayOfWeek.values()) {
-            List<MenuResponse> meals = groupedByDay.getOrDefault(day, List.of()).stream()
-                    .map(MenuResponse::fromEntity)
-                    .collect(Collectors.toList());
+    @Transactional
+    public void deleteMenu(Long id) {
+        MessMenu menu = menuRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Menu not found"));
+        menuRepository.delete(menu);
+        menuChanged(MenuChangeEvent.Change.DELETED, menu);
+    }
 
-            weeklyMenu.add(DailyMenuResponse.builder()
-                    .day(day)
-                    .meals(meals)
-                    .build());
+    /**
+     * Renames or retags a catalog item. Menus and overrides name their dishes
+     * in plain text, so a rename is carried into every menu and override that
+     * serves the item in the same transaction; otherwise they would keep the
+     * old name and lose the item's tags.
+     */
+    @RetryOnConflict
+    @Transactional
+    public MenuItemResponse updateItem(Long id, MenuItemRequest request, Long expectedVersion) {
+        String oldKey = menuItemService.nameKey(id);
+        MenuItemResponse item = menuItemService.updateItem(id, request, expectedVersion);
+        if (oldKey.equals(MenuItemIndex.key(item.getName()))) {
+            return item;
         }
 
-        return weeklyMenu;
+        for (MessMenu menu : menuRepository.findAll()) {
+            String items = renamed(menu.getItems(), oldKey, item.getName());
+            if (items != null) {
+                menu.setItems(items);
+                menuChanged(MenuChangeEvent.Change.UPDATED, menuRepository.saveAndFlush(menu));
+            }
+        }
+        for (MenuOverride override : overrideRepository.findAll()) {
+            String items = renamed(override.getItems(), oldKey, item.getName());
+            if (items != null) {
+                override.setItems(items);
+                overrideChanged(MenuChangeEvent.Change.UPDATED, overrideRepository.saveAndFlush(override));
+            }
+        }
+        return item;
     }
 
-    public DailyMenuResponse getTodayMenu() {
-        java.time.DayOfWeek today = java.time.LocalDate.now().getDayOfWeek();
-        DayOfWeek day = DayOfWeek.valueOf(today.name());
+    // ========== Dated Overrides ==========
+
+    @Transactional
+    public MenuOverrideResponse createOverride(MenuOverrideRequest request) {
+        LocalDate endDate = resolveEndDate(request);
+        checkNoOverlap(request.getMealType(), request.getStartDate(), endDate, null);
 
-        List<MenuResponse> meals = getMenuByDay(day);
-        return DailyMenuResponse.builder()
-                .day(day)
-                .meals(meals)
+        MenuOverride override = MenuOverride.builder()
+                .startDate(request.getStartDate())
+                .endDate(endDate)
+                .mealType(request.getMealType())
+                .items(request.getItems())
+                .specialNote(request.getSpecialNote())
                 .build();
+
+        MenuOverride saved = overrideRepository.save(override);
+        overrideChanged(MenuChangeEvent.Change.CREATED, saved);
+        return MenuOverrideResponse.fromEntity(saved);
     }
 
+    @RetryOnConflict
     @Transactional
-    public void deleteMenu(Long id) {
-        if (!menuRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Menu not found");
+    public MenuOverrideResponse updateOverride(Long id, MenuOverrideRequest request, Long expectedVersion) {
+        MenuOverride override = findOverrideById(id);
+        Versions.check("Menu override", id, expectedVersion, override.getVersion());
+        LocalDate endDate = resolveEndDate(request);
+        checkNoOverlap(request.getMealType(), request.getStartDate(), endDate, id);
+
+        // The dates it used to cover change as well
+        menuCalendar.overrideChanged(override.getStartDate(), override.getEndDate());
+        override.setStartDate(request.getStartDate());
+        override.setEndDate(endDate);
+        override.setMealType(request.getMealType());
+        override.setItems(request.getItems());
+        override.setSpecialNote(request.getSpecialNote());
+
+        MenuOverride saved = overrideRepository.saveAndFlush(override);
+        overrideChanged(MenuChangeEvent.Change.UPDATED, saved);
+        return MenuOverrideResponse.fromEntity(saved);
+    }
+
+    @Transactional
+    public void deleteOverride(Long id) {
+        MenuOverride override = findOverrideById(id);
+        overrideRepository.delete(override);
+        overrideChanged(MenuChangeEvent.Change.DELETED, override);
+    }
+
+    public List<MenuOverrideResponse> getUpcomingOverrides() {
+        return overrideRepository.findByEndDateGreaterThanEqualOrderByStartDateAscMealTypeAsc(LocalDate.now()).stream()
+                .map(MenuOverrideResponse::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    private MenuOverride findOverrideById(Long id) {
+        return overrideRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Menu override", "id", id));
+    }
+
+    private LocalDate resolveEndDate(MenuOverrideRequest request) {
+        LocalDate endDate = request.getEndDate() != null ? request.getEndDate() : request.getStartDate();
+        if (endDate.isBefore(request.getStartDate())) {
+            throw new BadRequestException("End date cannot be before start date");
+        }
+        return endDate;
+    }
+
+    // The item list with every dish matching the old key renamed, or null when none does
+    private static String renamed(String items, String oldKey, String newName) {
+        List<String> names = MenuItemIndex.items(items);
+        if (names.stream().noneMatch(name -> MenuItemIndex.key(name).equals(oldKey))) {
+            return null;
+        }
+        String renamed = names.stream()
+                .map(name -> MenuItemIndex.key(name).equals(oldKey) ? newName : name)
+                .collect(Collectors.joining(", "));
+        if (renamed.length() > MAX_ITEMS_LENGTH) {
+            throw new BadRequestException("Renaming to " + newName + " makes a menu longer than "
+                    + MAX_ITEMS_LENGTH + " characters");
+        }
+        return renamed;
+    }
+
+    // One override per meal and date, so a date always resolves to a single menu
+    private void checkNoOverlap(MealType mealType, LocalDate startDate, LocalDate endDate, Long excludeId) {
+        if (overrideRepository.existsOverlapping(mealType, startDate, endDate, excludeId)) {
+            throw new BadRequestException("Another " + mealType + " override already covers part of "
+                    + startDate + " to " + endDate);
+        }
+    }
+
+    // Both run after commit, in this order, so subscribers never refetch the old snapshot
+    private void overrideChanged(MenuChangeEvent.Change change, MenuOverride override) {
+        if (change != MenuChangeEvent.Change.DELETED) {
+            menuItemService.registerItems(override.getItems());
+        }
+        menuItemIndex.refresh();
+        menuCalendar.overrideChanged(override.getStartDate(), override.getEndDate());
+        eventStreamHub.publishToAll("menu", MenuChangeEvent.builder()
+                .change(change)
+                .overrideId(override.getId())
+                .mealType(override.getMealType())
+                .startDate(override.getStartDate())
+                .endDate(override.getEndDate())
+                .version(override.getVersion())
+                .build());
+    }
+
+    private void menuChanged(MenuChangeEvent.Change change, MessMenu menu) {
+        if (change != MenuChangeEvent.Change.DELETED) {
+            menuItemService.registerItems(menu.getItems());
         }
-        menuRepository.deleteById(id);
+        menuItemIndex.refresh();
+        menuCalendar.templateChanged(menu.getDayOfWeek());
+        eventStreamHub.publishToAll("menu", MenuChangeEvent.builder()
+                .change(change)
+                .menuId(menu.getId())
+                .dayOfWeek(menu.getDayOfWeek())
+                .mealType(menu.getMealType())
+                .version(menu.getVersion())
+                .build());
     }
 }
@@ -0,0 +1,122 @@
+package com.dormex.service;
+
+import com.dormex.entity.RefreshToken;
+import com.dormex.entity.User;
+import com.dormex.exception.BadRequestException;
+import com.dormex.repository.RefreshTokenRepository;
+import com.dormex.repository.UserRepository;
+import com.dormex.security.CustomUserDetails;
+import com.dormex.security.JwtClaims;
+import com.dormex.security.JwtService;
+import com.dormex.security.RevokedSessions;
+import com.dormex.security.UserDetailsCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Issues, rotates and revokes refresh tokens.
+ *
+ * Each sign-in starts a token family. A refresh token can be used once:
+ * using it issues the next token of the same family, and presenting it
+ * again is treated as theft and revokes the whole family, including the
+ * access tokens issued to it.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final JwtService jwtService;
+    private final RevokedSessions revokedSessions;
+    private final UserDetailsCache userDetailsCache;
+
+    @Transactional
+    public TokenPair issue(CustomUserDetails user) {
+        return issue(user, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchanges a refresh token for a new pair. Failures that revoke the
+     * family are committed even though the request is rejected.
+     */
+    @Transactional(noRollbackFor = BadRequestException.class)
+    public Rotation rotate(String refreshToken) {
+        JwtClaims claims = jwtService.parseAndValidate(refreshToken)
+            .filter(JwtClaims::refresh)
+            .orElseThrow(() -> new BadRequestException("Invalid or expired refresh token"));
+
+        if (revokedSessions.isRevoked(claims.sessionId())) {
+            throw new BadRequestException("Refresh token has been revoked");
+        }
+
+        if (refreshTokenRepository.markUsed(claims.tokenId(), LocalDateTime.now()) == 0) {
+            log.warn("Refresh token reuse for user {}, revoking session {}", claims.userId(), claims.sessionId());
+            revokeFamily(claims.sessionId(), claims.userId());
+            throw new BadRequestException("Refresh token has already been used");
+        }
+
+        User user = userRepository.findById(claims.userId())
+            .orElseThrow(() -> new BadRequestException("User not found"));
+        if (!user.isEnabled()) {
+            revokeFamily(claims.sessionId(), user.getId());
+            throw new BadRequestException("Account is disabled");
+        }
+
+        return new Rotation(user, issue(new CustomUserDetails(user), claims.sessionId()));
+    }
+
+    @Transactional
+    public void logout(String refreshToken) {
+        JwtClaims claims = jwtService.parseAndValidate(refreshToken)
+            .filter(JwtClaims::refresh)
+            .orElseThrow(() -> new BadRequestException("Invalid or expired refresh token"));
+        revokeFamily(claims.sessionId(), claims.userId());
+    }
+
+    /**
+     * Revokes every open session of the user, e.g. when the account is disabled.
+     */
+    @Transactional
+    public void revokeAllForUser(Long userId) {
+        List<String> families = refreshTokenRepository.findActiveFamilyIds(userId, LocalDateTime.now());
+        refreshTokenRepository.revokeAllByUserId(userId);
+        families.forEach(revokedSessions::revoke);
+        AfterCommit.run(() -> userDetailsCache.evict(userId));
+    }
+
+    private void revokeFamily(String familyId, Long userId) {
+        refreshTokenRepository.revokeFamily(familyId);
+        revokedSessions.revoke(familyId);
+        // Drops the user's verified tokens from the filter cache so they are checked again
+        AfterCommit.run(() -> userDetailsCache.evict(userId));
+    }
+
+    private TokenPair issue(CustomUserDetails user, String familyId) {
+        String tokenId = UUID.randomUUID().toString();
+        refreshTokenRepository.save(RefreshToken.builder()
+            .tokenId(tokenId)
+            .familyId(familyId)
+            .userId(user.getId())
+            .expiresAt(LocalDateTime.now().plus(Duration.ofMillis(jwtService.getRefreshExpiration())))
+            .build());
+
+        return new TokenPair(
+            jwtService.generateToken(user, familyId),
+            jwtService.generateRefreshToken(user, familyId, tokenId));
+    }
+
+    public record TokenPair(String accessToken, String refreshToken) {
+    }
+
+    public record Rotation(User user, TokenPair tokens) {
+    }
+}
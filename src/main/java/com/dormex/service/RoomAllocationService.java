@@ -0,0 +1,126 @@
+package com.dormex.service;
+
+import com.dormex.dto.student.RoomAllocationRequest;
+import com.dormex.entity.Student;
+import com.dormex.entity.enums.StudentStatus;
+import com.dormex.exception.BadRequestException;
+import com.dormex.exception.ResourceNotFoundException;
+import com.dormex.repository.StudentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Moves students between rooms, keeping Student.roomId and
+ * Room.currentOccupancy in step inside one short transaction.
+ *
+ * Locks are always taken in the same order: the student rows by id, then the
+ * rooms by id through the conditional occupancy UPDATEs. Two concurrent moves
+ * in opposite directions therefore queue behind each other instead of
+ * deadlocking. A batch nets its moves per room first, so swapping students
+ * between two full rooms succeeds.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RoomAllocationService {
+
+    private final StudentRepository studentRepository;
+    private final RoomService roomService;
+
+    @Value("${app.allocation.max-batch-size:500}")
+    private int maxBatchSize;
+
+    @Transactional
+    public Student allocate(Long studentId, Long roomId, Long expectedVersion) {
+        return allocateAll(List.of(new RoomAllocationRequest(studentId, roomId, expectedVersion))).get(0);
+    }
+
+    /**
+     * Applies all moves or none. Students are returned in id order.
+     */
+    @Transactional
+    public List<Student> allocateAll(List<RoomAllocationRequest> requests) {
+        if (requests.isEmpty()) {
+            throw new BadRequestException("No allocations given");
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new BadRequestException("At most " + maxBatchSize + " allocations can be applied at once");
+        }
+
+        Map<Long, Long> targets = new HashMap<>();
+        Map<Long, Long> expectedVersions = new HashMap<>();
+        for (RoomAllocationRequest request : requests) {
+            if (request.getStudentId() == null) {
+                throw new BadRequestException("Student id is required");
+            }
+            if (targets.containsKey(request.getStudentId())) {
+                throw new BadRequestException("Student " + request.getStudentId() + " is allocated more than once");
+            }
+            targets.put(request.getStudentId(), request.getRoomId());
+            expectedVersions.put(request.getStudentId(), request.getVersion());
+        }
+
+        List<Student> students = studentRepository.findAllByIdForUpdate(targets.keySet());
+        if (students.size() < targets.size()) {
+            students.forEach(student -> targets.remove(student.getId()));
+            throw new ResourceNotFoundException("Student", "id", targets.keySet().iterator().next());
+        }
+
+        Map<Long, Integer> deltas = new TreeMap<>();
+        for (Student student : students) {
+            Versions.check("Student", student.getId(), expectedVersions.get(student.getId()), student.getVersion());
+            Long from = student.getRoomId();
+            Long to = targets.get(student.getId());
+            if (Objects.equals(from, to)) {
+                continue;
+            }
+            if (to != null && student.getStatus() != StudentStatus.ACTIVE) {
+                throw new BadRequestException("Cannot assign room to non-active student");
+            }
+            if (from != null) deltas.merge(from, -1, Integer::sum);
+            if (to != null) deltas.merge(to, 1, Integer::sum);
+        }
+        adjust(deltas);
+
+        students.forEach(student -> student.setRoomId(targets.get(student.getId())));
+        // Flushed here so the returned students carry their new versions
+        studentRepository.flush();
+        return students;
+    }
+
+    /**
+     * Frees the student's bed. The student must have been read under lock
+     * or in the same transaction as the caller's change.
+     */
+    @Transactional
+    public void release(Student student) {
+        if (student.getRoomId() != null) {
+            adjust(Map.of(student.getRoomId(), -1));
+            student.setRoomId(null);
+        }
+    }
+
+    /*
+     * TreeMap iteration keeps the room locks in ascending id order. Freeing a
+     * bed never blocks a move: rooms assigned before occupancy was tracked
+     * may already read empty, or may have been deleted.
+     */
+    private void adjust(Map<Long, Integer> deltas) {
+        deltas.forEach((roomId, delta) -> {
+            if (delta > 0) {
+                roomService.adjustOccupancy(roomId, delta);
+            } else if (delta < 0 && !roomService.tryAdjustOccupancy(roomId, delta)) {
+                log.warn("Occupancy of room {} is out of step; could not free {} bed(s)", roomId, -delta);
+            }
+        });
+    }
+}
@@ -9,6 +9,8 @@ import com.dormex.entity.enums.RoomStatus;
 import com.dormex.exception.BadRequestException;
 import com.dormex.exception.ResourceNotFoundException;
 import com.dormex.repository.RoomRepository;
+import com.dormex.repository.projection.RoomOccupancyView;
+import com.dormex.service.DashboardCounters.RoomState;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,6 +23,9 @@ public class RoomService {
 
     private final RoomRepository roomRepository;
     private final BlockService blockService;
+    private final DashboardCounters dashboardCounters;
+    private final SuggestionIndex suggestionIndex;
+    private final VacancyIndex vacancyIndex;
 
     @Transactional
     public RoomResponse createRoom(CreateRoomRequest request) {
@@ -42,6 +47,9 @@ public class RoomService {
             .build();
 
         room = roomRepository.save(room);
+        dashboardCounters.roomChanged(null, RoomState.of(room));
+        suggestionIndex.roomSaved(room);
+        vacancyIndex.roomSaved(room);
         return mapToResponse(room);
     }
 
@@ -72,23 +80,24 @@ public class RoomService {
             .toList();
     }
 
-    @Transactional(readOnly = true)
-    public List<RoomResponse> getVacantRooms() {
-        return roomRepository.findVacantRooms().stream()
-            .map(this::mapToResponse)
-            .toList();
-    }
-
-    @Transactional(readOnly = true)
-    public List<RoomResponse> getVacantRoomsByBlock(Long blockId) {
-        return roomRepository.findVacantRoomsByBlock(blockId).stream()
-            .map(this::mapToResponse)
-            .toList();
+    /**
+     * Served from the vacancy index without a transaction or any SQL.
+     * A null block, floor or room type matches all.
+     */
+    public List<RoomResponse> getVacantRooms(Long blockId, Integer minFreeBeds, Integer floor, String roomType) {
+        int beds = minFreeBeds != null ? minFreeBeds : 1;
+        if (beds < 1) {
+            throw new BadRequestException("minFreeBeds must be at least 1");
+        }
+        return vacancyIndex.find(blockId, beds, floor, roomType);
     }
 
+    @RetryOnConflict
     @Transactional
-    public RoomResponse updateRoom(Long id, UpdateRoomRequest request) {
+    public RoomResponse updateRoom(Long id, UpdateRoomRequest request, Long expectedVersion) {
         Room room = findRoomById(id);
+        Versions.check("Room", id, expectedVersion, room.getVersion());
+        RoomState before = RoomState.of(room);
 
         if (request.getCapacity() != null) {
             if (request.getCapacity() < room.getCurrentOccupancy()) {
@@ -100,44 +109,77 @@ public class RoomService {
         if (request.getAmenities() != null) room.setAmenities(request.getAmenities());
 
         room.updateStatus();
-        room = roomRepository.save(room);
+        room = roomRepository.saveAndFlush(room);
+        dashboardCounters.roomChanged(before, RoomState.of(room));
+        vacancyIndex.roomSaved(room);
         return mapToResponse(room);
     }
 
+    @RetryOnConflict
     @Transactional
-    public RoomResponse updateRoomStatus(Long id, RoomStatus status) {
+    public RoomResponse updateRoomStatus(Long id, RoomStatus status, Long expectedVersion) {
         Room room = findRoomById(id);
+        Versions.check("Room", id, expectedVersion, room.getVersion());
+        RoomState before = RoomState.of(room);
         room.setStatus(status);
-        room = roomRepository.save(room);
+        room = roomRepository.saveAndFlush(room);
+        dashboardCounters.roomChanged(before, RoomState.of(room));
+        vacancyIndex.roomSaved(room);
         return mapToResponse(room);
     }
 
     @Transactional
     public RoomResponse incrementOccupancy(Long id) {
-        Room room = findRoomById(id);
-
-        if (room.getCurrentOccupancy() >= room.getCapacity()) {
-            throw new BadRequestException("Room is at full capacity");
-        }
-
-        room.setCurrentOccupancy(room.getCurrentOccupancy() + 1);
-        room.updateStatus();
-        room = roomRepository.save(room);
-        return mapToResponse(room);
+        adjustOccupancy(id, 1);
+        return mapToResponse(findRoomById(id));
     }
 
     @Transactional
     public RoomResponse decrementOccupancy(Long id) {
-        Room room = findRoomById(id);
+        adjustOccupancy(id, -1);
+        return mapToResponse(findRoomById(id));
+    }
 
-        if (room.getCurrentOccupancy() <= 0) {
-            throw new BadRequestException("Room is already empty");
+    /**
+     * Changes occupancy with a conditional UPDATE instead of a
+     * read-check-write, so concurrent allocations never over-fill a room.
+     * The room is read without a lock first; only when the UPDATE finds it
+     * changed or rejects the change is it read again under the row lock the
+     * UPDATE takes anyway. Must run inside a transaction.
+     */
+    void adjustOccupancy(Long id, int delta) {
+        if (!tryAdjustOccupancy(id, delta)) {
+            Room room = findRoomById(id);
+            if (delta > 0 && room.getStatus() == RoomStatus.UNDER_MAINTENANCE) {
+                throw new BadRequestException("Room is under maintenance");
+            }
+            throw new BadRequestException(delta > 0 ? "Room is at full capacity" : "Room is already empty");
         }
+    }
 
-        room.setCurrentOccupancy(room.getCurrentOccupancy() - 1);
-        room.updateStatus();
-        room = roomRepository.save(room);
-        return mapToResponse(room);
+    // Returns false if the room is missing, the change would leave the 0..capacity range,
+    // or it would add a student to a room under maintenance
+    boolean tryAdjustOccupancy(Long id, int delta) {
+        RoomOccupancyView before = roomRepository.findOccupancyById(id).orElse(null);
+        if (before == null) {
+            return false;
+        }
+        if (roomRepository.adjustOccupancy(id, delta, before.getVersion()) == 0) {
+            // Changed since the read, or rejected. A plain re-read may return the same snapshot,
+            // so read the latest row under lock; the update can then only fail if it is rejected
+            before = roomRepository.findOccupancyByIdForUpdate(id).orElse(null);
+            if (before == null || roomRepository.adjustOccupancy(id, delta, before.getVersion()) == 0) {
+                return false;
+            }
+        }
+        // The version matched, so the update started from exactly this state
+        int occupancy = before.getCurrentOccupancy() + delta;
+        RoomStatus status = statusFor(before.getStatus(), occupancy, before.getCapacity());
+        dashboardCounters.roomChanged(
+            new RoomState(before.getBlockId(), before.getStatus(), before.getCapacity(), before.getCurrentOccupancy()),
+            new RoomState(before.getBlockId(), status, before.getCapacity(), occupancy));
+        vacancyIndex.occupancyChanged(id, occupancy, status, before.getVersion() + 1);
+        return true;
     }
 
     @Transactional
@@ -149,6 +191,16 @@ public class RoomService {
         }
 
         roomRepository.delete(room);
+        dashboardCounters.roomChanged(RoomState.of(room), null);
+        suggestionIndex.roomDeleted(room.getId());
+        vacancyIndex.roomDeleted(room.getId());
+    }
+
+    // Mirrors the CASE in RoomRepository.adjustOccupancy
+    private static RoomStatus statusFor(RoomStatus current, int occupancy, int capacity) {
+        if (current == RoomStatus.UNDER_MAINTENANCE) return current;
+        if (occupancy >= capacity) return RoomStatus.FULL;
+        return occupancy > 0 ? RoomStatus.OCCUPIED : RoomStatus.AVAILABLE;
     }
 
     Room findRoomById(Long id) {
@@ -170,6 +222,7 @@ public class RoomService {
             .roomType(room.getRoomType())
             .amenities(room.getAmenities())
             .createdAt(room.getCreatedAt())
+            .version(room.getVersion())
             .build();
     }
 }
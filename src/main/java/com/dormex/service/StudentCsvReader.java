@@ -0,0 +1,137 @@
+package com.dormex.service;
+
+import com.dormex.dto.student.CreateStudentRequest;
+import com.dormex.exception.BadRequestException;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Reads students from CSV with a header row naming the columns after the
+ * fields of {@link CreateStudentRequest}, in any order and case. Fields may
+ * be quoted with double quotes; a doubled quote inside a quoted field is a
+ * literal quote. Dates use ISO format (yyyy-MM-dd).
+ */
+final class StudentCsvReader {
+
+    private static final Map<String, BiConsumer<CreateStudentRequest, String>> COLUMNS = Map.ofEntries(
+        Map.entry("name", CreateStudentRequest::setName),
+        Map.entry("email", CreateStudentRequest::setEmail),
+        Map.entry("password", CreateStudentRequest::setPassword),
+        Map.entry("rollnumber", CreateStudentRequest::setRollNumber),
+        Map.entry("phone", CreateStudentRequest::setPhone),
+        Map.entry("department", CreateStudentRequest::setDepartment),
+        Map.entry("year", CreateStudentRequest::setYear),
+        Map.entry("address", CreateStudentRequest::setAddress),
+        Map.entry("guardianname", CreateStudentRequest::setGuardianName),
+        Map.entry("guardianphone", CreateStudentRequest::setGuardianPhone),
+        Map.entry("dateofbirth", (request, value) -> request.setDateOfBirth(LocalDate.parse(value))),
+        Map.entry("joiningdate", (request, value) -> request.setJoiningDate(LocalDate.parse(value)))
+    );
+
+    private StudentCsvReader() {
+    }
+
+    /**
+     * A parsed row, or the reason it could not be parsed.
+     */
+    record Row(CreateStudentRequest request, String error) {
+    }
+
+    static List<Row> read(String csv) {
+        List<List<String>> records = parse(csv);
+        if (records.isEmpty()) {
+            throw new BadRequestException("CSV file is empty");
+        }
+
+        List<String> header = records.get(0);
+        List<BiConsumer<CreateStudentRequest, String>> setters = new ArrayList<>();
+        for (String column : header) {
+            BiConsumer<CreateStudentRequest, String> setter = COLUMNS.get(column.trim().toLowerCase(Locale.ROOT));
+            if (setter == null) {
+                throw new BadRequestException("Unknown CSV column: " + column);
+            }
+            setters.add(setter);
+        }
+
+        List<Row> rows = new ArrayList<>();
+        for (List<String> record : records.subList(1, records.size())) {
+            if (record.size() != header.size()) {
+                rows.add(new Row(null, "Expected " + header.size() + " columns but found " + record.size()));
+                continue;
+            }
+            CreateStudentRequest request = new CreateStudentRequest();
+            String error = null;
+            for (int i = 0; i < record.size(); i++) {
+                String value = record.get(i).trim();
+                if (value.isEmpty()) continue;
+                try {
+                    setters.get(i).accept(request, value);
+                } catch (DateTimeParseException e) {
+                    error = "Invalid date in column " + header.get(i) + ": " + value;
+                }
+            }
+            rows.add(error == null ? new Row(request, null) : new Row(null, error));
+        }
+        return rows;
+    }
+
+    // RFC 4180 style records; blank lines are skipped
+    static List<List<String>> parse(String csv) {
+        List<List<String>> records = new ArrayList<>();
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldStarted = false;
+
+        for (int i = 0; i < csv.length(); i++) {
+            char c = csv.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < csv.length() && csv.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+                fieldStarted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+                fieldStarted = true;
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < csv.length() && csv.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                if (fieldStarted || field.length() > 0) {
+                    record.add(field.toString());
+                    records.add(record);
+                }
+                record = new ArrayList<>();
+                field.setLength(0);
+                fieldStarted = false;
+            } else {
+                field.append(c);
+                fieldStarted = true;
+            }
+        }
+        if (quoted) {
+            throw new BadRequestException("CSV ends inside a quoted field");
+        }
+        if (fieldStarted || field.length() > 0) {
+            record.add(field.toString());
+            records.add(record);
+        }
+        return records;
+    }
+}
@@ -0,0 +1,256 @@
+package com.dormex.service;
+
+import com.dormex.dto.student.CreateStudentRequest;
+import com.dormex.dto.student.StudentImportResult;
+import com.dormex.entity.Student;
+import com.dormex.entity.User;
+import com.dormex.entity.enums.AuthProvider;
+import com.dormex.entity.enums.Role;
+import com.dormex.entity.enums.StudentStatus;
+import com.dormex.exception.BadRequestException;
+import com.dormex.repository.StudentRepository;
+import com.dormex.repository.UserRepository;
+import com.dormex.security.PooledPasswordEncoder;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Creates students in bulk from a CSV file or a JSON array.
+ *
+ * The whole file is validated before anything is written: every row is
+ * checked against the same constraints as a single create, and duplicate
+ * emails and roll numbers are found with two set lookups instead of two
+ * queries per row. Passwords of the valid rows are hashed in parallel, and
+ * users and students are inserted in JDBC batches in one transaction.
+ * Invalid rows are reported and skipped; they do not stop the others.
+ * Emails and roll numbers are looked up again inside the transaction, so a
+ * value taken while the passwords were hashed fails its row, not the batch.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StudentImportService {
+
+    private final StudentRepository studentRepository;
+    private final UserRepository userRepository;
+    private final PooledPasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final DashboardCounters dashboardCounters;
+    private final StudentSearchIndex studentSearchIndex;
+    private final SuggestionIndex suggestionIndex;
+    private final MealHeadcounts mealHeadcounts;
+
+    @Value("${app.bulk-import.max-rows:5000}")
+    private int maxRows;
+
+    @Value("${app.bulk-import.hash-timeout:300000}")
+    private long hashTimeout;
+
+    public StudentImportResult importCsv(String csv) {
+        return importRows(StudentCsvReader.read(csv));
+    }
+
+    public StudentImportResult importStudents(List<CreateStudentRequest> requests) {
+        return importRows(requests.stream()
+            .map(request -> request == null
+                ? new StudentCsvReader.Row(null, "Row is empty")
+                : new StudentCsvReader.Row(request, null))
+            .toList());
+    }
+
+    private StudentImportResult importRows(List<StudentCsvReader.Row> rows) {
+        if (rows.isEmpty()) {
+            throw new BadRequestException("No students to import");
+        }
+        if (rows.size() > maxRows) {
+            throw new BadRequestException("Cannot import more than " + maxRows + " students at once");
+        }
+
+        List<Candidate> candidates = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            StudentCsvReader.Row row = rows.get(i);
+            Candidate candidate = new Candidate(i + 1, row.request());
+            if (row.error() != null) {
+                candidate.errors.add(row.error());
+            } else {
+                validate(candidate);
+            }
+            candidates.add(candidate);
+        }
+        checkDuplicates(candidates);
+
+        List<Candidate> valid = candidates.stream().filter(Candidate::isValid).toList();
+        if (!valid.isEmpty()) {
+            // Fed to the hashing pool a few at a time, so sign-ins keep their queue and a busy pool slows the import down
+            List<String> hashes = passwordEncoder.encodeAll(
+                valid.stream().map(candidate -> candidate.request.getPassword()).toList(), hashTimeout);
+            for (int i = 0; i < valid.size(); i++) {
+                valid.get(i).passwordHash = hashes.get(i);
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                // Another import or sign-up may have taken a value while the passwords were hashed
+                checkExisting(valid);
+                List<Candidate> stillValid = valid.stream().filter(Candidate::isValid).toList();
+                if (!stillValid.isEmpty()) {
+                    insert(stillValid);
+                }
+            });
+        }
+
+        List<StudentImportResult.RowResult> results = candidates.stream().map(Candidate::toResult).toList();
+        int created = (int) candidates.stream().filter(Candidate::isValid).count();
+        log.info("Imported {} of {} students", created, candidates.size());
+        return StudentImportResult.builder()
+            .total(candidates.size())
+            .created(created)
+            .failed(candidates.size() - created)
+            .rows(results)
+            .build();
+    }
+
+    private void validate(Candidate candidate) {
+        validator.validate(candidate.request).stream()
+            .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+            .map(StudentImportService::describe)
+            .forEach(candidate.errors::add);
+    }
+
+    // Duplicates within the file point at the first row using the value
+    private void checkDuplicates(List<Candidate> candidates) {
+        Map<String, Integer> emails = new HashMap<>();
+        Map<String, Integer> rollNumbers = new HashMap<>();
+        for (Candidate candidate : candidates) {
+            if (!candidate.isValid()) continue;
+            Integer emailRow = emails.putIfAbsent(candidate.email(), candidate.row);
+            if (emailRow != null) {
+                candidate.errors.add("Email is repeated from row " + emailRow);
+            }
+            Integer rollRow = rollNumbers.putIfAbsent(candidate.request.getRollNumber(), candidate.row);
+            if (rollRow != null) {
+                candidate.errors.add("Roll number is repeated from row " + rollRow);
+            }
+        }
+
+        checkExisting(candidates.stream().filter(Candidate::isValid).toList());
+    }
+
+    private void checkExisting(List<Candidate> remaining) {
+        if (remaining.isEmpty()) {
+            return;
+        }
+        Set<String> existingEmails = lowerCase(userRepository.findExistingEmails(
+            remaining.stream().map(c -> c.request.getEmail()).toList()));
+        Set<String> existingRollNumbers = new HashSet<>(studentRepository.findExistingRollNumbers(
+            remaining.stream().map(c -> c.request.getRollNumber()).toList()));
+        for (Candidate candidate : remaining) {
+            if (existingEmails.contains(candidate.email())) {
+                candidate.errors.add("Email already registered");
+            }
+            if (existingRollNumbers.contains(candidate.request.getRollNumber())) {
+                candidate.errors.add("Roll number already exists");
+            }
+        }
+    }
+
+    private void insert(List<Candidate> valid) {
+        List<User> users = new ArrayList<>(valid.size());
+        for (int i = 0; i < valid.size(); i++) {
+            CreateStudentRequest request = valid.get(i).request;
+            users.add(User.builder()
+                .name(request.getName())
+                .email(request.getEmail())
+                .password(valid.get(i).passwordHash)
+                .role(Role.STUDENT)
+                .authProvider(AuthProvider.LOCAL)
+                .enabled(true)
+                .build());
+        }
+        userRepository.saveAll(users);
+
+        List<Student> students = new ArrayList<>(valid.size());
+        for (int i = 0; i < valid.size(); i++) {
+            CreateStudentRequest request = valid.get(i).request;
+            students.add(Student.builder()
+                .user(users.get(i))
+                .rollNumber(request.getRollNumber())
+                .phone(request.getPhone())
+                .department(request.getDepartment())
+                .year(request.getYear())
+                .address(request.getAddress())
+                .guardianName(request.getGuardianName())
+                .guardianPhone(request.getGuardianPhone())
+                .dateOfBirth(request.getDateOfBirth())
+                .joiningDate(request.getJoiningDate() != null ? request.getJoiningDate() : LocalDate.now())
+                .status(StudentStatus.ACTIVE)
+                .build());
+        }
+        studentRepository.saveAll(students);
+
+        for (int i = 0; i < valid.size(); i++) {
+            Student student = students.get(i);
+            valid.get(i).studentId = student.getId();
+            dashboardCounters.studentCreated(student.getStatus());
+            studentSearchIndex.studentSaved(student);
+            suggestionIndex.studentSaved(student);
+            mealHeadcounts.studentStatusChanged(student.getId(), student.getStatus());
+        }
+    }
+
+    private static String describe(ConstraintViolation<CreateStudentRequest> violation) {
+        return violation.getPropertyPath() + ": " + violation.getMessage();
+    }
+
+    private static Set<String> lowerCase(Collection<String> values) {
+        return values.stream().map(value -> value.toLowerCase(Locale.ROOT)).collect(Collectors.toSet());
+    }
+
+    private static final class Candidate {
+        final int row;
+        final CreateStudentRequest request;
+        final List<String> errors = new ArrayList<>();
+        String passwordHash;
+        Long studentId;
+
+        Candidate(int row, CreateStudentRequest request) {
+            this.row = row;
+            this.request = request;
+        }
+
+        boolean isValid() {
+            return errors.isEmpty();
+        }
+
+        String email() {
+            return request.getEmail().toLowerCase(Locale.ROOT);
+        }
+
+        StudentImportResult.RowResult toResult() {
+            return StudentImportResult.RowResult.builder()
+                .row(row)
+                .status(isValid() ? StudentImportResult.Status.CREATED : StudentImportResult.Status.FAILED)
+                .rollNumber(request != null ? request.getRollNumber() : null)
+                .email(request != null ? request.getEmail() : null)
+                .studentId(studentId)
+                .errors(errors)
+                .build();
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.dormex.service;
+
+import com.dormex.entity.Student;
+import com.dormex.repository.StudentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory n-gram index over the student directory.
+ *
+ * Every token of a student's name, roll number, email and department is
+ * split into padded bigrams ("asha" -> $a, as, sh, ha, a$) with a posting
+ * set per bigram. A query only scores the students that share enough bigrams
+ * with it, which supports prefix, substring and typo-tolerant matching
+ * without scanning the users table. Fields are normalized and tokenized once
+ * when a student is stored, so scoring a candidate does no text processing.
+ * Writes are applied after commit and a periodic rebuild picks up anything
+ * changed outside the student service; writes that land while it loads are
+ * replayed onto the rebuilt index.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StudentSearchIndex {
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int ROLL_NUMBER_WEIGHT = 3;
+    private static final int EMAIL_WEIGHT = 2;
+    private static final int DEPARTMENT_WEIGHT = 1;
+
+    private final StudentRepository studentRepository;
+
+    private final LiveIndex<Index> index = new LiveIndex<>(new Index());
+
+    // ========== Write Side ==========
+
+    public void studentSaved(Student student) {
+        SearchDocument document = SearchDocument.of(student);
+        index.afterCommit(current -> current.put(document));
+    }
+
+    public void studentDeleted(Long studentId) {
+        index.afterCommit(current -> current.remove(studentId));
+    }
+
+    // ========== Read Side ==========
+
+    /**
+     * Returns the ids of the best matching students, highest score first.
+     * Every whitespace separated term of the query has to match some field.
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        Index current = index.current();
+        Map<Long, Integer> scores = null;
+        for (String term : terms) {
+            Map<Long, Integer> termScores = current.score(term);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((id, score) -> score + termScores.get(id));
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        return scores.entrySet().stream()
+            .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed()
+                .thenComparing(e -> current.sortKey(e.getKey()))
+                .thenComparing(Map.Entry.comparingByKey()))
+            .limit(limit)
+            .map(Map.Entry::getKey)
+            .toList();
+    }
+
+    public int size() {
+        return index.current().documents.size();
+    }
+
+    int gramCount() {
+        return index.current().postings.size();
+    }
+
+    // ========== Rebuild ==========
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(
+        fixedDelayString = "${app.search.reindex-interval:600000}",
+        initialDelayString = "${app.search.reindex-interval:600000}")
+    public void reindex() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        Index fresh = index.rebuild(() -> {
+            Index loaded = new Index();
+            studentRepository.findAllForSearch().forEach(view -> loaded.put(SearchDocument.of(
+                view.getId(), view.getName(), view.getRollNumber(), view.getEmail(), view.getDepartment())));
+            return loaded;
+        });
+        log.debug("Student search index rebuilt with {} students", fresh.documents.size());
+    }
+
+    // ========== Text Handling ==========
+
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : normalize(text).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    static Set<String> grams(String token) {
+        String padded = "$" + token + "$";
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 2 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 2));
+        }
+        return grams;
+    }
+
+    /**
+     * Optimal string alignment distance, so a swapped pair of letters counts
+     * as a single edit. Gives up early once the distance exceeds {@code max}.
+     */
+    static int editDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) d[i][0] = i;
+        for (int j = 0; j <= b.length(); j++) d[0][j] = j;
+
+        for (int i = 1; i <= a.length(); i++) {
+            int rowMin = Integer.MAX_VALUE;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, d[i][j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Short terms have to be typed correctly, longer ones may have one or two typos
+    private static int allowedEdits(String term) {
+        if (term.length() < 4) return 0;
+        return term.length() < 8 ? 1 : 2;
+    }
+
+    record SearchDocument(Long id, String sortKey, List<Field> fields, Set<String> grams) {
+
+        static SearchDocument of(Student student) {
+            return of(student.getId(), student.getUser().getName(),
+                student.getRollNumber(), student.getUser().getEmail(), student.getDepartment());
+        }
+
+        static SearchDocument of(Long id, String name, String rollNumber, String email, String department) {
+            List<Field> fields = List.of(
+                Field.of(name, NAME_WEIGHT),
+                Field.of(rollNumber, ROLL_NUMBER_WEIGHT),
+                Field.of(email, EMAIL_WEIGHT),
+                Field.of(department, DEPARTMENT_WEIGHT));
+            Set<String> grams = new LinkedHashSet<>();
+            fields.forEach(field -> field.tokens().forEach(token -> grams.addAll(StudentSearchIndex.grams(token))));
+            return new SearchDocument(id, normalize(name), fields, Set.copyOf(grams));
+        }
+    }
+
+    private record Field(String value, List<String> tokens, int weight) {
+
+        static Field of(String text, int weight) {
+            String value = normalize(text);
+            return new Field(value, tokenize(value), weight);
+        }
+
+        /**
+         * A whole field beats a whole word, which beats a prefix, which beats
+         * a substring. A fuzzy match within the allowed edits scores lowest.
+         */
+        int score(String term) {
+            if (value.isEmpty()) return 0;
+            if (value.equals(term)) return 10 * weight;
+
+            if (tokens.contains(term)) return 9 * weight;
+            if (value.startsWith(term) || tokens.stream().anyMatch(t -> t.startsWith(term))) return 8 * weight;
+            if (value.contains(term)) return 5 * weight;
+
+            int maxEdits = allowedEdits(term);
+            if (maxEdits == 0) return 0;
+            int best = tokens.stream()
+                .mapToInt(t -> editDistance(term, t, maxEdits))
+                .min()
+                .orElse(maxEdits + 1);
+            return best <= maxEdits ? (4 - best) * weight : 0;
+        }
+    }
+
+    private static final class Index {
+        final Map<Long, SearchDocument> documents = new ConcurrentHashMap<>();
+        final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+        void put(SearchDocument document) {
+            remove(document.id());
+            documents.put(document.id(), document);
+            for (String gram : document.grams()) {
+                // Inside compute, so a concurrent removal cannot drop the set between lookup and add
+                postings.compute(gram, (g, ids) -> {
+                    Set<Long> current = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                    current.add(document.id());
+                    return current;
+                });
+            }
+        }
+
+        // Documents may be removed while a search is ranking them
+        String sortKey(Long id) {
+            SearchDocument document = documents.get(id);
+            return document != null ? document.sortKey() : "";
+        }
+
+        void remove(Long id) {
+            SearchDocument previous = documents.remove(id);
+            if (previous == null) return;
+            for (String gram : previous.grams()) {
+                // Drops the posting set once empty, so grams of edited or deleted students do not pile up
+                postings.computeIfPresent(gram, (g, ids) -> {
+                    ids.remove(id);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+
+        /**
+         * Scores a single query term. Candidates must share enough bigrams to
+         * possibly be within the allowed edit distance: one edit destroys at
+         * most two bigrams, a transposition at most three.
+         */
+        Map<Long, Integer> score(String term) {
+            Set<String> termGrams = StudentSearchIndex.grams(term);
+            // A substring loses at most its two padded edge bigrams
+            int lost = Math.max(2, 3 * allowedEdits(term));
+            int required = Math.max(1, termGrams.size() - lost);
+
+            Map<Long, Integer> shared = new HashMap<>();
+            for (String gram : termGrams) {
+                Set<Long> ids = postings.get(gram);
+                if (ids != null) {
+                    ids.forEach(id -> shared.merge(id, 1, Integer::sum));
+                }
+            }
+
+            Map<Long, Integer> scores = new HashMap<>();
+            shared.forEach((id, count) -> {
+                if (count < required) return;
+                SearchDocument document = documents.get(id);
+                if (document == null) return;
+                int best = document.fields().stream()
+                    .mapToInt(field -> field.score(term))
+                    .max()
+                    .orElse(0);
+                if (best > 0) {
+                    scores.put(id, best);
+                }
+            });
+            return scores;
+        }
+    }
+}
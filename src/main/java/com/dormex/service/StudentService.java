@@ -1,6 +1,9 @@
 package com.dormex.service;
 
+import com.dormex.dto.PageResponse;
 import com.dormex.dto.student.CreateStudentRequest;
+import com.dormex.dto.student.RoomAllocationRequest;
+import com.dormex.dto.student.StudentFilter;
 import com.dormex.dto.student.StudentResponse;
 import com.dormex.dto.student.UpdateStudentRequest;
 import com.dormex.entity.Student;
@@ -10,15 +13,27 @@ import com.dormex.entity.enums.Role;
 import com.dormex.entity.enums.StudentStatus;
 import com.dormex.exception.BadRequestException;
 import com.dormex.exception.ResourceNotFoundException;
+import com.dormex.repository.MealOptOutRepository;
 import com.dormex.repository.StudentRepository;
+import com.dormex.repository.StudentSpecifications;
 import com.dormex.repository.UserRepository;
+import com.dormex.security.UserDetailsCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -27,6 +42,30 @@ public class StudentService {
     private final StudentRepository studentRepository;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final DashboardCounters dashboardCounters;
+    private final StudentSearchIndex studentSearchIndex;
+    private final SuggestionIndex suggestionIndex;
+    private final UserDetailsCache userDetailsCache;
+    private final RefreshTokenService refreshTokenService;
+    private final RoomAllocationService roomAllocationService;
+    private final MealOptOutRepository mealOptOutRepository;
+    private final MealHeadcounts mealHeadcounts;
+
+    private static final Map<String, String> SORTABLE_PROPERTIES = Map.of(
+        "name", "user.name",
+        "email", "user.email",
+        "rollNumber", "rollNumber",
+        "department", "department",
+        "year", "year",
+        "joiningDate", "joiningDate",
+        "createdAt", "createdAt"
+    );
+
+    @Value("${app.pagination.max-page-size:100}")
+    private int maxPageSize;
+
+    @Value("${app.search.max-results:20}")
+    private int maxSearchResults;
 
     @Transactional
     public StudentResponse createStudent(CreateStudentRequest request) {
@@ -62,6 +101,10 @@ public class StudentService {
             .build();
 
         student = studentRepository.save(student);
+        dashboardCounters.studentCreated(student.getStatus());
+        studentSearchIndex.studentSaved(student);
+        suggestionIndex.studentSaved(student);
+        mealHeadcounts.studentStatusChanged(student.getId(), student.getStatus());
         return mapToResponse(student);
     }
 
@@ -79,34 +122,50 @@ public class StudentService {
     }
 
     @Transactional(readOnly = true)
-    public List<StudentResponse> getAllStudents() {
-        return studentRepository.findAll().stream()
-            .map(this::mapToResponse)
-            .toList();
-    }
+    public PageResponse<StudentResponse> findStudents(StudentFilter filter, Pageable pageable) {
+        Pageable page = PageRequest.of(
+            pageable.getPageNumber(),
+            Math.min(pageable.getPageSize(), maxPageSize),
+            mapSort(pageable.getSort()));
 
-    @Transactional(readOnly = true)
-    public List<StudentResponse> getStudentsByStatus(StudentStatus status) {
-        return studentRepository.findByStatus(status).stream()
-            .map(this::mapToResponse)
-            .toList();
+        return PageResponse.from(
+            studentRepository.findAll(StudentSpecifications.matching(filter), page),
+            this::mapToResponse);
     }
 
     @Transactional(readOnly = true)
-    public List<StudentResponse> searchStudents(String keyword) {
-        return studentRepository.searchByNameOrRoll(keyword).stream()
+    public List<StudentResponse> searchStudents(String keyword, Integer limit) {
+        if (limit != null && limit < 1) {
+            throw new BadRequestException("Search limit must be positive");
+        }
+        int maxResults = limit == null ? maxSearchResults : Math.min(limit, maxSearchResults);
+
+        List<Long> ids = studentSearchIndex.search(keyword, maxResults);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // Load the ranked page in one query and restore the index order
+        Map<Long, Student> students = studentRepository.findByIdIn(ids).stream()
+            .collect(Collectors.toMap(Student::getId, Function.identity()));
+        return ids.stream()
+            .map(students::get)
+            .filter(Objects::nonNull)
             .map(this::mapToResponse)
             .toList();
     }
 
+    @RetryOnConflict
     @Transactional
-    public StudentResponse updateStudent(Long id, UpdateStudentRequest request) {
+    public StudentResponse updateStudent(Long id, UpdateStudentRequest request, Long expectedVersion) {
         Student student = findStudentById(id);
+        Versions.check("Student", id, expectedVersion, student.getVersion());
         User user = student.getUser();
 
         if (request.getName() != null) {
             user.setName(request.getName());
             userRepository.save(user);
+            AfterCommit.run(() -> userDetailsCache.evict(user.getId()));
         }
         if (request.getPhone() != null) student.setPhone(request.getPhone());
         if (request.getDepartment() != null) student.setDepartment(request.getDepartment());
@@ -116,45 +175,77 @@ public class StudentService {
         if (request.getGuardianPhone() != null) student.setGuardianPhone(request.getGuardianPhone());
         if (request.getDateOfBirth() != null) student.setDateOfBirth(request.getDateOfBirth());
 
-        student = studentRepository.save(student);
+        student = studentRepository.saveAndFlush(student);
+        studentSearchIndex.studentSaved(student);
+        suggestionIndex.studentSaved(student);
         return mapToResponse(student);
     }
 
+    @RetryOnConflict
     @Transactional
-    public StudentResponse updateStudentStatus(Long id, StudentStatus status) {
-        Student student = findStudentById(id);
+    public StudentResponse updateStudentStatus(Long id, StudentStatus status, Long expectedVersion) {
+        Student student = findStudentForUpdate(id);
+        Versions.check("Student", id, expectedVersion, student.getVersion());
+        StudentStatus previousStatus = student.getStatus();
         student.setStatus(status);
 
         if (status == StudentStatus.LEFT || status == StudentStatus.TRANSFERRED) {
             student.setLeavingDate(LocalDate.now());
-            student.setRoomId(null);
+            roomAllocationService.release(student);
         }
 
-        student = studentRepository.save(student);
+        student = studentRepository.saveAndFlush(student);
+        dashboardCounters.studentStatusChanged(previousStatus, student.getStatus());
+        mealHeadcounts.studentStatusChanged(student.getId(), student.getStatus());
         return mapToResponse(student);
     }
 
     @Transactional
-    public StudentResponse assignRoom(Long studentId, Long roomId) {
-        Student student = findStudentById(studentId);
-
-        if (student.getStatus() != StudentStatus.ACTIVE) {
-            throw new BadRequestException("Cannot assign room to non-active student");
-        }
+    public StudentResponse assignRoom(Long studentId, Long roomId, Long expectedVersion) {
+        return mapToResponse(roomAllocationService.allocate(studentId, roomId, expectedVersion));
+    }
 
-        student.setRoomId(roomId);
-        student = studentRepository.save(student);
-        return mapToResponse(student);
+    @Transactional
+    public List<StudentResponse> allocateRooms(List<RoomAllocationRequest> requests) {
+        List<Student> students = roomAllocationService.allocateAll(requests);
+        // Loads the users in one query instead of one per student
+        userRepository.findAllById(students.stream().map(student -> student.getUser().getId()).toList());
+        return students.stream().map(this::mapToResponse).toList();
     }
 
     @Transactional
     public void deleteStudent(Long id) {
-        Student student = findStudentById(id);
+        Student student = findStudentForUpdate(id);
         User user = student.getUser();
 
+        roomAllocationService.release(student);
+        mealOptOutRepository.deleteByStudent(student.getId());
         studentRepository.delete(student);
         user.setEnabled(false);
         userRepository.save(user);
+        refreshTokenService.revokeAllForUser(user.getId());
+        dashboardCounters.studentDeleted(student.getStatus());
+        studentSearchIndex.studentDeleted(student.getId());
+        suggestionIndex.studentDeleted(student.getId());
+        mealHeadcounts.studentDeleted(student.getId());
+    }
+
+    // Only whitelisted properties can be sorted on; name and email live on the user.
+    // The id always breaks ties, so students sharing a value keep one order across pages
+    private Sort mapSort(Sort sort) {
+        List<Sort.Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String property = SORTABLE_PROPERTIES.get(order.getProperty());
+            if (property == null) {
+                throw new BadRequestException("Cannot sort students by " + order.getProperty());
+            }
+            orders.add(order.withProperty(property));
+        }
+        if (orders.isEmpty()) {
+            orders.add(Sort.Order.desc("createdAt"));
+        }
+        orders.add(new Sort.Order(orders.get(orders.size() - 1).getDirection(), "id"));
+        return Sort.by(orders);
     }
 
     private Student findStudentById(Long id) {
@@ -162,6 +253,11 @@ public class StudentService {
             .orElseThrow(() -> new ResourceNotFoundException("Student", "id", id));
     }
 
+    private Student findStudentForUpdate(Long id) {
+        return studentRepository.findAllByIdForUpdate(List.of(id)).stream().findFirst()
+            .orElseThrow(() -> new ResourceNotFoundException("Student", "id", id));
+    }
+
     private StudentResponse mapToResponse(Student student) {
         User user = student.getUser();
         return StudentResponse.builder()
@@ -184,6 +280,7 @@ public class StudentService {
             .profilePicture(user.getProfilePicture())
             .createdAt(student.getCreatedAt())
             .updatedAt(student.getUpdatedAt())
+            .version(student.getVersion())
             .build();
     }
 }
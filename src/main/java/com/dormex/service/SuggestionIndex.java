@@ -0,0 +1,284 @@
+package com.dormex.service;
+
+import com.dormex.dto.search.Suggestion;
+import com.dormex.entity.Room;
+import com.dormex.entity.Student;
+import com.dormex.repository.RoomRepository;
+import com.dormex.repository.StudentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix trie behind the typeahead endpoint.
+ *
+ * Students are keyed by full name, every later word of the name and roll
+ * number; rooms by "block name + room number" and room number alone.
+ * Lookups walk the trie in memory and never touch the database. Student,
+ * room and block writes update it after commit, and it is rebuilt together
+ * with the student search index; writes that land while it loads are
+ * replayed onto the rebuilt trie.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SuggestionIndex {
+
+    private final StudentRepository studentRepository;
+    private final RoomRepository roomRepository;
+
+    @Value("${app.search.max-results:20}")
+    private int maxResults;
+
+    private final LiveIndex<Trie> trie = new LiveIndex<>(new Trie());
+
+    // ========== Write Side ==========
+
+    public void studentSaved(Student student) {
+        Entry entry = studentEntry(student.getId(), student.getUser().getName(), student.getRollNumber());
+        trie.afterCommit(current -> current.put(entry, null));
+    }
+
+    public void studentDeleted(Long studentId) {
+        trie.afterCommit(current -> current.remove(new EntryId(Suggestion.Type.STUDENT, studentId)));
+    }
+
+    public void roomSaved(Room room) {
+        RoomRef ref = new RoomRef(room.getBlock().getId(), room.getRoomNumber());
+        Entry entry = roomEntry(room.getId(), room.getBlock().getName(), room.getRoomNumber());
+        trie.afterCommit(current -> current.put(entry, ref));
+    }
+
+    public void roomDeleted(Long roomId) {
+        trie.afterCommit(current -> current.remove(new EntryId(Suggestion.Type.ROOM, roomId)));
+    }
+
+    public void blockRenamed(Long blockId, String name) {
+        trie.afterCommit(current -> current.renameBlock(blockId, name));
+    }
+
+    // ========== Read Side ==========
+
+    /**
+     * Returns up to {@code limit} entries whose keys start with the prefix,
+     * capped by app.search.max-results.
+     * Shorter keys come first, then keys in alphabetical order.
+     */
+    public List<Suggestion> suggest(String prefix, Suggestion.Type type, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        return trie.current().find(key, type, Math.min(limit, maxResults)).stream()
+            .map(Entry::toSuggestion)
+            .toList();
+    }
+
+    // ========== Rebuild ==========
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(
+        fixedDelayString = "${app.search.reindex-interval:600000}",
+        initialDelayString = "${app.search.reindex-interval:600000}")
+    public void reindex() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        Trie fresh = trie.rebuild(() -> {
+            Trie loaded = new Trie();
+            studentRepository.findAllForSearch().forEach(view ->
+                loaded.put(studentEntry(view.getId(), view.getName(), view.getRollNumber()), null));
+            roomRepository.findAllForSuggestions().forEach(view ->
+                loaded.put(roomEntry(view.getId(), view.getBlockName(), view.getRoomNumber()),
+                    new RoomRef(view.getBlockId(), view.getRoomNumber())));
+            return loaded;
+        });
+        log.debug("Suggestion index rebuilt with {} entries", fresh.size());
+    }
+
+    private static Entry studentEntry(Long id, String name, String rollNumber) {
+        Set<String> keys = new LinkedHashSet<>();
+        String normalized = normalize(name);
+        keys.add(normalized);
+        String[] words = normalized.split("\\s+");
+        for (int i = 1; i < words.length; i++) {
+            keys.add(words[i]);
+        }
+        keys.add(normalize(rollNumber));
+        keys.remove("");
+        return new Entry(new EntryId(Suggestion.Type.STUDENT, id), name, rollNumber, keys);
+    }
+
+    private static Entry roomEntry(Long id, String blockName, String roomNumber) {
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(normalize(blockName + " " + roomNumber));
+        keys.add(normalize(roomNumber));
+        return new Entry(new EntryId(Suggestion.Type.ROOM, id), blockName + " " + roomNumber, blockName, keys);
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private record EntryId(Suggestion.Type type, Long id) {
+    }
+
+    private record RoomRef(Long blockId, String roomNumber) {
+    }
+
+    private record Entry(EntryId entryId, String label, String detail, Set<String> keys) {
+
+        Suggestion toSuggestion() {
+            return Suggestion.builder()
+                .type(entryId.type())
+                .id(entryId.id())
+                .label(label)
+                .detail(detail)
+                .build();
+        }
+    }
+
+    private static final class Node {
+        final TreeMap<Character, Node> children = new TreeMap<>();
+        final Map<EntryId, Entry> entries = new LinkedHashMap<>();
+    }
+
+    private static final class Trie {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Node root = new Node();
+        private final Map<EntryId, Entry> entries = new HashMap<>();
+        private final Map<EntryId, RoomRef> rooms = new HashMap<>();
+
+        void put(Entry entry, RoomRef room) {
+            lock.writeLock().lock();
+            try {
+                removeLocked(entry.entryId());
+                entries.put(entry.entryId(), entry);
+                if (room != null) {
+                    rooms.put(entry.entryId(), room);
+                }
+                for (String key : entry.keys()) {
+                    Node node = root;
+                    for (int i = 0; i < key.length(); i++) {
+                        node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+                    }
+                    node.entries.put(entry.entryId(), entry);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(EntryId entryId) {
+            lock.writeLock().lock();
+            try {
+                removeLocked(entryId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void renameBlock(Long blockId, String name) {
+            lock.writeLock().lock();
+            try {
+                List<Map.Entry<EntryId, RoomRef>> renamed = rooms.entrySet().stream()
+                    .filter(e -> e.getValue().blockId().equals(blockId))
+                    .toList();
+                for (Map.Entry<EntryId, RoomRef> room : renamed) {
+                    put(roomEntry(room.getKey().id(), name, room.getValue().roomNumber()), room.getValue());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        List<Entry> find(String prefix, Suggestion.Type type, int limit) {
+            lock.readLock().lock();
+            try {
+                Node node = root;
+                for (int i = 0; i < prefix.length() && node != null; i++) {
+                    node = node.children.get(prefix.charAt(i));
+                }
+                if (node == null) {
+                    return List.of();
+                }
+
+                // Breadth first, so shorter keys are suggested before longer ones
+                Map<EntryId, Entry> found = new LinkedHashMap<>();
+                List<Node> level = List.of(node);
+                while (!level.isEmpty() && found.size() < limit) {
+                    List<Node> next = new ArrayList<>();
+                    for (Node current : level) {
+                        for (Entry entry : current.entries.values()) {
+                            if (type == null || entry.entryId().type() == type) {
+                                found.putIfAbsent(entry.entryId(), entry);
+                                if (found.size() == limit) {
+                                    return new ArrayList<>(found.values());
+                                }
+                            }
+                        }
+                        next.addAll(current.children.values());
+                    }
+                    level = next;
+                }
+                return new ArrayList<>(found.values());
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return entries.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private void removeLocked(EntryId entryId) {
+            Entry previous = entries.remove(entryId);
+            rooms.remove(entryId);
+            if (previous == null) {
+                return;
+            }
+            for (String key : previous.keys()) {
+                removeKey(root, key, 0, entryId);
+            }
+        }
+
+        // Returns true when the child node is empty and can be pruned
+        private boolean removeKey(Node node, String key, int depth, EntryId entryId) {
+            if (depth == key.length()) {
+                node.entries.remove(entryId);
+            } else {
+                Node child = node.children.get(key.charAt(depth));
+                if (child != null && removeKey(child, key, depth + 1, entryId)) {
+                    node.children.remove(key.charAt(depth));
+                }
+            }
+            return node.entries.isEmpty() && node.children.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.dormex.service;
+
+import com.dormex.dto.room.RoomResponse;
+import com.dormex.entity.Room;
+import com.dormex.entity.enums.RoomStatus;
+import com.dormex.repository.RoomRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index behind the vacant room endpoints.
+ *
+ * Every room is held as an immutable snapshot. Rooms in service with a free
+ * bed are also filed per block under their number of free beds, so "block X
+ * with at least K free beds" is a tail map lookup with no SQL. Room writes
+ * update it after commit; a late update never replaces a newer version. It
+ * is rebuilt at startup and on app.vacancy.rebuild-interval; updates that
+ * commit while it loads are replayed onto the new index.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VacancyIndex {
+
+    private static final Comparator<Snapshot> LISTING_ORDER = Comparator
+        .comparing(Snapshot::blockName)
+        .thenComparing(Snapshot::floor)
+        .thenComparing(Snapshot::roomNumber)
+        .thenComparing(Snapshot::id);
+
+    private final RoomRepository roomRepository;
+
+    private final LiveIndex<Index> index = new LiveIndex<>(new Index());
+
+    // ========== Write Side ==========
+
+    public void roomSaved(Room room) {
+        Snapshot snapshot = Snapshot.of(room);
+        index.afterCommit(current -> current.put(snapshot));
+    }
+
+    public void occupancyChanged(Long roomId, int occupancy, RoomStatus status, Long version) {
+        index.afterCommit(current -> current.updateOccupancy(roomId, occupancy, status, version));
+    }
+
+    public void roomDeleted(Long roomId) {
+        index.afterCommit(current -> current.remove(roomId));
+    }
+
+    public void blockRenamed(Long blockId, String name) {
+        index.afterCommit(current -> current.renameBlock(blockId, name));
+    }
+
+    // ========== Read Side ==========
+
+    /**
+     * Rooms with at least {@code minFreeBeds} free beds, optionally limited to
+     * a block, floor and room type, ordered by block, floor and room number.
+     */
+    public List<RoomResponse> find(Long blockId, int minFreeBeds, Integer floor, String roomType) {
+        return index.current().find(blockId, minFreeBeds, floor, roomType).stream()
+            .sorted(LISTING_ORDER)
+            .map(Snapshot::toResponse)
+            .toList();
+    }
+
+    // ========== Rebuild ==========
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(
+        fixedDelayString = "${app.vacancy.rebuild-interval:600000}",
+        initialDelayString = "${app.vacancy.rebuild-interval:600000}")
+    public void reindex() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        Index fresh = index.rebuild(() -> {
+            Index loaded = new Index();
+            roomRepository.findAllWithBlock().forEach(room -> loaded.put(Snapshot.of(room)));
+            return loaded;
+        });
+        log.debug("Vacancy index rebuilt with {} rooms", fresh.size());
+    }
+
+    private record Snapshot(Long id, Long blockId, String blockName, String roomNumber, int floor,
+                            String roomType, String amenities, int capacity, int occupancy,
+                            RoomStatus status, LocalDateTime createdAt, Long version) {
+
+        static Snapshot of(Room room) {
+            return new Snapshot(room.getId(), room.getBlock().getId(), room.getBlock().getName(),
+                room.getRoomNumber(), room.getFloor(), room.getRoomType(), room.getAmenities(),
+                room.getCapacity(), room.getCurrentOccupancy(), room.getStatus(), room.getCreatedAt(),
+                room.getVersion());
+        }
+
+        int freeBeds() {
+            return capacity - occupancy;
+        }
+
+        boolean vacant() {
+            return freeBeds() > 0 && (status == RoomStatus.AVAILABLE || status == RoomStatus.OCCUPIED);
+        }
+
+        // Unversioned snapshots (rooms saved before the column existed) are never stale
+        boolean olderThan(Snapshot other) {
+            return version != null && other.version != null && version < other.version;
+        }
+
+        Snapshot withOccupancy(int occupancy, RoomStatus status, Long version) {
+            return new Snapshot(id, blockId, blockName, roomNumber, floor, roomType, amenities,
+                capacity, occupancy, status, createdAt, version);
+        }
+
+        Snapshot withBlockName(String blockName) {
+            return new Snapshot(id, blockId, blockName, roomNumber, floor, roomType, amenities,
+                capacity, occupancy, status, createdAt, version);
+        }
+
+        RoomResponse toResponse() {
+            return RoomResponse.builder()
+                .id(id)
+                .blockId(blockId)
+                .blockName(blockName)
+                .roomNumber(roomNumber)
+                .floor(floor)
+                .capacity(capacity)
+                .currentOccupancy(occupancy)
+                .availableSlots(freeBeds())
+                .status(status)
+                .roomType(roomType)
+                .amenities(amenities)
+                .createdAt(createdAt)
+                .version(version)
+                .build();
+        }
+    }
+
+    private static final class Index {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Long, Snapshot> rooms = new HashMap<>();
+        // block id -> free beds -> room id -> vacant room
+        private final Map<Long, TreeMap<Integer, Map<Long, Snapshot>>> vacantByBlock = new HashMap<>();
+
+        void put(Snapshot room) {
+            lock.writeLock().lock();
+            try {
+                Snapshot previous = rooms.get(room.id());
+                if (previous != null && room.olderThan(previous)) {
+                    return;
+                }
+                unfile(previous);
+                rooms.put(room.id(), room);
+                file(room);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void updateOccupancy(Long roomId, int occupancy, RoomStatus status, Long version) {
+            lock.writeLock().lock();
+            try {
+                // Unknown rooms are picked up by the next rebuild
+                Snapshot previous = rooms.get(roomId);
+                if (previous != null) {
+                    put(previous.withOccupancy(occupancy, status, version));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(Long roomId) {
+            lock.writeLock().lock();
+            try {
+                unfile(rooms.remove(roomId));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void renameBlock(Long blockId, String name) {
+            lock.writeLock().lock();
+            try {
+                rooms.values().stream()
+                    .filter(room -> room.blockId().equals(blockId))
+                    .toList()
+                    .forEach(room -> {
+                        unfile(room);
+                        Snapshot renamed = room.withBlockName(name);
+                        rooms.put(room.id(), renamed);
+                        file(renamed);
+                    });
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        List<Snapshot> find(Long blockId, int minFreeBeds, Integer floor, String roomType) {
+            lock.readLock().lock();
+            try {
+                List<Snapshot> found = new ArrayList<>();
+                if (blockId != null) {
+                    collect(vacantByBlock.get(blockId), minFreeBeds, floor, roomType, found);
+                } else {
+                    vacantByBlock.values().forEach(byFreeBeds -> collect(byFreeBeds, minFreeBeds, floor, roomType, found));
+                }
+                return found;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return rooms.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private static void collect(TreeMap<Integer, Map<Long, Snapshot>> byFreeBeds, int minFreeBeds,
+                                    Integer floor, String roomType, List<Snapshot> found) {
+            if (byFreeBeds == null) {
+                return;
+            }
+            for (Map<Long, Snapshot> rooms : byFreeBeds.tailMap(minFreeBeds, true).values()) {
+                for (Snapshot room : rooms.values()) {
+                    if ((floor == null || floor == room.floor())
+                            && (roomType == null || roomType.equalsIgnoreCase(room.roomType()))) {
+                        found.add(room);
+                    }
+                }
+            }
+        }
+
+        private void file(Snapshot room) {
+            if (room.vacant()) {
+                vacantByBlock.computeIfAbsent(room.blockId(), id -> new TreeMap<>())
+                    .computeIfAbsent(room.freeBeds(), beds -> new HashMap<>())
+                    .put(room.id(), room);
+            }
+        }
+
+        private void unfile(Snapshot room) {
+            if (room == null || !room.vacant()) {
+                return;
+            }
+            NavigableMap<Integer, Map<Long, Snapshot>> byFreeBeds = vacantByBlock.get(room.blockId());
+            Map<Long, Snapshot> bucket = byFreeBeds.get(room.freeBeds());
+            bucket.remove(room.id());
+            if (bucket.isEmpty()) {
+                byFreeBeds.remove(room.freeBeds());
+                if (byFreeBeds.isEmpty()) {
+                    vacantByBlock.remove(room.blockId());
+                }
+            }
+        }
+    }
+}
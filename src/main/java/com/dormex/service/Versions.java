@@ -0,0 +1,20 @@
+package com.dormex.service;
+
+import com.dormex.exception.PreconditionFailedException;
+
+/**
+ * Checks the version a client sent in If-Match against the one just read.
+ * A null expected version means the client did not ask for a check.
+ */
+final class Versions {
+
+    private Versions() {
+    }
+
+    static void check(String resource, Long id, Long expected, Long actual) {
+        if (expected != null && !expected.equals(actual)) {
+            throw new PreconditionFailedException(
+                resource + " " + id + " has changed (now version " + actual + "); reload it and try again");
+        }
+    }
+}
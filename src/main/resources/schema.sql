@@ -43,6 +43,7 @@ CREATE TABLE IF NOT EXISTS blocks (
     name VARCHAR(50) NOT NULL UNIQUE,
     description VARCHAR(255),
     total_floors INT NOT NULL DEFAULT 1,
+    version BIGINT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     
@@ -62,6 +63,7 @@ CREATE TABLE IF NOT EXISTS rooms (
     current_occupancy INT NOT NULL DEFAULT 0,
     room_type ENUM('SINGLE', 'DOUBLE', 'TRIPLE', 'DORMITORY') NOT NULL DEFAULT 'DOUBLE',
     status ENUM('AVAILABLE', 'FULL', 'MAINTENANCE', 'RESERVED') NOT NULL DEFAULT 'AVAILABLE',
+    version BIGINT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     
@@ -88,6 +90,7 @@ CREATE TABLE IF NOT EXISTS students (
     status ENUM('ACTIVE', 'LEFT', 'TRANSFERRED', 'SUSPENDED') NOT NULL DEFAULT 'ACTIVE',
     admission_date DATE NOT NULL,
     leaving_date DATE,
+    version BIGINT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     
@@ -138,14 +141,16 @@ CREATE TABLE IF NOT EXISTS complaints (
     resolution_notes TEXT,
     resolved_by BIGINT,
     resolved_at TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     
     FOREIGN KEY (student_id) REFERENCES students(id) ON DELETE CASCADE,
     FOREIGN KEY (resolved_by) REFERENCES users(id) ON DELETE SET NULL,
-    INDEX idx_complaints_status (status),
-    INDEX idx_complaints_student (student_id),
-    INDEX idx_complaints_category (category)
+    INDEX idx_complaints_created (created_at, id),
+    INDEX idx_complaints_status (status, created_at, id),
+    INDEX idx_complaints_student (student_id, created_at, id),
+    INDEX idx_complaints_category (category, created_at, id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 -- ===================================================================
@@ -160,6 +165,7 @@ CREATE TABLE IF NOT EXISTS mess_menus (
     items TEXT NOT NULL,
     special_note VARCHAR(255),
     created_by BIGINT,
+    version BIGINT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     
@@ -169,22 +175,121 @@ CREATE TABLE IF NOT EXISTS mess_menus (
     INDEX idx_menu_day (day_of_week)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+-- ===================================================================
+-- Menu Items Tables
+-- Dishes served on the menu with their diet and allergen tags
+-- ===================================================================
+CREATE TABLE IF NOT EXISTS menu_items (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    name_key VARCHAR(100) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    
+    UNIQUE KEY uk_menu_item_key (name_key)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS menu_item_tags (
+    menu_item_id BIGINT NOT NULL,
+    tag ENUM('VEG', 'NON_VEG', 'JAIN', 'VEGAN', 'EGG', 'DAIRY', 'NUTS', 'GLUTEN', 'SOY', 'SEAFOOD') NOT NULL,
+    
+    PRIMARY KEY (menu_item_id, tag),
+    FOREIGN KEY (menu_item_id) REFERENCES menu_items(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- ===================================================================
+-- Menu Overrides Table
+-- Dated replacements for one meal of the weekly menu (holidays, festivals)
+-- ===================================================================
+CREATE TABLE IF NOT EXISTS menu_overrides (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    meal_type ENUM('BREAKFAST', 'LUNCH', 'SNACKS', 'DINNER') NOT NULL,
+    items VARCHAR(500) NOT NULL,
+    special_note VARCHAR(200),
+    version BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    
+    INDEX idx_menu_override_dates (end_date, start_date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- ===================================================================
+-- Meal Opt-outs Table
+-- One row per student skipping one meal on one date
+-- ===================================================================
+CREATE TABLE IF NOT EXISTS meal_opt_outs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    student_id BIGINT NOT NULL,
+    meal_date DATE NOT NULL,
+    meal_type ENUM('BREAKFAST', 'LUNCH', 'SNACKS', 'DINNER') NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    
+    FOREIGN KEY (student_id) REFERENCES students(id) ON DELETE CASCADE,
+    UNIQUE KEY uk_meal_opt_out (student_id, meal_date, meal_type),
+    INDEX idx_meal_opt_out_date (meal_date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- ===================================================================
+-- Meal Attendance Table
+-- Plates served per meal, with the headcount expected at the time
+-- ===================================================================
+CREATE TABLE IF NOT EXISTS meal_attendance (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    meal_date DATE NOT NULL,
+    meal_type ENUM('BREAKFAST', 'LUNCH', 'SNACKS', 'DINNER') NOT NULL,
+    served INT NOT NULL,
+    expected INT NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    
+    UNIQUE KEY uk_meal_attendance (meal_date, meal_type)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
 -- ===================================================================
 -- Refresh Tokens Table
--- Store refresh tokens for JWT authentication
+-- One row per issued refresh token; rotation chains share a family
 -- ===================================================================
 CREATE TABLE IF NOT EXISTS refresh_tokens (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    token_id VARCHAR(36) NOT NULL UNIQUE,
+    family_id VARCHAR(36) NOT NULL,
     user_id BIGINT NOT NULL,
-    token VARCHAR(500) NOT NULL UNIQUE,
-    expiry_date TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    used_at TIMESTAMP NULL,
+    revoked BOOLEAN NOT NULL DEFAULT FALSE,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
-    INDEX idx_refresh_token (token),
-    INDEX idx_refresh_user (user_id)
+    INDEX idx_refresh_family (family_id),
+    INDEX idx_refresh_user (user_id),
+    INDEX idx_refresh_expires (expires_at)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+-- ===================================================================
+-- Id Sequences
+-- Hibernate's table-backed sequences for users and students (pooled,
+-- allocation size 50), which allow batched inserts. Seeded past the
+-- existing ids; IdSequenceInitializer re-checks this on startup.
+-- ===================================================================
+CREATE TABLE IF NOT EXISTS users_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+INSERT INTO users_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 50 FROM users
+WHERE NOT EXISTS (SELECT 1 FROM users_seq);
+
+CREATE TABLE IF NOT EXISTS students_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+INSERT INTO students_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 50 FROM students
+WHERE NOT EXISTS (SELECT 1 FROM students_seq);
+
 -- ===================================================================
 -- Activity Log Table (Optional - for audit trail)
 -- ===================================================================
@@ -0,0 +1,107 @@
+package com.dormex.security;
+
+import com.dormex.entity.User;
+import com.dormex.entity.enums.AuthProvider;
+import com.dormex.entity.enums.Role;
+import com.dormex.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * JWT filter tests.
+ * Checks that authentication needs no SQL and that disabling a user takes effect.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class JwtAuthenticationFilterTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+            .name("Filter Admin")
+            .email("filter-admin@test.com")
+            .password("secret")
+            .role(Role.ADMIN)
+            .authProvider(AuthProvider.LOCAL)
+            .enabled(true)
+            .build());
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.delete(user);
+        userDetailsCache.evict(user.getId());
+    }
+
+    @Test
+    void authenticatesFromClaimsWithoutQueryingUsers() throws Exception {
+        String token = jwtService.generateToken(new CustomUserDetails(user));
+        statistics.clear();
+
+        // The dashboard is served from memory, so any statement would come from the filter
+        mockMvc.perform(get("/api/dashboard/stats").header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/api/dashboard/stats").header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk());
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void disabledUserIsRejectedOnceEvicted() throws Exception {
+        String token = jwtService.generateToken(new CustomUserDetails(user));
+        mockMvc.perform(get("/api/dashboard/stats").header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk());
+
+        user.setEnabled(false);
+        user = userRepository.save(user);
+        userDetailsCache.evict(user.getId());
+
+        mockMvc.perform(get("/api/dashboard/stats").header("Authorization", "Bearer " + token))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void rejectsTamperedToken() throws Exception {
+        String token = jwtService.generateToken(new CustomUserDetails(user));
+        String tampered = token.substring(0, token.length() - 4) + "AAAA";
+
+        mockMvc.perform(get("/api/dashboard/stats").header("Authorization", "Bearer " + tampered))
+            .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,109 @@
+package com.dormex.security;
+
+import com.dormex.entity.enums.Role;
+import io.jsonwebtoken.security.PublicJwk;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for asymmetric token signing and key rotation.
+ */
+class JwtKeyRingTests {
+
+    private static final String SECRET = "test-secret-key-that-is-at-least-32-characters-long";
+
+    private static final CustomUserDetails USER = new CustomUserDetails(7L, "asha@test.com", Role.STUDENT, true);
+
+    @TempDir
+    Path keyDirectory;
+
+    @Test
+    void signsWithKeyIdAndPublishesPublicKeys() {
+        JwtKeyRing keyRing = new JwtKeyRing(JwtKeyRing.ES256, keyDirectory.toString(), 0, 86400000L);
+        JwtService jwtService = new JwtService(SECRET, 3600000L, 86400000L, keyRing);
+
+        String token = jwtService.generateToken(USER);
+
+        assertThat(jwtService.parseAndValidate(token)).map(JwtClaims::userId).contains(7L);
+        assertThat(keyRing.jwks()).singleElement().satisfies(jwk -> {
+            assertThat(jwk.getId()).isEqualTo(keyRing.signingKey().id());
+            assertThat(jwk.getType()).isEqualTo("EC");
+            assertThat(jwk).doesNotContainKey("d");
+        });
+    }
+
+    @Test
+    void supportsEdDsa() {
+        JwtKeyRing keyRing = new JwtKeyRing(JwtKeyRing.EDDSA, keyDirectory.toString(), 0, 86400000L);
+        JwtService jwtService = new JwtService(SECRET, 3600000L, 86400000L, keyRing);
+
+        assertThat(jwtService.parseAndValidate(jwtService.generateToken(USER))).isPresent();
+        assertThat(keyRing.jwks()).extracting(PublicJwk::getType).containsExactly("OKP");
+    }
+
+    @Test
+    void acceptsSharedSecretTokensIssuedBeforeTheCutoff() {
+        String legacy = new JwtService(SECRET, 3600000L, 86400000L).generateToken(USER);
+        JwtKeyRing keyRing = new JwtKeyRing(JwtKeyRing.ES256, keyDirectory.toString(), 0, 86400000L);
+        String cutoff = Instant.now().plusSeconds(60).toString();
+
+        assertThat(new JwtService(SECRET, 3600000L, 86400000L, keyRing, cutoff).parseAndValidate(legacy)).isPresent();
+    }
+
+    @Test
+    void rejectsSharedSecretTokensOutsideTheMigrationWindow() {
+        String minted = new JwtService(SECRET, 3600000L, 86400000L).generateToken(USER);
+        JwtKeyRing keyRing = new JwtKeyRing(JwtKeyRing.ES256, keyDirectory.toString(), 0, 86400000L);
+
+        // No cutoff configured, minted after the cutoff, and a window that has closed
+        assertThat(new JwtService(SECRET, 3600000L, 86400000L, keyRing).parseAndValidate(minted)).isEmpty();
+        assertThat(new JwtService(SECRET, 3600000L, 86400000L, keyRing, Instant.now().minusSeconds(60).toString())
+            .parseAndValidate(minted)).isEmpty();
+        assertThat(new JwtService(SECRET, 3600000L, 86400000L, keyRing, Instant.now().minus(Duration.ofDays(2)).toString())
+            .parseAndValidate(minted)).isEmpty();
+    }
+
+    @Test
+    void rotationKeepsVerifyingOutstandingTokens() throws Exception {
+        JwtKeyRing keyRing = new JwtKeyRing(JwtKeyRing.ES256, keyDirectory.toString(), 1, 86400000L);
+        JwtService jwtService = new JwtService(SECRET, 3600000L, 86400000L, keyRing);
+        String before = jwtService.generateToken(USER);
+        String oldKeyId = keyRing.signingKey().id();
+
+        Thread.sleep(5);
+        keyRing.refresh();
+
+        assertThat(keyRing.signingKey().id()).isNotEqualTo(oldKeyId);
+        assertThat(keyRing.jwks()).hasSize(2);
+        assertThat(jwtService.parseAndValidate(before)).isPresent();
+        assertThat(jwtService.parseAndValidate(jwtService.generateToken(USER))).isPresent();
+        assertThat(files(".key")).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsUnknownKeyIds() throws Exception {
+        JwtKeyRing keyRing = new JwtKeyRing(JwtKeyRing.ES256, keyDirectory.toString(), 0, 86400000L);
+        JwtService jwtService = new JwtService(SECRET, 3600000L, 86400000L, keyRing);
+        String token = jwtService.generateToken(USER);
+
+        JwtKeyRing otherRing = new JwtKeyRing(JwtKeyRing.ES256, Files.createTempDirectory(keyDirectory, "other").toString(), 0, 86400000L);
+        JwtService otherService = new JwtService(SECRET, 3600000L, 86400000L, otherRing);
+
+        assertThat(otherService.parseAndValidate(token)).isEmpty();
+    }
+
+    private long files(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(keyDirectory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(suffix)).count();
+        }
+    }
+}
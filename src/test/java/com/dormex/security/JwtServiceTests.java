@@ -0,0 +1,62 @@
+package com.dormex.security;
+
+import com.dormex.entity.enums.Role;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for token issuing and verification.
+ */
+class JwtServiceTests {
+
+    private static final String SECRET = "test-secret-key-that-is-at-least-32-characters-long";
+
+    private final JwtService jwtService = new JwtService(SECRET, 3600000L, 86400000L);
+
+    @Test
+    void parseAndValidateReturnsAllClaims() {
+        String token = jwtService.generateToken(new CustomUserDetails(7L, "asha@test.com", Role.ADMIN, true));
+
+        JwtClaims claims = jwtService.parseAndValidate(token).orElseThrow();
+
+        assertThat(claims.userId()).isEqualTo(7L);
+        assertThat(claims.email()).isEqualTo("asha@test.com");
+        assertThat(claims.role()).isEqualTo(Role.ADMIN);
+        assertThat(claims.enabled()).isTrue();
+        assertThat(claims.expiresAt()).isAfter(claims.issuedAt());
+        assertThat(claims.hasPrincipal()).isTrue();
+    }
+
+    @Test
+    void rejectsExpiredAndForeignTokens() {
+        JwtService expiring = new JwtService(SECRET, -1000L, -1000L);
+        JwtService foreign = new JwtService("another-secret-key-that-is-at-least-32-characters", 3600000L, 86400000L);
+        CustomUserDetails user = new CustomUserDetails(7L, "asha@test.com", Role.STUDENT, true);
+
+        assertThat(jwtService.parseAndValidate(expiring.generateToken(user))).isEmpty();
+        assertThat(jwtService.parseAndValidate(foreign.generateToken(user))).isEmpty();
+        assertThat(jwtService.parseAndValidate("not-a-token")).isEmpty();
+    }
+
+    @Test
+    void tokensWithoutRoleClaimsNeedALookup() {
+        String legacy = Jwts.builder()
+            .subject("7")
+            .claim("email", "asha@test.com")
+            .issuedAt(new Date())
+            .expiration(new Date(System.currentTimeMillis() + 60000))
+            .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+            .compact();
+
+        JwtClaims claims = jwtService.parseAndValidate(legacy).orElseThrow();
+
+        assertThat(claims.userId()).isEqualTo(7L);
+        assertThat(claims.hasPrincipal()).isFalse();
+    }
+}
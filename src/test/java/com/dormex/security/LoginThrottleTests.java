@@ -0,0 +1,136 @@
+package com.dormex.security;
+
+import com.dormex.exception.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for login throttling and the bounded password hashing pool.
+ */
+class LoginThrottleTests {
+
+    @Test
+    void throttlesEachAccountSeparately() {
+        LoginThrottle throttle = new LoginThrottle(3, 100, 60000L, 100);
+
+        for (int i = 0; i < 3; i++) {
+            throttle.acquire("Asha@Test.com", "10.0.0." + i);
+        }
+
+        // Case and address do not matter for the account bucket
+        assertThatThrownBy(() -> throttle.acquire("asha@test.com", "10.0.0.9"))
+            .isInstanceOfSatisfying(TooManyRequestsException.class,
+                e -> assertThat(e.getRetryAfterSeconds()).isBetween(1L, 20L));
+        throttle.acquire("ravi@test.com", "10.0.0.9");
+    }
+
+    @Test
+    void throttlesEachAddressAcrossAccounts() {
+        LoginThrottle throttle = new LoginThrottle(100, 2, 60000L, 100);
+
+        throttle.acquire("a@test.com", "10.0.0.1");
+        throttle.acquire("b@test.com", "10.0.0.1");
+
+        assertThatThrownBy(() -> throttle.acquire("c@test.com", "10.0.0.1"))
+            .isInstanceOf(TooManyRequestsException.class);
+        throttle.acquire("c@test.com", "10.0.0.2");
+    }
+
+    @Test
+    void bucketsRefillOverTheWindow() {
+        LoginThrottle.TokenBucket bucket = new LoginThrottle.TokenBucket(2, 1000L, 0L);
+
+        assertThat(bucket.tryAcquire(0L)).isZero();
+        assertThat(bucket.tryAcquire(0L)).isZero();
+        assertThat(bucket.tryAcquire(400L)).isEqualTo(600L);
+        assertThat(bucket.tryAcquire(1000L)).isZero();
+        assertThat(bucket.tryAcquire(1500L)).isEqualTo(500L);
+        // Never more than the capacity, however long it was idle
+        assertThat(bucket.tryAcquire(100000L)).isZero();
+        assertThat(bucket.tryAcquire(100000L)).isZero();
+        assertThat(bucket.tryAcquire(100000L)).isPositive();
+    }
+
+    @Test
+    void saturatedHashingPoolRejectsImmediately() throws Exception {
+        PasswordHashingPool pool = new PasswordHashingPool(1, 1, 10000L);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<Boolean> running = callers.submit(() -> pool.execute(() -> release.await(10, TimeUnit.SECONDS)));
+            waitFor(() -> pool.stats().active() == 1);
+            Future<Boolean> queued = callers.submit(() -> pool.execute(() -> true));
+            waitFor(() -> pool.stats().queued() == 1);
+
+            assertThatThrownBy(() -> pool.execute(() -> true)).isInstanceOf(TooManyRequestsException.class);
+            assertThat(pool.stats().rejected()).isEqualTo(1);
+
+            release.countDown();
+            assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void batchesWaitForASaturatedPoolInsteadOfFailing() throws Exception {
+        PasswordHashingPool pool = new PasswordHashingPool(1, 1, 10000L);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(3);
+        try {
+            callers.submit(() -> pool.execute(() -> release.await(10, TimeUnit.SECONDS)));
+            waitFor(() -> pool.stats().active() == 1);
+            callers.submit(() -> pool.execute(() -> true));
+            waitFor(() -> pool.stats().queued() == 1);
+
+            List<Callable<Integer>> hashes = List.of(() -> 1, () -> 2, () -> 3);
+            Future<List<Integer>> batch = callers.submit(() -> pool.executeAll(hashes, 5000L));
+            Thread.sleep(50);
+            release.countDown();
+
+            assertThat(batch.get(5, TimeUnit.SECONDS)).containsExactly(1, 2, 3);
+            assertThat(pool.stats().rejected()).isZero();
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void batchesGiveUpAfterTheirTimeout() {
+        PasswordHashingPool pool = new PasswordHashingPool(1, 1, 10000L);
+        try {
+            List<Callable<Boolean>> hashes = List.of(() -> {
+                Thread.sleep(1000);
+                return true;
+            });
+
+            assertThatThrownBy(() -> pool.executeAll(hashes, 50L)).isInstanceOf(TooManyRequestsException.class);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
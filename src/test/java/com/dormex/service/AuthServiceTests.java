@@ -0,0 +1,84 @@
+package com.dormex.service;
+
+import com.dormex.dto.auth.LoginRequest;
+import com.dormex.entity.User;
+import com.dormex.entity.enums.AuthProvider;
+import com.dormex.entity.enums.Role;
+import com.dormex.exception.TooManyRequestsException;
+import com.dormex.repository.RefreshTokenRepository;
+import com.dormex.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Password login tests.
+ * Checks that outdated hashes are upgraded on login and that guessing is throttled.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class AuthServiceTests {
+
+    private static final String PASSWORD = "correct-horse";
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        // A fresh account per test, since attempts are throttled per email for the whole context.
+        // Hashed with a lower cost than the configured strength of 10
+        user = userRepository.save(User.builder()
+            .name("Login Student")
+            .email("login-student-" + System.nanoTime() + "@test.com")
+            .password(new BCryptPasswordEncoder(4).encode(PASSWORD))
+            .role(Role.STUDENT)
+            .authProvider(AuthProvider.LOCAL)
+            .enabled(true)
+            .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshTokenRepository.deleteAll();
+        userRepository.delete(user);
+    }
+
+    @Test
+    void loginRehashesOutdatedPassword() {
+        authService.login(new LoginRequest(user.getEmail(), PASSWORD), "10.1.0.1");
+
+        String stored = userRepository.findById(user.getId()).orElseThrow().getPassword();
+        assertThat(stored).startsWith("$2a$10$");
+        assertThat(new BCryptPasswordEncoder().matches(PASSWORD, stored)).isTrue();
+    }
+
+    @Test
+    void repeatedAttemptsOnOneAccountAreThrottled() {
+        for (int i = 0; i < 5; i++) {
+            String address = "10.2.0." + i;
+            assertThatThrownBy(() -> authService.login(new LoginRequest(user.getEmail(), "wrong"), address))
+                .isInstanceOf(BadCredentialsException.class);
+        }
+
+        // Even the right password is refused until the bucket refills
+        assertThatThrownBy(() -> authService.login(new LoginRequest(user.getEmail(), PASSWORD), "10.2.0.9"))
+            .isInstanceOf(TooManyRequestsException.class);
+    }
+}
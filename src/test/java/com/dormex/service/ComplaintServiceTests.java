@@ -0,0 +1,162 @@
+package com.dormex.service;
+
+import com.dormex.dto.CursorPage;
+import com.dormex.dto.complaint.ComplaintResponse;
+import com.dormex.entity.Complaint;
+import com.dormex.entity.Student;
+import com.dormex.entity.User;
+import com.dormex.entity.enums.ComplaintCategory;
+import com.dormex.entity.enums.ComplaintStatus;
+import com.dormex.entity.enums.Role;
+import com.dormex.exception.BadRequestException;
+import com.dormex.repository.ComplaintRepository;
+import com.dormex.repository.StudentRepository;
+import com.dormex.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Complaint listing tests.
+ * Checks query counts and cursor pagination for complaint listings.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ComplaintServiceTests {
+
+    private static final int COMPLAINTS_PER_STUDENT = 3;
+
+    @Autowired
+    private ComplaintService complaintService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        User wardenOne = saveUser("warden1@test.com", Role.ADMIN);
+        User wardenTwo = saveUser("warden2@test.com", Role.ADMIN);
+
+        for (int i = 0; i < 4; i++) {
+            User user = saveUser("student" + i + "@test.com", Role.STUDENT);
+            Student student = studentRepository.save(Student.builder()
+                .user(user)
+                .rollNumber("R00" + i)
+                .build());
+            for (int j = 0; j < COMPLAINTS_PER_STUDENT; j++) {
+                Long assignee = j == 0 ? null : (j == 1 ? wardenOne.getId() : wardenTwo.getId());
+                complaintRepository.save(Complaint.builder()
+                    .student(student)
+                    .category(ComplaintCategory.MAINTENANCE)
+                    .title("Issue " + j)
+                    .description("Something is broken")
+                    .status(ComplaintStatus.OPEN)
+                    .assignedTo(assignee)
+                    .build());
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void listingComplaintsUsesConstantNumberOfQueries() {
+        List<ComplaintResponse> complaints = complaintService.getAllComplaints(null, null).getItems();
+
+        assertThat(complaints).hasSize(4 * COMPLAINTS_PER_STUDENT);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(complaints).extracting(ComplaintResponse::getStudentName).doesNotContainNull();
+        assertThat(complaints).extracting(ComplaintResponse::getAssignedToName)
+            .containsOnly(null, "Warden warden1@test.com", "Warden warden2@test.com");
+    }
+
+    @Test
+    void listingUnassignedComplaintsSkipsAssigneeLookup() {
+        complaintRepository.findAll().forEach(c -> c.setAssignedTo(null));
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<ComplaintResponse> complaints =
+            complaintService.getComplaintsByStatus(ComplaintStatus.OPEN, null, null).getItems();
+
+        assertThat(complaints).hasSize(4 * COMPLAINTS_PER_STUDENT);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void cursorWalksEveryComplaintExactlyOnceNewestFirst() {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<ComplaintResponse> page = complaintService.getAllComplaints(cursor, 5);
+            assertThat(page.getSize()).isLessThanOrEqualTo(5);
+            page.getItems().forEach(c -> seen.add(c.getId()));
+            cursor = page.getNextCursor();
+            assertThat(page.isHasMore()).isEqualTo(cursor != null);
+        } while (cursor != null);
+
+        List<Long> expected = complaintRepository.findAll().stream()
+            .sorted(Comparator.comparing(Complaint::getCreatedAt).thenComparing(Complaint::getId).reversed())
+            .map(Complaint::getId)
+            .toList();
+        assertThat(seen).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void pageSizeIsCappedAtConfiguredMaximum() {
+        CursorPage<ComplaintResponse> page = complaintService.getPendingComplaints(null, 10_000);
+
+        assertThat(page.getSize()).isEqualTo(4 * COMPLAINTS_PER_STUDENT);
+        assertThat(page.isHasMore()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThatThrownBy(() -> complaintService.getAllComplaints("not-a-cursor", null))
+            .isInstanceOf(BadRequestException.class);
+    }
+
+    private User saveUser(String email, Role role) {
+        return userRepository.save(User.builder()
+            .name((role == Role.ADMIN ? "Warden " : "Student ") + email)
+            .email(email)
+            .password("secret")
+            .role(role)
+            .build());
+    }
+}
@@ -0,0 +1,172 @@
+package com.dormex.service;
+
+import com.dormex.entity.enums.ComplaintCategory;
+import com.dormex.entity.enums.ComplaintStatus;
+import com.dormex.entity.enums.RoomStatus;
+import com.dormex.entity.enums.StudentStatus;
+import com.dormex.repository.BlockRepository;
+import com.dormex.repository.ComplaintRepository;
+import com.dormex.repository.RoomRepository;
+import com.dormex.repository.StudentRepository;
+import com.dormex.repository.projection.StudentStatusCount;
+import com.dormex.service.DashboardCounters.RoomState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the incremental dashboard counters.
+ */
+class DashboardCountersTests {
+
+    private final StudentRepository studentRepository = mock(StudentRepository.class);
+
+    private final DashboardCounters counters = new DashboardCounters(
+        studentRepository,
+        mock(BlockRepository.class),
+        mock(RoomRepository.class),
+        mock(ComplaintRepository.class),
+        mock(PlatformTransactionManager.class));
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void roomTransitionsMoveCapacityAndOccupancyBetweenBuckets() {
+        counters.blockSaved(1L, "Block A", true);
+        RoomState empty = new RoomState(1L, RoomStatus.AVAILABLE, 2, 0);
+        RoomState full = new RoomState(1L, RoomStatus.FULL, 2, 2);
+        RoomState maintenance = new RoomState(1L, RoomStatus.UNDER_MAINTENANCE, 2, 2);
+
+        counters.roomChanged(null, empty);
+        counters.roomChanged(empty, full);
+
+        assertThat(counters.totalRooms()).isEqualTo(1);
+        assertThat(counters.rooms(RoomStatus.FULL)).isEqualTo(1);
+        assertThat(counters.rooms(RoomStatus.AVAILABLE)).isZero();
+        assertThat(counters.capacityInService()).isEqualTo(2);
+        assertThat(counters.totalOccupancy()).isEqualTo(2);
+        assertThat(counters.activeBlockTotals())
+            .containsExactly(new DashboardCounters.BlockTotals(1L, "Block A", 1, 2, 2));
+
+        counters.roomChanged(full, maintenance);
+        assertThat(counters.capacityInService()).isZero();
+
+        counters.roomChanged(maintenance, null);
+        assertThat(counters.totalRooms()).isZero();
+        assertThat(counters.totalOccupancy()).isZero();
+    }
+
+    @Test
+    void updatesAreDeferredUntilCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        counters.studentCreated(StudentStatus.ACTIVE);
+        counters.complaintCreated(ComplaintStatus.OPEN, ComplaintCategory.FOOD);
+        assertThat(counters.totalStudents()).isZero();
+        assertThat(counters.totalComplaints()).isZero();
+
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(counters.students(StudentStatus.ACTIVE)).isEqualTo(1);
+        assertThat(counters.complaints(ComplaintStatus.OPEN)).isEqualTo(1);
+        assertThat(counters.complaints(ComplaintCategory.FOOD)).isEqualTo(1);
+    }
+
+    @Test
+    void rolledBackUpdatesAreDiscarded() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        counters.studentCreated(StudentStatus.ACTIVE);
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(counters.totalStudents()).isZero();
+    }
+
+    @Test
+    void commitsDuringARebuildLandOnTheRebuiltCounters() throws Exception {
+        Thread[] writer = new Thread[1];
+        when(studentRepository.countGroupByStatus()).thenAnswer(invocation -> {
+            // Starts committing while the rebuild is reading, so its row is not counted
+            writer[0] = new Thread(() -> commit(() -> counters.studentCreated(StudentStatus.ACTIVE), null, null));
+            writer[0].start();
+            awaitWaiting(writer[0]);
+            return List.of(count(StudentStatus.ACTIVE, 2));
+        });
+
+        counters.rebuild();
+        writer[0].join(5000);
+
+        assertThat(counters.students(StudentStatus.ACTIVE)).isEqualTo(3);
+    }
+
+    @Test
+    void commitsBeforeTheSnapshotAreNotCountedTwice() throws Exception {
+        List<StudentStatusCount> rows = List.of(count(StudentStatus.ACTIVE, 3));
+        when(studentRepository.countGroupByStatus()).thenReturn(rows);
+        CountDownLatch committing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Commits before the snapshot is read, but its delta is applied only after the rebuild started
+        Thread writer = new Thread(() -> commit(() -> counters.studentCreated(StudentStatus.ACTIVE), committing, release));
+        writer.start();
+        committing.await(5, TimeUnit.SECONDS);
+
+        Thread rebuild = new Thread(counters::rebuild);
+        rebuild.start();
+        awaitWaiting(rebuild);
+        release.countDown();
+        writer.join(5000);
+        rebuild.join(5000);
+
+        assertThat(counters.students(StudentStatus.ACTIVE)).isEqualTo(3);
+    }
+
+    // Runs the write in its own transaction and walks it through the commit callbacks
+    private static void commit(Runnable write, CountDownLatch committing, CountDownLatch release) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            write.run();
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(sync -> sync.beforeCommit(false));
+            if (committing != null) {
+                committing.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static void awaitWaiting(Thread thread) {
+        while (thread.getState() != Thread.State.WAITING && thread.getState() != Thread.State.TERMINATED) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static StudentStatusCount count(StudentStatus status, long count) {
+        StudentStatusCount row = mock(StudentStatusCount.class);
+        when(row.getStatus()).thenReturn(status);
+        when(row.getCount()).thenReturn(count);
+        return row;
+    }
+}
@@ -0,0 +1,221 @@
+package com.dormex.service;
+
+import com.dormex.dto.dashboard.BlockOccupancy;
+import com.dormex.dto.dashboard.ComplaintSummary;
+import com.dormex.dto.dashboard.DashboardStats;
+import com.dormex.entity.Block;
+import com.dormex.entity.Complaint;
+import com.dormex.entity.Room;
+import com.dormex.entity.Student;
+import com.dormex.entity.User;
+import com.dormex.entity.enums.ComplaintCategory;
+import com.dormex.entity.enums.ComplaintStatus;
+import com.dormex.entity.enums.RoomStatus;
+import com.dormex.entity.enums.StudentStatus;
+import com.dormex.repository.BlockRepository;
+import com.dormex.repository.ComplaintRepository;
+import com.dormex.repository.RoomRepository;
+import com.dormex.repository.StudentRepository;
+import com.dormex.repository.UserRepository;
+import com.dormex.repository.projection.BlockOccupancyView;
+import com.dormex.repository.projection.ComplaintStatusCategoryCount;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Dashboard aggregation tests.
+ * Seeds a small hostel, rebuilds the dashboard counters from it and checks
+ * both the numbers and the number of SQL statements each call issues,
+ * using Hibernate statistics.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class DashboardServiceTests {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private DashboardCounters dashboardCounters;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private BlockRepository blockRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Block blockA = blockRepository.save(Block.builder().name("Block A").totalFloors(2).build());
+        Block blockB = blockRepository.save(Block.builder().name("Block B").totalFloors(1).build());
+
+        saveRoom(blockA, "A101", 2, 2, RoomStatus.FULL);
+        saveRoom(blockA, "A102", 3, 1, RoomStatus.OCCUPIED);
+        saveRoom(blockB, "B101", 2, 0, RoomStatus.AVAILABLE);
+
+        Student active = saveStudent("active@test.com", "R001", StudentStatus.ACTIVE);
+        saveStudent("left@test.com", "R002", StudentStatus.LEFT);
+
+        saveComplaint(active, ComplaintCategory.PLUMBING, ComplaintStatus.OPEN);
+        saveComplaint(active, ComplaintCategory.PLUMBING, ComplaintStatus.IN_PROGRESS);
+        saveComplaint(active, ComplaintCategory.FOOD, ComplaintStatus.RESOLVED);
+        saveComplaint(active, ComplaintCategory.NOISE, ComplaintStatus.CLOSED);
+
+        entityManager.flush();
+        entityManager.clear();
+        dashboardCounters.rebuild();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getStatsIsServedFromCountersWithoutQueries() {
+        DashboardStats stats = dashboardService.getStats();
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        assertThat(stats.getTotalStudents()).isEqualTo(2);
+        assertThat(stats.getActiveStudents()).isEqualTo(1);
+        assertThat(stats.getTotalBlocks()).isEqualTo(2);
+        assertThat(stats.getTotalRooms()).isEqualTo(3);
+        assertThat(stats.getAvailableRooms()).isEqualTo(1);
+        assertThat(stats.getOccupiedRooms()).isEqualTo(2);
+        assertThat(stats.getTotalComplaints()).isEqualTo(4);
+        assertThat(stats.getOpenComplaints()).isEqualTo(1);
+        assertThat(stats.getInProgressComplaints()).isEqualTo(1);
+        assertThat(stats.getResolvedComplaints()).isEqualTo(2);
+        assertThat(stats.getOccupancyRate()).isEqualTo(42.86);
+    }
+
+    @Test
+    void blockOccupancyIsServedFromCountersWithoutQueries() {
+        List<BlockOccupancy> occupancy = dashboardService.getBlockOccupancy();
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(occupancy).hasSize(2);
+        assertThat(occupancy.get(0).getBlockName()).isEqualTo("Block A");
+        assertThat(occupancy.get(0).getTotalRooms()).isEqualTo(2);
+        assertThat(occupancy.get(0).getTotalCapacity()).isEqualTo(5);
+        assertThat(occupancy.get(0).getCurrentOccupancy()).isEqualTo(3);
+        assertThat(occupancy.get(0).getOccupancyRate()).isEqualTo(60.0);
+        assertThat(occupancy.get(1).getBlockName()).isEqualTo("Block B");
+        assertThat(occupancy.get(1).getCurrentOccupancy()).isZero();
+    }
+
+    @Test
+    void blockOccupancyIsAggregatedInSingleQuery() {
+        blockRepository.save(Block.builder().name("Block C").totalFloors(1).build());
+        entityManager.flush();
+        statistics.clear();
+
+        List<BlockOccupancyView> blocks = blockRepository.findOccupancyByBlock();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(blocks).extracting(BlockOccupancyView::getTotalRooms).containsExactly(2L, 1L, 0L);
+        assertThat(blocks).extracting(BlockOccupancyView::getTotalCapacity).containsExactly(5L, 2L, 0L);
+    }
+
+    @Test
+    void rebuildQueryCountDoesNotGrowWithBlocks() {
+        dashboardCounters.rebuild();
+        long baseline = statistics.getPrepareStatementCount();
+
+        Block extra = blockRepository.save(Block.builder().name("Block C").totalFloors(1).build());
+        saveRoom(extra, "C101", 1, 0, RoomStatus.AVAILABLE);
+        entityManager.flush();
+        statistics.clear();
+
+        dashboardCounters.rebuild();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(baseline);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void complaintSummaryIsServedFromCountersWithoutQueries() {
+        ComplaintSummary summary = dashboardService.getComplaintSummary();
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(summary.getTotal()).isEqualTo(4);
+        assertThat(summary.getByStatus()).containsEntry("OPEN", 1L).containsEntry("CLOSED", 1L);
+        assertThat(summary.getByCategory())
+            .containsOnly(entry("PLUMBING", 2L), entry("FOOD", 1L), entry("NOISE", 1L));
+    }
+
+    @Test
+    void complaintHistogramIsAggregatedInSingleQuery() {
+        List<ComplaintStatusCategoryCount> rows = complaintRepository.countGroupByStatusAndCategory();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(rows).hasSize(4);
+        assertThat(rows).extracting(ComplaintStatusCategoryCount::getCount).containsOnly(1L);
+    }
+
+    private void saveRoom(Block block, String number, int capacity, int occupancy, RoomStatus status) {
+        roomRepository.save(Room.builder()
+            .block(block)
+            .roomNumber(number)
+            .floor(1)
+            .capacity(capacity)
+            .currentOccupancy(occupancy)
+            .status(status)
+            .build());
+    }
+
+    private Student saveStudent(String email, String rollNumber, StudentStatus status) {
+        User user = userRepository.save(User.builder()
+            .name("Student " + rollNumber)
+            .email(email)
+            .password("secret")
+            .build());
+        return studentRepository.save(Student.builder()
+            .user(user)
+            .rollNumber(rollNumber)
+            .status(status)
+            .build());
+    }
+
+    private void saveComplaint(Student student, ComplaintCategory category, ComplaintStatus status) {
+        complaintRepository.save(Complaint.builder()
+            .student(student)
+            .category(category)
+            .title("Issue")
+            .description("Something is broken")
+            .status(status)
+            .build());
+    }
+}
@@ -0,0 +1,158 @@
+package com.dormex.service;
+
+import com.dormex.exception.TooManyRequestsException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the server-sent events fan-out hub.
+ */
+class EventStreamHubTests {
+
+    private static final int BUFFER_SIZE = 2;
+
+    private static final long SEND_TIMEOUT = 50L;
+
+    private final EventStreamHub hub = new EventStreamHub(new ObjectMapper(), 2, BUFFER_SIZE, 60000L, 10, 2, SEND_TIMEOUT);
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    @Test
+    void broadcastsReachEverySubscriber() throws Exception {
+        RecordingEmitter first = subscribe(1L);
+        RecordingEmitter second = subscribe(2L);
+
+        hub.publishToAll("menu", Map.of("menuId", 7));
+
+        assertThat(first.next()).contains("event:menu").contains("{\"menuId\":7}");
+        assertThat(second.next()).contains("event:menu");
+    }
+
+    @Test
+    void userEventsOnlyReachThatUser() throws Exception {
+        RecordingEmitter owner = subscribe(1L);
+        RecordingEmitter otherDevice = subscribe(1L);
+        RecordingEmitter stranger = subscribe(2L);
+
+        hub.publishToUser(1L, "complaint", Map.of("complaintId", 3));
+
+        assertThat(owner.next()).contains("event:complaint");
+        assertThat(otherDevice.next()).contains("event:complaint");
+        assertThat(stranger.frames.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void slowConsumerIsDisconnectedWithoutHoldingUpOthers() throws Exception {
+        RecordingEmitter slow = subscribe(1L);
+        RecordingEmitter fast = subscribe(2L);
+        slow.blockSends();
+
+        // One frame stuck in the socket plus a full buffer; the next one overflows
+        for (int i = 0; i < BUFFER_SIZE + 2; i++) {
+            hub.publishToAll("menu", Map.of("menuId", i));
+            assertThat(fast.next()).contains("{\"menuId\":" + i + "}");
+        }
+        assertThat(hub.subscriberCount()).isEqualTo(1);
+
+        slow.unblockSends();
+        assertThat(slow.completed.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void clientsStuckInASendDoNotTakeOverTheDispatcher() throws Exception {
+        RecordingEmitter first = subscribe(1L);
+        RecordingEmitter second = subscribe(2L);
+        RecordingEmitter healthy = subscribe(3L);
+        first.blockSends();
+        second.blockSends();
+
+        // Both dispatcher threads end up blocked on a dead peer
+        hub.publishToAll("menu", Map.of("menuId", 1));
+        assertThat(first.sending.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(second.sending.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(SEND_TIMEOUT * 2);
+
+        hub.evictStuckSends();
+
+        assertThat(healthy.next()).contains("{\"menuId\":1}");
+        hub.publishToAll("menu", Map.of("menuId", 2));
+        assertThat(healthy.next()).contains("{\"menuId\":2}");
+        assertThat(hub.subscriberCount()).isEqualTo(1);
+
+        first.unblockSends();
+        second.unblockSends();
+        assertThat(first.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(second.completed.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void limitsStreamsPerUser() {
+        subscribe(1L);
+        subscribe(1L);
+
+        assertThatThrownBy(() -> subscribe(1L)).isInstanceOf(TooManyRequestsException.class);
+        assertThat(hub.subscriberCount()).isEqualTo(2);
+    }
+
+    private RecordingEmitter subscribe(Long userId) {
+        RecordingEmitter emitter = new RecordingEmitter();
+        hub.register(userId, emitter);
+        return emitter;
+    }
+
+    // Records sent frames as text; sends can be held to simulate a client that stopped reading
+    static class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<String> frames = new LinkedBlockingQueue<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+
+        void blockSends() {
+            gate = new CountDownLatch(1);
+        }
+
+        void unblockSends() {
+            gate.countDown();
+        }
+
+        String next() throws InterruptedException {
+            String frame = frames.poll(5, TimeUnit.SECONDS);
+            assertThat(frame).as("frame received").isNotNull();
+            return frame;
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) {
+            sending.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            frames.add(items.stream().map(item -> item.getData().toString()).collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.dormex.service;
+
+import com.dormex.entity.Block;
+import com.dormex.entity.Complaint;
+import com.dormex.entity.Room;
+import com.dormex.entity.Student;
+import com.dormex.entity.User;
+import com.dormex.entity.enums.ComplaintCategory;
+import com.dormex.entity.enums.Role;
+import com.dormex.exception.ResourceNotFoundException;
+import com.dormex.repository.BlockRepository;
+import com.dormex.repository.ComplaintRepository;
+import com.dormex.repository.RoomRepository;
+import com.dormex.repository.StudentRepository;
+import com.dormex.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Export tests.
+ * Checks the CSV and NDJSON output of the streaming export.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ExportServiceTests {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private BlockRepository blockRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        Block block = blockRepository.save(Block.builder().name("Export Block").totalFloors(1).build());
+        Room room = roomRepository.save(Room.builder().block(block).roomNumber("X101").floor(1).capacity(2).build());
+
+        Student asha = saveStudent("Asha, Verma", "EXP001", room);
+        saveStudent("=cmd()", "EXP002", null);
+        complaintRepository.save(Complaint.builder()
+            .student(asha)
+            .category(ComplaintCategory.ELECTRICAL)
+            .title("Fan \"broken\"")
+            .description("Line one\nline two")
+            .build());
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void studentsAreExportedAsCsv() throws Exception {
+        String csv = export(ExportService.Dataset.STUDENTS, ExportService.Format.CSV);
+
+        assertThat(csv).startsWith("id,rollNumber,name,email,phone,department,year,status,block,room,joiningDate,leavingDate\r\n");
+        assertThat(csv).contains(",EXP001,\"Asha, Verma\",exp001@test.com,,Physics,,ACTIVE,Export Block,X101,");
+        // Formula-like text is neutralised for spreadsheets
+        assertThat(csv).contains(",EXP002,'=cmd(),exp002@test.com,,Physics,,ACTIVE,,,");
+    }
+
+    @Test
+    void complaintsAreExportedAsNdjson() throws Exception {
+        String ndjson = export(ExportService.Dataset.COMPLAINTS, ExportService.Format.NDJSON);
+
+        String[] lines = ndjson.split("\n");
+        JsonNode complaint = objectMapper.readTree(lines[lines.length - 1]);
+        assertThat(complaint.get("rollNumber").asText()).isEqualTo("EXP001");
+        assertThat(complaint.get("title").asText()).isEqualTo("Fan \"broken\"");
+        assertThat(complaint.get("description").asText()).isEqualTo("Line one\nline two");
+        assertThat(complaint.get("status").asText()).isEqualTo("OPEN");
+        assertThat(complaint.get("createdAt").isTextual()).isTrue();
+    }
+
+    @Test
+    void unknownDatasetIsNotFound() {
+        assertThatThrownBy(() -> ExportService.Dataset.from("payments"))
+            .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(ExportService.Dataset.from("Rooms")).isEqualTo(ExportService.Dataset.ROOMS);
+    }
+
+    private String export(ExportService.Dataset dataset, ExportService.Format format) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        exportService.export(dataset, format, output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private Student saveStudent(String name, String rollNumber, Room room) {
+        User user = userRepository.save(User.builder()
+            .name(name)
+            .email(rollNumber.toLowerCase() + "@test.com")
+            .password("secret")
+            .role(Role.STUDENT)
+            .build());
+        return studentRepository.save(Student.builder()
+            .user(user)
+            .rollNumber(rollNumber)
+            .department("Physics")
+            .roomId(room != null ? room.getId() : null)
+            .build());
+    }
+}
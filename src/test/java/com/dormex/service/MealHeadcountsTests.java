@@ -0,0 +1,104 @@
+package com.dormex.service;
+
+import com.dormex.entity.enums.MealType;
+import com.dormex.entity.enums.StudentStatus;
+import com.dormex.repository.MealOptOutRepository;
+import com.dormex.repository.StudentRepository;
+import com.dormex.repository.projection.MealOptOutView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the opt-out bitsets behind meal headcounts.
+ */
+class MealHeadcountsTests {
+
+    private static final LocalDate TOMORROW = LocalDate.now().plusDays(1);
+
+    private final StudentRepository studentRepository = mock(StudentRepository.class);
+    private final MealOptOutRepository optOutRepository = mock(MealOptOutRepository.class);
+
+    private final MealHeadcounts headcounts = new MealHeadcounts(studentRepository, optOutRepository);
+
+    @BeforeEach
+    void setUp() {
+        when(studentRepository.findIdsByStatus(StudentStatus.ACTIVE)).thenReturn(List.of(1L, 2L, 3L, 70L));
+        when(optOutRepository.findFrom(any())).thenReturn(List.of(
+            optOut(1L, TOMORROW, MealType.LUNCH),
+            optOut(70L, TOMORROW, MealType.LUNCH),
+            optOut(2L, TOMORROW, MealType.DINNER),
+            // Left since opting out, so no longer counted either way
+            optOut(5L, TOMORROW, MealType.LUNCH)));
+        headcounts.rebuild();
+    }
+
+    @Test
+    void headcountsAreActiveStudentsLessTheirOptOuts() {
+        assertThat(headcounts.headcount(TOMORROW, MealType.LUNCH)).isEqualTo(new MealHeadcounts.Headcount(4, 2));
+        assertThat(headcounts.headcount(TOMORROW, MealType.DINNER).expected()).isEqualTo(3);
+        assertThat(headcounts.headcount(TOMORROW, MealType.BREAKFAST).expected()).isEqualTo(4);
+    }
+
+    @Test
+    void optOutsAndCancellationsFlipSingleBits() {
+        headcounts.optedOut(3L, TOMORROW, MealType.BREAKFAST);
+        headcounts.optedOut(3L, TOMORROW, MealType.BREAKFAST);
+        headcounts.optOutCancelled(1L, TOMORROW, MealType.LUNCH);
+
+        assertThat(headcounts.headcount(TOMORROW, MealType.BREAKFAST).optedOut()).isEqualTo(1);
+        assertThat(headcounts.headcount(TOMORROW, MealType.LUNCH).optedOut()).isEqualTo(1);
+    }
+
+    @Test
+    void followsStudentStatusChanges() {
+        headcounts.studentStatusChanged(70L, StudentStatus.LEFT);
+        headcounts.studentStatusChanged(5L, StudentStatus.ACTIVE);
+        headcounts.studentDeleted(2L);
+
+        assertThat(headcounts.headcount(TOMORROW, MealType.LUNCH)).isEqualTo(new MealHeadcounts.Headcount(3, 2));
+        assertThat(headcounts.headcount(TOMORROW, MealType.DINNER)).isEqualTo(new MealHeadcounts.Headcount(3, 0));
+    }
+
+    @Test
+    void flipsDuringARebuildAreReplayedOntoTheNewSets() {
+        List<MealOptOutView> loaded = List.of(optOut(1L, TOMORROW, MealType.LUNCH));
+        when(optOutRepository.findFrom(any())).thenAnswer(invocation -> {
+            // Commit after the rows were read but before the new sets are swapped in
+            headcounts.optedOut(2L, TOMORROW, MealType.LUNCH);
+            headcounts.optOutCancelled(1L, TOMORROW, MealType.LUNCH);
+            headcounts.studentStatusChanged(3L, StudentStatus.LEFT);
+            return loaded;
+        });
+
+        headcounts.rebuild();
+
+        assertThat(headcounts.headcount(TOMORROW, MealType.LUNCH)).isEqualTo(new MealHeadcounts.Headcount(3, 1));
+    }
+
+    private static MealOptOutView optOut(Long studentId, LocalDate date, MealType mealType) {
+        return new MealOptOutView() {
+            @Override
+            public Long getStudentId() {
+                return studentId;
+            }
+
+            @Override
+            public LocalDate getMealDate() {
+                return date;
+            }
+
+            @Override
+            public MealType getMealType() {
+                return mealType;
+            }
+        };
+    }
+}
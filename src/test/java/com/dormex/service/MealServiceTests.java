@@ -0,0 +1,239 @@
+package com.dormex.service;
+
+import com.dormex.dto.meal.MealAttendanceRequest;
+import com.dormex.dto.meal.MealForecastResponse;
+import com.dormex.dto.meal.MealOptOutRequest;
+import com.dormex.dto.menu.CreateMenuRequest;
+import com.dormex.dto.menu.MenuResponse;
+import com.dormex.dto.student.CreateStudentRequest;
+import com.dormex.dto.student.StudentResponse;
+import com.dormex.entity.MealAttendance;
+import com.dormex.entity.enums.DayOfWeek;
+import com.dormex.entity.enums.MealType;
+import com.dormex.entity.enums.StudentStatus;
+import com.dormex.exception.BadRequestException;
+import com.dormex.repository.MealAttendanceRepository;
+import com.dormex.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Meal opt-out and forecast tests.
+ * Checks that opt-outs and status changes reach the headcounts without
+ * counting rows, and that forecasts scale headcounts by past attendance.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class MealServiceTests {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private MealService mealService;
+
+    @Autowired
+    private MealHeadcounts mealHeadcounts;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private MessMenuService menuService;
+
+    @Autowired
+    private MealAttendanceRepository attendanceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<StudentResponse> students = new ArrayList<>();
+    private final List<MenuResponse> menus = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            CreateStudentRequest request = new CreateStudentRequest();
+            request.setName("Diner " + i);
+            request.setEmail("diner" + i + "@test.com");
+            request.setPassword("secret" + i);
+            request.setRollNumber("MEAL00" + i);
+            students.add(studentService.createStudent(request));
+        }
+        menus.add(createMenu(MealType.LUNCH, "Rice, Dal"));
+        menus.add(createMenu(MealType.DINNER, "Roti, Paneer"));
+        mealHeadcounts.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        attendanceRepository.deleteAll();
+        menus.forEach(menu -> menuService.deleteMenu(menu.getId()));
+        students.forEach(student -> {
+            studentService.deleteStudent(student.getId());
+            userRepository.deleteById(student.getUserId());
+        });
+    }
+
+    @Test
+    void optOutsReachTheForecastWithoutCountingRows() {
+        MealForecastResponse before = forecast(MealType.LUNCH);
+
+        mealService.optOut(userId(0), optOut(TODAY, MealType.LUNCH));
+        mealService.optOut(userId(1), optOut(TODAY, MealType.LUNCH));
+        mealService.optOut(userId(1), optOut(TODAY, MealType.LUNCH));
+        mealService.cancelOptOut(userId(0), TODAY, MealType.LUNCH);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        MealForecastResponse after = forecast(MealType.LUNCH);
+
+        // Only the attendance history is read; headcounts come from the bitsets
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(after.getOptedOut()).isEqualTo(before.getOptedOut() + 1);
+        assertThat(after.getExpected()).isEqualTo(before.getExpected() - 1);
+        assertThat(after.getItems()).containsExactly("Rice", "Dal");
+        assertThat(mealService.getMyOptOuts(userId(1))).hasSize(1);
+    }
+
+    @Test
+    void concurrentIdenticalOptOutsAllSucceed() throws Exception {
+        int before = forecast(MealType.DINNER).getOptedOut();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return mealService.optOut(userId(0), optOut(TODAY, MealType.DINNER)).getId();
+                }));
+            }
+            start.countDown();
+            List<Long> ids = new ArrayList<>();
+            for (Future<Long> future : futures) {
+                ids.add(future.get(30, TimeUnit.SECONDS));
+            }
+            assertThat(ids).containsOnly(ids.get(0));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(mealService.getMyOptOuts(userId(0))).hasSize(1);
+        assertThat(forecast(MealType.DINNER).getOptedOut()).isEqualTo(before + 1);
+    }
+
+    @Test
+    void studentsWhoLeaveAreNoLongerCounted() {
+        mealService.optOut(userId(2), optOut(TODAY, MealType.DINNER));
+        MealForecastResponse before = forecast(MealType.DINNER);
+
+        studentService.updateStudentStatus(students.get(2).getId(), StudentStatus.LEFT, null);
+
+        MealForecastResponse after = forecast(MealType.DINNER);
+        assertThat(after.getEnrolled()).isEqualTo(before.getEnrolled() - 1);
+        assertThat(after.getOptedOut()).isEqualTo(before.getOptedOut() - 1);
+        assertThat(after.getExpected()).isEqualTo(before.getExpected());
+    }
+
+    @Test
+    void forecastsScaleHeadcountsByPastAttendance() {
+        // Same weekday in past weeks for lunch; only other weekdays for dinner
+        saveAttendance(TODAY.minusWeeks(1), MealType.LUNCH, 40, 50);
+        saveAttendance(TODAY.minusWeeks(2), MealType.LUNCH, 30, 50);
+        saveAttendance(TODAY.minusDays(3), MealType.LUNCH, 50, 50);
+        saveAttendance(TODAY.minusDays(2), MealType.DINNER, 45, 50);
+
+        MealForecastResponse lunch = forecast(MealType.LUNCH);
+        assertThat(lunch.getSamples()).isEqualTo(2);
+        assertThat(lunch.getAttendanceRate()).isEqualTo(0.7);
+        assertThat(lunch.getPortions()).isEqualTo((int) Math.ceil(lunch.getExpected() * 0.7));
+
+        MealForecastResponse dinner = forecast(MealType.DINNER);
+        assertThat(dinner.getSamples()).isEqualTo(1);
+        assertThat(dinner.getAttendanceRate()).isEqualTo(0.9);
+    }
+
+    @Test
+    void recordedAttendanceKeepsTheExpectedHeadcount() {
+        mealService.optOut(userId(0), optOut(TODAY, MealType.LUNCH));
+        int expected = forecast(MealType.LUNCH).getExpected();
+
+        MealAttendanceRequest request = new MealAttendanceRequest();
+        request.setDate(TODAY);
+        request.setMealType(MealType.LUNCH);
+        request.setServed(2);
+
+        assertThat(mealService.recordAttendance(request).getExpected()).isEqualTo(expected);
+        request.setServed(1);
+        assertThat(mealService.recordAttendance(request).getServed()).isEqualTo(1);
+        assertThat(attendanceRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsMealsThatCannotBeSkipped() {
+        assertThatThrownBy(() -> mealService.optOut(userId(0), optOut(TODAY, MealType.SNACKS)))
+            .isInstanceOf(BadRequestException.class)
+            .hasMessageContaining("No SNACKS is served");
+        assertThatThrownBy(() -> mealService.optOut(userId(0), optOut(TODAY.minusDays(1), MealType.LUNCH)))
+            .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> mealService.optOut(userId(0), optOut(TODAY.plusDays(15), MealType.LUNCH)))
+            .isInstanceOf(BadRequestException.class);
+    }
+
+    private MealForecastResponse forecast(MealType mealType) {
+        return mealService.getForecast(1).stream()
+            .filter(meal -> meal.getMealType() == mealType)
+            .findFirst()
+            .orElseThrow();
+    }
+
+    private Long userId(int student) {
+        return students.get(student).getUserId();
+    }
+
+    private MenuResponse createMenu(MealType mealType, String items) {
+        CreateMenuRequest request = new CreateMenuRequest();
+        request.setDayOfWeek(DayOfWeek.valueOf(TODAY.getDayOfWeek().name()));
+        request.setMealType(mealType);
+        request.setItems(items);
+        return menuService.createMenu(request);
+    }
+
+    private void saveAttendance(LocalDate date, MealType mealType, int served, int expected) {
+        attendanceRepository.save(MealAttendance.builder()
+            .mealDate(date)
+            .mealType(mealType)
+            .served(served)
+            .expected(expected)
+            .build());
+    }
+
+    private static MealOptOutRequest optOut(LocalDate date, MealType mealType) {
+        MealOptOutRequest request = new MealOptOutRequest();
+        request.setDate(date);
+        request.setMealType(mealType);
+        return request;
+    }
+}
@@ -0,0 +1,268 @@
+package com.dormex.service;
+
+import com.dormex.dto.menu.CreateMenuRequest;
+import com.dormex.dto.menu.MenuItemRequest;
+import com.dormex.dto.menu.MenuOverrideRequest;
+import com.dormex.dto.menu.MenuResponse;
+import com.dormex.dto.menu.UpdateMenuRequest;
+import com.dormex.entity.User;
+import com.dormex.entity.enums.AuthProvider;
+import com.dormex.entity.enums.DayOfWeek;
+import com.dormex.entity.enums.FoodTag;
+import com.dormex.entity.enums.MealType;
+import com.dormex.entity.enums.Role;
+import com.dormex.exception.BadRequestException;
+import com.dormex.repository.MenuItemRepository;
+import com.dormex.repository.MenuOverrideRepository;
+import com.dormex.repository.UserRepository;
+import com.dormex.security.CustomUserDetails;
+import com.dormex.security.JwtService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Menu calendar tests.
+ * Checks that polling the menus is answered from memory, with 304s for
+ * unchanged menus, that menu writes are visible on the next poll, and that
+ * dated overrides replace the weekly menu only on the dates they cover.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MenuCalendarTests {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MessMenuService menuService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MenuOverrideRepository overrideRepository;
+
+    @Autowired
+    private MenuItemRepository itemRepository;
+
+    @Autowired
+    private MenuItemService menuItemService;
+
+    private User user;
+    private String token;
+    private MenuResponse menu;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+            .name("Menu Reader")
+            .email("menu-reader@test.com")
+            .password("secret")
+            .role(Role.ADMIN)
+            .authProvider(AuthProvider.LOCAL)
+            .enabled(true)
+            .build());
+        token = "Bearer " + jwtService.generateToken(new CustomUserDetails(user));
+
+        CreateMenuRequest request = new CreateMenuRequest();
+        request.setDayOfWeek(DayOfWeek.valueOf(TODAY.getDayOfWeek().name()));
+        request.setMealType(MealType.BREAKFAST);
+        request.setItems("Poha, Tea");
+        menu = menuService.createMenu(request);
+    }
+
+    @AfterEach
+    void tearDown() {
+        overrideRepository.findAll().forEach(override -> menuService.deleteOverride(override.getId()));
+        menuService.deleteMenu(menu.getId());
+        userRepository.delete(user);
+        itemRepository.deleteAll();
+    }
+
+    @Test
+    void unchangedMenuIsServedFromMemory() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/menu/weekly").header(HttpHeaders.AUTHORIZATION, token))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=60, must-revalidate, private"))
+            .andExpect(content().string(containsString("Poha")))
+            .andReturn();
+        String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).startsWith("\"");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/api/menu/weekly").header(HttpHeaders.AUTHORIZATION, token)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(content().bytes(new byte[0]));
+        mockMvc.perform(get("/api/menu/weekly").header(HttpHeaders.AUTHORIZATION, token))
+            .andExpect(status().isOk())
+            .andExpect(content().bytes(first.getResponse().getContentAsByteArray()));
+        mockMvc.perform(get("/api/menu/today").header(HttpHeaders.AUTHORIZATION, token))
+            .andExpect(status().isOk());
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void updatesChangeTheETag() throws Exception {
+        String before = mockMvc.perform(get("/api/menu/weekly").header(HttpHeaders.AUTHORIZATION, token))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        UpdateMenuRequest update = new UpdateMenuRequest();
+        update.setItems("Upma, Coffee");
+        menuService.updateMenu(menu.getId(), update, null);
+
+        mockMvc.perform(get("/api/menu/weekly").header(HttpHeaders.AUTHORIZATION, token)
+                .header(HttpHeaders.IF_NONE_MATCH, before))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("Upma")));
+    }
+
+    @Test
+    void overridesReplaceTheWeeklyMenuOnTheirDates() throws Exception {
+        MenuOverrideRequest request = new MenuOverrideRequest();
+        request.setStartDate(TODAY);
+        request.setMealType(MealType.BREAKFAST);
+        request.setItems("Festival Halwa, Puri");
+        Long overrideId = menuService.createOverride(request).getId();
+
+        mockMvc.perform(get("/api/menu/today").header(HttpHeaders.AUTHORIZATION, token))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("Festival Halwa")))
+            .andExpect(content().string(not(containsString("Poha"))));
+        mockMvc.perform(get("/api/menu/date/" + TODAY.plusDays(7)).header(HttpHeaders.AUTHORIZATION, token))
+            .andExpect(content().string(containsString("Poha")));
+        mockMvc.perform(get("/api/menu/weekly").header(HttpHeaders.AUTHORIZATION, token))
+            .andExpect(content().string(not(containsString("Festival Halwa"))));
+
+        menuService.deleteOverride(overrideId);
+
+        mockMvc.perform(get("/api/menu/date/" + TODAY).header(HttpHeaders.AUTHORIZATION, token))
+            .andExpect(content().string(containsString("Poha")));
+    }
+
+    @Test
+    void overrideEditsOnlyReloadOverrides() throws Exception {
+        String unaffected = mockMvc.perform(get("/api/menu/date/" + TODAY.plusDays(1)).header(HttpHeaders.AUTHORIZATION, token))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        MenuOverrideRequest request = new MenuOverrideRequest();
+        request.setStartDate(TODAY.plusDays(3));
+        request.setEndDate(TODAY.plusDays(4));
+        request.setMealType(MealType.DINNER);
+        request.setItems("Biryani");
+        menuService.createOverride(request);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/api/menu/date/" + TODAY.plusDays(4)).header(HttpHeaders.AUTHORIZATION, token))
+            .andExpect(content().string(containsString("Biryani")));
+        mockMvc.perform(get("/api/menu/date/" + TODAY.plusDays(1)).header(HttpHeaders.AUTHORIZATION, token)
+                .header(HttpHeaders.IF_NONE_MATCH, unaffected))
+            .andExpect(status().isNotModified());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void excludedTagsLeaveOutTaggedDishes() throws Exception {
+        MenuItemRequest chikki = new MenuItemRequest();
+        chikki.setName("Peanut Chikki");
+        chikki.setTags(EnumSet.of(FoodTag.VEG, FoodTag.NUTS));
+        menuItemService.createItem(chikki);
+        UpdateMenuRequest update = new UpdateMenuRequest();
+        update.setItems("Poha, peanut chikki, Tea");
+        menuService.updateMenu(menu.getId(), update, null);
+
+        mockMvc.perform(get("/api/menu/today").param("exclude", "nuts").header(HttpHeaders.AUTHORIZATION, token))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("Poha, Tea")))
+            .andExpect(content().string(containsString("\"untaggedItems\":[\"Poha\",\"Tea\"]")))
+            .andExpect(content().string(not(containsString("chikki"))));
+        mockMvc.perform(get("/api/menu/today").header(HttpHeaders.AUTHORIZATION, token))
+            .andExpect(content().string(containsString("peanut chikki")));
+        mockMvc.perform(get("/api/menu/search").param("item", "Chikki").header(HttpHeaders.AUTHORIZATION, token))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("\"menuId\":" + menu.getId())));
+        mockMvc.perform(get("/api/menu/today").param("exclude", "shellfish").header(HttpHeaders.AUTHORIZATION, token))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void renamedItemsKeepTheirTagsOnMenus() throws Exception {
+        MenuItemRequest chikki = new MenuItemRequest();
+        chikki.setName("Peanut Chikki");
+        chikki.setTags(EnumSet.of(FoodTag.VEG, FoodTag.NUTS));
+        Long itemId = menuItemService.createItem(chikki).getId();
+        UpdateMenuRequest update = new UpdateMenuRequest();
+        update.setItems("Poha, peanut chikki, Tea");
+        menuService.updateMenu(menu.getId(), update, null);
+        MenuOverrideRequest request = new MenuOverrideRequest();
+        request.setStartDate(TODAY.plusDays(1));
+        request.setMealType(MealType.LUNCH);
+        request.setItems("Peanut Chikki");
+        Long overrideId = menuService.createOverride(request).getId();
+
+        chikki.setName("Groundnut Chikki");
+        menuService.updateItem(itemId, chikki, null);
+
+        assertThat(menuService.getMenuById(menu.getId()).getItems()).isEqualTo("Poha, Groundnut Chikki, Tea");
+        assertThat(overrideRepository.findById(overrideId).orElseThrow().getItems()).isEqualTo("Groundnut Chikki");
+        mockMvc.perform(get("/api/menu/today").param("exclude", "nuts").header(HttpHeaders.AUTHORIZATION, token))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("Poha, Tea")))
+            .andExpect(content().string(not(containsString("Chikki"))));
+    }
+
+    @Test
+    void overlappingOverridesAreRejected() {
+        MenuOverrideRequest request = new MenuOverrideRequest();
+        request.setStartDate(TODAY.plusDays(1));
+        request.setEndDate(TODAY.plusDays(3));
+        request.setMealType(MealType.LUNCH);
+        request.setItems("Thali");
+        menuService.createOverride(request);
+
+        request.setStartDate(TODAY.plusDays(3));
+        request.setEndDate(TODAY.plusDays(5));
+        assertThatThrownBy(() -> menuService.createOverride(request)).isInstanceOf(BadRequestException.class);
+
+        request.setMealType(MealType.DINNER);
+        assertThat(menuService.createOverride(request).getEndDate()).isEqualTo(TODAY.plusDays(5));
+    }
+}
@@ -0,0 +1,122 @@
+package com.dormex.service;
+
+import com.dormex.dto.menu.MenuItemMatch;
+import com.dormex.entity.MenuItem;
+import com.dormex.entity.MenuOverride;
+import com.dormex.entity.MessMenu;
+import com.dormex.entity.enums.DayOfWeek;
+import com.dormex.entity.enums.FoodTag;
+import com.dormex.entity.enums.MealType;
+import com.dormex.repository.MenuItemRepository;
+import com.dormex.repository.MenuOverrideRepository;
+import com.dormex.repository.MessMenuRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the menu item inverted index.
+ */
+class MenuItemIndexTests {
+
+    private final MessMenuRepository menuRepository = mock(MessMenuRepository.class);
+    private final MenuItemRepository itemRepository = mock(MenuItemRepository.class);
+    private final MenuOverrideRepository overrideRepository = mock(MenuOverrideRepository.class);
+
+    private final MenuItemIndex index = new MenuItemIndex(menuRepository, itemRepository, overrideRepository);
+
+    @BeforeEach
+    void setUp() {
+        when(menuRepository.findAllByOrderByDayOfWeekAscMealTypeAsc()).thenReturn(List.of(
+            menu(1L, DayOfWeek.MONDAY, MealType.LUNCH, "Rice, Paneer Butter Masala, Roti"),
+            menu(2L, DayOfWeek.WEDNESDAY, MealType.DINNER, "Chicken Curry,  paneer   butter masala"),
+            menu(3L, DayOfWeek.TUESDAY, MealType.SNACKS, "Peanut Chikki, Tea")));
+        when(itemRepository.findAllWithTags()).thenReturn(List.of(
+            item("Paneer Butter Masala", FoodTag.VEG, FoodTag.DAIRY),
+            item("Chicken Curry", FoodTag.NON_VEG),
+            item("Peanut Chikki", FoodTag.VEG, FoodTag.NUTS)));
+        when(overrideRepository.findByEndDateGreaterThanEqualOrderByStartDateAscMealTypeAsc(any())).thenReturn(List.of(
+            MenuOverride.builder().id(9L).mealType(MealType.DINNER).items("Biryani, Paneer Butter Masala")
+                .startDate(LocalDate.now().plusDays(2)).endDate(LocalDate.now().plusDays(2)).build()));
+        index.rebuild();
+    }
+
+    @Test
+    void refreshesOncePerTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.refresh();
+            index.refresh();
+
+            assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(1);
+            TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            assertThat(TransactionSynchronizationManager.hasResource(index)).isFalse();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void findsSlotsByAnyWordOfTheDish() {
+        List<MenuItemMatch> matches = index.search("PANEER", Set.of());
+
+        assertThat(matches).extracting(MenuItemMatch::getDayOfWeek)
+            .containsExactly(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, null);
+        assertThat(matches.get(0).getTags()).containsExactlyInAnyOrder(FoodTag.VEG, FoodTag.DAIRY);
+        assertThat(index.search("butter paneer", Set.of())).hasSize(3);
+        assertThat(index.search("paneer tikka", Set.of())).isEmpty();
+    }
+
+    @Test
+    void findsDishesServedOnlyByOverrides() {
+        assertThat(index.search("biryani", Set.of())).singleElement().satisfies(match -> {
+            assertThat(match.getOverrideId()).isEqualTo(9L);
+            assertThat(match.getStartDate()).isEqualTo(LocalDate.now().plusDays(2));
+            assertThat(match.getDayOfWeek()).isNull();
+        });
+        assertThat(index.search("paneer", Set.of())).extracting(MenuItemMatch::getOverrideId)
+            .containsExactly(null, null, 9L);
+    }
+
+    @Test
+    void filtersByTags() {
+        assertThat(index.search(null, EnumSet.of(FoodTag.NON_VEG)))
+            .extracting(MenuItemMatch::getItem).containsExactly("Chicken Curry");
+        assertThat(index.search("chikki", EnumSet.of(FoodTag.VEG)))
+            .extracting(MenuItemMatch::getMenuId).containsExactly(3L);
+        assertThat(index.search("chikki", EnumSet.of(FoodTag.JAIN))).isEmpty();
+    }
+
+    @Test
+    void collectsItemsToExclude() {
+        assertThat(index.itemsTagged(EnumSet.of(FoodTag.NUTS, FoodTag.DAIRY)))
+            .containsExactlyInAnyOrder("peanut chikki", "paneer butter masala");
+        assertThat(index.itemsTagged(EnumSet.of(FoodTag.SEAFOOD))).isEmpty();
+        assertThat(index.tagged("peanut chikki")).isTrue();
+        assertThat(index.tagged("biryani")).isFalse();
+    }
+
+    private static MessMenu menu(Long id, DayOfWeek day, MealType meal, String items) {
+        return MessMenu.builder().id(id).dayOfWeek(day).mealType(meal).items(items).build();
+    }
+
+    private static MenuItem item(String name, FoodTag... tags) {
+        return MenuItem.builder()
+            .name(name)
+            .nameKey(MenuItemIndex.key(name))
+            .tags(EnumSet.copyOf(List.of(tags)))
+            .build();
+    }
+}
@@ -0,0 +1,150 @@
+package com.dormex.service;
+
+import com.dormex.dto.room.BlockResponse;
+import com.dormex.dto.room.CreateBlockRequest;
+import com.dormex.entity.Block;
+import com.dormex.entity.Room;
+import com.dormex.exception.PreconditionFailedException;
+import com.dormex.repository.BlockRepository;
+import com.dormex.repository.RoomRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Optimistic locking tests.
+ * Checks If-Match version checks, stale write detection and the conflict retry aspect.
+ * Not transactional: version checks happen when each call commits.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OptimisticLockingTests {
+
+    @Autowired
+    private BlockService blockService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private BlockRepository blockRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private FlakyUpdate flakyUpdate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long blockId;
+
+    @AfterEach
+    void tearDown() {
+        if (blockId != null) {
+            blockRepository.deleteById(blockId);
+        }
+    }
+
+    @Test
+    void ifMatchMustMatchCurrentVersion() {
+        BlockResponse created = blockService.createBlock(new CreateBlockRequest("Versioned Block", null, 2));
+        blockId = created.getId();
+        CreateBlockRequest update = new CreateBlockRequest("Versioned Block", "Renovated", 3);
+
+        BlockResponse updated = blockService.updateBlock(blockId, update, created.getVersion());
+        assertThat(updated.getVersion()).isEqualTo(created.getVersion() + 1);
+
+        // A second client still holding the first version must not overwrite the change
+        assertThatThrownBy(() -> blockService.updateBlock(blockId, update, created.getVersion()))
+            .isInstanceOf(PreconditionFailedException.class);
+        // Without If-Match the last writer wins, as before
+        update.setTotalFloors(4);
+        assertThat(blockService.updateBlock(blockId, update, null).getVersion()).isEqualTo(updated.getVersion() + 1);
+    }
+
+    @Test
+    void staleCopyCannotOverwriteOccupancy() {
+        Block block = blockRepository.save(Block.builder().name("Stale Block").totalFloors(1).build());
+        blockId = block.getId();
+        Room stale = roomRepository.save(Room.builder().block(block).roomNumber("S101").floor(1).capacity(2).build());
+
+        roomService.incrementOccupancy(stale.getId());
+        stale.setAmenities("Balcony");
+
+        assertThatThrownBy(() -> roomRepository.save(stale))
+            .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(roomRepository.findById(stale.getId()).orElseThrow().getCurrentOccupancy()).isEqualTo(1);
+        roomRepository.deleteById(stale.getId());
+    }
+
+    @Test
+    void conflictsAreRetried() {
+        flakyUpdate.reset(2);
+
+        assertThat(flakyUpdate.update()).isEqualTo(3);
+    }
+
+    @Test
+    void retriesGiveUpAfterMaxAttempts() {
+        flakyUpdate.reset(Integer.MAX_VALUE);
+
+        assertThatThrownBy(() -> flakyUpdate.update()).isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(flakyUpdate.calls()).isEqualTo(3);
+    }
+
+    @Test
+    void noRetryInsideCallerTransaction() {
+        flakyUpdate.reset(1);
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> flakyUpdate.update()))
+            .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(flakyUpdate.calls()).isEqualTo(1);
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        FlakyUpdate flakyUpdate() {
+            return new FlakyUpdate();
+        }
+    }
+
+    // Fails with a version conflict a set number of times, then succeeds
+    static class FlakyUpdate {
+
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile int failures;
+
+        void reset(int failures) {
+            this.failures = failures;
+            calls.set(0);
+        }
+
+        int calls() {
+            return calls.get();
+        }
+
+        @RetryOnConflict
+        public int update() {
+            int call = calls.incrementAndGet();
+            if (call <= failures) {
+                throw new OptimisticLockingFailureException("Simulated conflict");
+            }
+            return call;
+        }
+    }
+}
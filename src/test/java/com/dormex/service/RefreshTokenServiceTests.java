@@ -0,0 +1,134 @@
+package com.dormex.service;
+
+import com.dormex.entity.User;
+import com.dormex.entity.enums.AuthProvider;
+import com.dormex.entity.enums.Role;
+import com.dormex.exception.BadRequestException;
+import com.dormex.repository.RefreshTokenRepository;
+import com.dormex.repository.UserRepository;
+import com.dormex.security.CustomUserDetails;
+import com.dormex.security.JwtService;
+import com.dormex.security.RevokedSessions;
+import com.dormex.security.UserDetailsCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Refresh token rotation tests.
+ * Checks single use, reuse detection and that revoked sessions lose their access tokens.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RefreshTokenServiceTests {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private RevokedSessions revokedSessions;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+            .name("Refresh Admin")
+            .email("refresh-admin@test.com")
+            .password("secret")
+            .role(Role.ADMIN)
+            .authProvider(AuthProvider.LOCAL)
+            .enabled(true)
+            .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshTokenRepository.deleteAll();
+        userRepository.delete(user);
+        userDetailsCache.evict(user.getId());
+    }
+
+    @Test
+    void rotatesWithinTheSameSession() {
+        RefreshTokenService.TokenPair first = refreshTokenService.issue(new CustomUserDetails(user));
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(first.refreshToken());
+
+        assertThat(rotation.user().getId()).isEqualTo(user.getId());
+        assertThat(rotation.tokens().refreshToken()).isNotEqualTo(first.refreshToken());
+        assertThat(sessionOf(rotation.tokens().accessToken())).isEqualTo(sessionOf(first.accessToken()));
+    }
+
+    @Test
+    void reusedRefreshTokenRevokesTheSession() throws Exception {
+        RefreshTokenService.TokenPair first = refreshTokenService.issue(new CustomUserDetails(user));
+        RefreshTokenService.TokenPair second = refreshTokenService.rotate(first.refreshToken()).tokens();
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(first.refreshToken()))
+            .isInstanceOf(BadRequestException.class);
+
+        // The legitimate holder's newer tokens die with the family
+        assertThat(revokedSessions.isRevoked(sessionOf(second.accessToken()))).isTrue();
+        assertThatThrownBy(() -> refreshTokenService.rotate(second.refreshToken()))
+            .isInstanceOf(BadRequestException.class);
+        mockMvc.perform(get("/api/dashboard/stats").header("Authorization", "Bearer " + second.accessToken()))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void logoutAndRevokeAllEndSessions() {
+        RefreshTokenService.TokenPair first = refreshTokenService.issue(new CustomUserDetails(user));
+        RefreshTokenService.TokenPair other = refreshTokenService.issue(new CustomUserDetails(user));
+
+        refreshTokenService.logout(first.refreshToken());
+        assertThatThrownBy(() -> refreshTokenService.rotate(first.refreshToken()))
+            .isInstanceOf(BadRequestException.class);
+        assertThat(refreshTokenService.rotate(other.refreshToken()).tokens()).isNotNull();
+
+        RefreshTokenService.TokenPair third = refreshTokenService.issue(new CustomUserDetails(user));
+        refreshTokenService.revokeAllForUser(user.getId());
+        assertThatThrownBy(() -> refreshTokenService.rotate(third.refreshToken()))
+            .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void refreshTokenIsNotAcceptedAsBearerToken() throws Exception {
+        RefreshTokenService.TokenPair tokens = refreshTokenService.issue(new CustomUserDetails(user));
+
+        mockMvc.perform(get("/api/dashboard/stats").header("Authorization", "Bearer " + tokens.refreshToken()))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/dashboard/stats").header("Authorization", "Bearer " + tokens.accessToken()))
+            .andExpect(status().isOk());
+    }
+
+    private String sessionOf(String accessToken) {
+        return jwtService.parseAndValidate(accessToken).orElseThrow().sessionId();
+    }
+}
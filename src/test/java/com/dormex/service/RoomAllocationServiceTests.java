@@ -0,0 +1,218 @@
+package com.dormex.service;
+
+import com.dormex.dto.student.RoomAllocationRequest;
+import com.dormex.entity.Block;
+import com.dormex.entity.Room;
+import com.dormex.entity.Student;
+import com.dormex.entity.User;
+import com.dormex.entity.enums.Role;
+import com.dormex.entity.enums.RoomStatus;
+import com.dormex.exception.BadRequestException;
+import com.dormex.repository.BlockRepository;
+import com.dormex.repository.RoomRepository;
+import com.dormex.repository.StudentRepository;
+import com.dormex.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Room allocation tests.
+ * Checks that student moves keep room occupancy in step, roll back as a whole,
+ * and do not deadlock when run concurrently in opposite directions.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RoomAllocationServiceTests {
+
+    @Autowired
+    private RoomAllocationService roomAllocationService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BlockRepository blockRepository;
+
+    private Block block;
+    private final List<Room> rooms = new ArrayList<>();
+    private final List<Student> students = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        block = blockRepository.save(Block.builder().name("Allocation Block").totalFloors(1).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        studentRepository.deleteAllById(students.stream().map(Student::getId).toList());
+        userRepository.deleteAllById(students.stream().map(student -> student.getUser().getId()).toList());
+        roomRepository.deleteAllById(rooms.stream().map(Room::getId).toList());
+        blockRepository.deleteById(block.getId());
+    }
+
+    @Test
+    void moveFreesOldRoomAndTakesNewOne() {
+        Room single = room("A101", 1);
+        Room shared = room("A102", 2);
+        Student student = student("ALLOC001");
+
+        studentService.assignRoom(student.getId(), single.getId(), null);
+        assertThat(occupancy(single)).isEqualTo(1);
+        assertThat(status(single)).isEqualTo(RoomStatus.FULL);
+
+        studentService.assignRoom(student.getId(), shared.getId(), null);
+        assertThat(occupancy(single)).isZero();
+        assertThat(status(single)).isEqualTo(RoomStatus.AVAILABLE);
+        assertThat(occupancy(shared)).isEqualTo(1);
+        assertThat(studentRepository.findById(student.getId()).orElseThrow().getRoomId()).isEqualTo(shared.getId());
+    }
+
+    @Test
+    void fullRoomRollsBackTheWholeMove() {
+        Room single = room("A101", 1);
+        Room other = room("A102", 1);
+        Student first = student("ALLOC001");
+        Student second = student("ALLOC002");
+        studentService.assignRoom(first.getId(), single.getId(), null);
+        studentService.assignRoom(second.getId(), other.getId(), null);
+
+        assertThatThrownBy(() -> studentService.assignRoom(second.getId(), single.getId(), null))
+            .isInstanceOf(BadRequestException.class)
+            .hasMessage("Room is at full capacity");
+
+        // The old room was freed before the new one was found full; both must be undone
+        assertThat(occupancy(other)).isEqualTo(1);
+        assertThat(studentRepository.findById(second.getId()).orElseThrow().getRoomId()).isEqualTo(other.getId());
+    }
+
+    @Test
+    void roomUnderMaintenanceRejectsTheMove() {
+        Room current = room("A101", 2);
+        Room closed = room("A102", 2);
+        closed.setStatus(RoomStatus.UNDER_MAINTENANCE);
+        roomRepository.save(closed);
+        Student student = student("ALLOC001");
+        studentService.assignRoom(student.getId(), current.getId(), null);
+
+        assertThatThrownBy(() -> studentService.assignRoom(student.getId(), closed.getId(), null))
+            .isInstanceOf(BadRequestException.class)
+            .hasMessage("Room is under maintenance");
+
+        assertThat(occupancy(current)).isEqualTo(1);
+        assertThat(occupancy(closed)).isZero();
+    }
+
+    @Test
+    void batchCanSwapStudentsBetweenFullRooms() {
+        Room left = room("A101", 1);
+        Room right = room("A102", 1);
+        Student first = student("ALLOC001");
+        Student second = student("ALLOC002");
+        studentService.assignRoom(first.getId(), left.getId(), null);
+        studentService.assignRoom(second.getId(), right.getId(), null);
+
+        studentService.allocateRooms(List.of(
+            new RoomAllocationRequest(first.getId(), right.getId(), null),
+            new RoomAllocationRequest(second.getId(), left.getId(), null)));
+
+        assertThat(studentRepository.findById(first.getId()).orElseThrow().getRoomId()).isEqualTo(right.getId());
+        assertThat(studentRepository.findById(second.getId()).orElseThrow().getRoomId()).isEqualTo(left.getId());
+        assertThat(occupancy(left)).isEqualTo(1);
+        assertThat(occupancy(right)).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentOppositeMovesDoNotDeadlock() throws Exception {
+        int pairs = 8;
+        // Room for everyone on either side, so every move succeeds whatever the interleaving
+        Room left = room("A101", 2 * pairs);
+        Room right = room("A102", 2 * pairs);
+        List<Student> movers = new ArrayList<>();
+        for (int i = 0; i < pairs; i++) {
+            Student fromLeft = student("LEFT" + i);
+            Student fromRight = student("RIGHT" + i);
+            roomAllocationService.allocate(fromLeft.getId(), left.getId(), null);
+            roomAllocationService.allocate(fromRight.getId(), right.getId(), null);
+            movers.add(fromLeft);
+            movers.add(fromRight);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(movers.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < movers.size(); i++) {
+                Long studentId = movers.get(i).getId();
+                boolean startsLeft = i % 2 == 0;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int round = 0; round < 5; round++) {
+                        boolean toRight = startsLeft == (round % 2 == 0);
+                        roomAllocationService.allocate(studentId, toRight ? right.getId() : left.getId(), null);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Five moves each: every student ends up on the other side
+        assertThat(occupancy(left)).isEqualTo(studentRepository.findByRoomId(left.getId()).size()).isEqualTo(pairs);
+        assertThat(occupancy(right)).isEqualTo(studentRepository.findByRoomId(right.getId()).size()).isEqualTo(pairs);
+    }
+
+    private Room room(String number, int capacity) {
+        Room room = roomRepository.save(Room.builder().block(block).roomNumber(number).floor(1).capacity(capacity).build());
+        rooms.add(room);
+        return room;
+    }
+
+    private Student student(String rollNumber) {
+        User user = userRepository.save(User.builder()
+            .name("Student " + rollNumber)
+            .email(rollNumber.toLowerCase() + "@alloc.test")
+            .password("secret")
+            .role(Role.STUDENT)
+            .build());
+        Student student = studentRepository.save(Student.builder().user(user).rollNumber(rollNumber).build());
+        students.add(student);
+        return student;
+    }
+
+    private int occupancy(Room room) {
+        return roomRepository.findById(room.getId()).orElseThrow().getCurrentOccupancy();
+    }
+
+    private RoomStatus status(Room room) {
+        return roomRepository.findById(room.getId()).orElseThrow().getStatus();
+    }
+}
@@ -0,0 +1,155 @@
+package com.dormex.service;
+
+import com.dormex.entity.Block;
+import com.dormex.entity.Room;
+import com.dormex.entity.enums.RoomStatus;
+import com.dormex.exception.BadRequestException;
+import com.dormex.repository.BlockRepository;
+import com.dormex.repository.RoomRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Room occupancy concurrency tests.
+ * Many threads compete for the same room; it must never go over capacity or below zero.
+ * Not transactional: every call commits on its own, as it would under real load.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RoomOccupancyConcurrencyTests {
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 10;
+    private static final int CAPACITY = 3;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BlockRepository blockRepository;
+
+    @Autowired
+    private DashboardCounters dashboardCounters;
+
+    private Block block;
+    private Room room;
+
+    @BeforeEach
+    void setUp() {
+        block = blockRepository.save(Block.builder().name("Concurrency Block").totalFloors(1).build());
+        room = roomRepository.save(Room.builder().block(block).roomNumber("C101").floor(1).capacity(CAPACITY).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        roomRepository.deleteById(room.getId());
+        blockRepository.deleteById(block.getId());
+    }
+
+    @Test
+    void concurrentIncrementsNeverOverAllocate() throws Exception {
+        long fullRooms = dashboardCounters.rooms(RoomStatus.FULL);
+        long occupancy = dashboardCounters.totalOccupancy();
+
+        int succeeded = hammer(roomService::incrementOccupancy);
+
+        Room result = roomRepository.findById(room.getId()).orElseThrow();
+        assertThat(succeeded).isEqualTo(CAPACITY);
+        assertThat(result.getCurrentOccupancy()).isEqualTo(CAPACITY);
+        assertThat(result.getStatus()).isEqualTo(RoomStatus.FULL);
+        // Every status move is reported from the state the update actually started from
+        assertThat(dashboardCounters.rooms(RoomStatus.FULL)).isEqualTo(fullRooms + 1);
+        assertThat(dashboardCounters.totalOccupancy()).isEqualTo(occupancy + CAPACITY);
+    }
+
+    @Test
+    void concurrentDecrementsStopAtZero() throws Exception {
+        for (int i = 0; i < CAPACITY; i++) {
+            roomService.incrementOccupancy(room.getId());
+        }
+
+        int succeeded = hammer(roomService::decrementOccupancy);
+
+        Room result = roomRepository.findById(room.getId()).orElseThrow();
+        assertThat(succeeded).isEqualTo(CAPACITY);
+        assertThat(result.getCurrentOccupancy()).isZero();
+        assertThat(result.getStatus()).isEqualTo(RoomStatus.AVAILABLE);
+    }
+
+    @Test
+    void maintenanceStatusIsKept() {
+        roomService.incrementOccupancy(room.getId());
+        room = roomRepository.findById(room.getId()).orElseThrow();
+        room.setStatus(RoomStatus.UNDER_MAINTENANCE);
+        roomRepository.save(room);
+
+        assertThat(roomService.decrementOccupancy(room.getId()).getStatus()).isEqualTo(RoomStatus.UNDER_MAINTENANCE);
+        assertThatThrownBy(() -> roomService.decrementOccupancy(room.getId()))
+            .isInstanceOf(BadRequestException.class)
+            .hasMessage("Room is already empty");
+    }
+
+    @Test
+    void roomsUnderMaintenanceTakeNoStudents() {
+        room.setStatus(RoomStatus.UNDER_MAINTENANCE);
+        roomRepository.save(room);
+
+        assertThatThrownBy(() -> roomService.incrementOccupancy(room.getId()))
+            .isInstanceOf(BadRequestException.class)
+            .hasMessage("Room is under maintenance");
+        assertThat(roomRepository.findById(room.getId()).orElseThrow().getCurrentOccupancy()).isZero();
+    }
+
+    // Runs the operation from all threads at once and returns how many calls succeeded
+    private int hammer(LongConsumer operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                        try {
+                            operation.accept(room.getId());
+                            succeeded.incrementAndGet();
+                        } catch (BadRequestException e) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(succeeded.get() + rejected.get()).isEqualTo(THREADS * ATTEMPTS_PER_THREAD);
+        return succeeded.get();
+    }
+}
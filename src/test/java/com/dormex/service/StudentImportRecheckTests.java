@@ -0,0 +1,93 @@
+package com.dormex.service;
+
+import com.dormex.dto.student.CreateStudentRequest;
+import com.dormex.dto.student.StudentImportResult;
+import com.dormex.entity.Student;
+import com.dormex.entity.User;
+import com.dormex.repository.StudentRepository;
+import com.dormex.repository.UserRepository;
+import com.dormex.security.PooledPasswordEncoder;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for values taken by someone else while an import hashes its passwords.
+ */
+class StudentImportRecheckTests {
+
+    private final StudentRepository studentRepository = mock(StudentRepository.class);
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    private final PooledPasswordEncoder passwordEncoder = mock(PooledPasswordEncoder.class);
+
+    private final StudentImportService service = new StudentImportService(studentRepository, userRepository,
+        passwordEncoder, Validation.buildDefaultValidatorFactory().getValidator(),
+        new TransactionTemplate(mock(PlatformTransactionManager.class)), mock(DashboardCounters.class),
+        mock(StudentSearchIndex.class), mock(SuggestionIndex.class), mock(MealHeadcounts.class));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "maxRows", 100);
+        when(passwordEncoder.encodeAll(anyList(), anyLong())).thenReturn(List.of("hash1", "hash2", "hash3"));
+    }
+
+    @Test
+    void valuesTakenDuringHashingFailOnlyTheirRows() {
+        // Free when the file is checked, taken by the time the transaction looks again
+        when(userRepository.findExistingEmails(anyCollection()))
+            .thenReturn(List.of())
+            .thenReturn(List.of("LATE@test.com"));
+        when(studentRepository.findExistingRollNumbers(anyCollection()))
+            .thenReturn(List.of())
+            .thenReturn(List.of("RC003"));
+
+        StudentImportResult result = service.importStudents(List.of(
+            request("Asha Verma", "asha@test.com", "RC001"),
+            request("Late Comer", "late@test.com", "RC002"),
+            request("Roll Taken", "roll@test.com", "RC003")));
+
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getRows().get(0).getStatus()).isEqualTo(StudentImportResult.Status.CREATED);
+        assertThat(result.getRows().get(1).getStatus()).isEqualTo(StudentImportResult.Status.FAILED);
+        assertThat(result.getRows().get(1).getErrors()).containsExactly("Email already registered");
+        assertThat(result.getRows().get(2).getErrors()).containsExactly("Roll number already exists");
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<User>> users = ArgumentCaptor.forClass(List.class);
+        verify(userRepository).saveAll(users.capture());
+        assertThat(users.getValue()).singleElement().satisfies(user -> {
+            assertThat(user.getEmail()).isEqualTo("asha@test.com");
+            assertThat(user.getPassword()).isEqualTo("hash1");
+        });
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Student>> students = ArgumentCaptor.forClass(List.class);
+        verify(studentRepository).saveAll(students.capture());
+        assertThat(students.getValue()).extracting(Student::getRollNumber).containsExactly("RC001");
+    }
+
+    private static CreateStudentRequest request(String name, String email, String rollNumber) {
+        CreateStudentRequest request = new CreateStudentRequest();
+        request.setName(name);
+        request.setEmail(email);
+        request.setPassword("secret1");
+        request.setRollNumber(rollNumber);
+        return request;
+    }
+}
@@ -0,0 +1,131 @@
+package com.dormex.service;
+
+import com.dormex.dto.student.CreateStudentRequest;
+import com.dormex.dto.student.StudentImportResult;
+import com.dormex.entity.User;
+import com.dormex.entity.enums.AuthProvider;
+import com.dormex.entity.enums.Role;
+import com.dormex.exception.BadRequestException;
+import com.dormex.repository.StudentRepository;
+import com.dormex.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Bulk student import tests.
+ * Checks the per-row report and that inserts are batched instead of issued per row.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class StudentImportServiceTests {
+
+    @Autowired
+    private StudentImportService studentImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(User.builder()
+            .name("Existing User")
+            .email("taken@test.com")
+            .password("secret")
+            .role(Role.STUDENT)
+            .authProvider(AuthProvider.LOCAL)
+            .enabled(true)
+            .build());
+        entityManager.flush();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void importsCsvAndReportsInvalidRows() {
+        String csv = """
+            name,email,password,rollNumber,department,joiningDate
+            Asha Verma,asha@test.com,secret1,IMP001,Physics,2024-07-01
+            "Mills, Johnny",johnny@test.com,secret2,IMP002,"Computer ""CS"" Science",
+            Ravi Kumar,taken@test.com,secret3,IMP003,Physics,
+            Meena Iyer,meena@test.com,123,IMP004,Physics,
+            Dup Roll,dup@test.com,secret5,IMP001,Physics,
+            Bad Date,bad@test.com,secret6,IMP006,Physics,01/07/2024
+            """;
+
+        StudentImportResult result = studentImportService.importCsv(csv);
+
+        assertThat(result.getTotal()).isEqualTo(6);
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(4);
+
+        List<StudentImportResult.RowResult> rows = result.getRows();
+        assertThat(rows.get(0).getStatus()).isEqualTo(StudentImportResult.Status.CREATED);
+        assertThat(rows.get(0).getStudentId()).isNotNull();
+        assertThat(rows.get(2).getErrors()).containsExactly("Email already registered");
+        assertThat(rows.get(3).getErrors()).singleElement().asString().startsWith("password:");
+        assertThat(rows.get(4).getErrors()).containsExactly("Roll number is repeated from row 1");
+        assertThat(rows.get(5).getErrors()).singleElement().asString().startsWith("Invalid date");
+
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(studentRepository.findByRollNumber("IMP002").orElseThrow().getDepartment())
+            .isEqualTo("Computer \"CS\" Science");
+        assertThat(userRepository.findByEmail("johnny@test.com").orElseThrow().getName())
+            .isEqualTo("Mills, Johnny");
+    }
+
+    @Test
+    void insertsAreBatched() {
+        List<CreateStudentRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            CreateStudentRequest request = new CreateStudentRequest();
+            request.setName("Batch Student " + i);
+            request.setEmail("batch" + i + "@test.com");
+            request.setPassword("secret" + i);
+            request.setRollNumber("BATCH" + i);
+            requests.add(request);
+        }
+
+        statistics.clear();
+        StudentImportResult result = studentImportService.importStudents(requests);
+        entityManager.flush();
+
+        assertThat(result.getCreated()).isEqualTo(20);
+        assertThat(studentRepository.findExistingRollNumbers(List.of("BATCH0", "BATCH19"))).hasSize(2);
+        // The duplicate lookups before and inside the transaction, the id sequences and one batch per table, not 40 single inserts
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    void rejectsUnknownColumns() {
+        assertThatThrownBy(() -> studentImportService.importCsv("name,email,shoeSize\nA,a@test.com,9\n"))
+            .isInstanceOf(BadRequestException.class)
+            .hasMessageContaining("shoeSize");
+    }
+}
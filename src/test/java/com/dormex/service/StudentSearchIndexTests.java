@@ -0,0 +1,117 @@
+package com.dormex.service;
+
+import com.dormex.entity.Student;
+import com.dormex.entity.User;
+import com.dormex.repository.StudentRepository;
+import com.dormex.repository.projection.StudentSearchView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the in-memory student search index.
+ */
+class StudentSearchIndexTests {
+
+    private final StudentRepository studentRepository = mock(StudentRepository.class);
+
+    private final StudentSearchIndex index = new StudentSearchIndex(studentRepository);
+
+    @BeforeEach
+    void setUp() {
+        List<StudentSearchView> students = List.of(
+            view(1L, "John Carter", "CS001", "john.carter@uni.edu", "Computer Science"),
+            view(2L, "Johnny Mills", "CS002", "jo.mills@uni.edu", "Computer Science"),
+            view(3L, "Priya Natarajan", "ME014", "priya.n@uni.edu", "Mechanical"),
+            view(4L, "Arjun Mehta", "EE007", "arjun.m@uni.edu", "Electrical"));
+        when(studentRepository.findAllForSearch()).thenReturn(students);
+        index.rebuild();
+    }
+
+    @Test
+    void exactMatchesRankAbovePrefixMatches() {
+        assertThat(index.search("john", 10)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void matchesSubstringsOfNamesAndRollNumbers() {
+        assertThat(index.search("taraj", 10)).containsExactly(3L);
+        assertThat(index.search("014", 10)).containsExactly(3L);
+    }
+
+    @Test
+    void toleratesTyposInLongerTerms() {
+        assertThat(index.search("jhon", 10)).containsExactly(1L);
+        assertThat(index.search("natrajan", 10)).containsExactly(3L);
+    }
+
+    @Test
+    void everyTermHasToMatch() {
+        assertThat(index.search("computer mills", 10)).containsExactly(2L);
+        assertThat(index.search("mechanical arjun", 10)).isEmpty();
+    }
+
+    @Test
+    void resultsAreCapped() {
+        assertThat(index.search("uni", 2)).hasSize(2);
+    }
+
+    @Test
+    void removedStudentsAreNoLongerFound() {
+        index.studentDeleted(1L);
+
+        assertThat(index.search("carter", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void removalDropsEmptyPostings() {
+        assertThat(index.gramCount()).isPositive();
+
+        List.of(1L, 2L, 3L, 4L).forEach(index::studentDeleted);
+
+        assertThat(index.gramCount()).isZero();
+    }
+
+    @Test
+    void writesDuringARebuildAreReplayedOntoTheRebuiltIndex() {
+        List<StudentSearchView> loaded = List.of(
+            view(1L, "John Carter", "CS001", "john.carter@uni.edu", "Computer Science"));
+        when(studentRepository.findAllForSearch()).thenAnswer(invocation -> {
+            // Commit after the rows were read but before the rebuilt index is swapped in
+            index.studentDeleted(1L);
+            index.studentSaved(Student.builder().id(5L).rollNumber("CE021").department("Civil")
+                .user(User.builder().name("Meera Iyer").email("meera.i@uni.edu").build())
+                .build());
+            return loaded;
+        });
+
+        index.rebuild();
+
+        assertThat(index.search("carter", 10)).isEmpty();
+        assertThat(index.search("meera", 10)).containsExactly(5L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void editDistanceCountsTranspositionsOnce() {
+        assertThat(StudentSearchIndex.editDistance("jhon", "john", 2)).isEqualTo(1);
+        assertThat(StudentSearchIndex.editDistance("kitten", "sitting", 3)).isEqualTo(3);
+        assertThat(StudentSearchIndex.editDistance("abc", "xyzxyz", 1)).isEqualTo(2);
+    }
+
+    private static StudentSearchView view(Long id, String name, String rollNumber, String email, String department) {
+        return new StudentSearchView() {
+            public Long getId() { return id; }
+            public String getName() { return name; }
+            public String getRollNumber() { return rollNumber; }
+            public String getEmail() { return email; }
+            public String getDepartment() { return department; }
+        };
+    }
+}
@@ -0,0 +1,188 @@
+package com.dormex.service;
+
+import com.dormex.dto.PageResponse;
+import com.dormex.dto.student.StudentFilter;
+import com.dormex.dto.student.StudentResponse;
+import com.dormex.entity.Block;
+import com.dormex.entity.Room;
+import com.dormex.entity.Student;
+import com.dormex.entity.User;
+import com.dormex.entity.enums.StudentStatus;
+import com.dormex.exception.BadRequestException;
+import com.dormex.repository.BlockRepository;
+import com.dormex.repository.RoomRepository;
+import com.dormex.repository.StudentRepository;
+import com.dormex.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Student directory tests.
+ * Checks filtering, paging and that a page costs a constant number of SQL statements.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class StudentServiceTests {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private BlockRepository blockRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private StudentSearchIndex studentSearchIndex;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Long blockAId;
+
+    private Long roomA1Id;
+
+    @BeforeEach
+    void setUp() {
+        Block blockA = blockRepository.save(Block.builder().name("Block A").totalFloors(1).build());
+        Block blockB = blockRepository.save(Block.builder().name("Block B").totalFloors(1).build());
+        Room roomA1 = saveRoom(blockA, "A101");
+        Room roomA2 = saveRoom(blockA, "A102");
+        Room roomB1 = saveRoom(blockB, "B101");
+        blockAId = blockA.getId();
+        roomA1Id = roomA1.getId();
+
+        saveStudent("Asha", "CS001", "Computer Science", "2", roomA1, StudentStatus.ACTIVE);
+        saveStudent("Bilal", "CS002", "Computer Science", "3", roomA1, StudentStatus.ACTIVE);
+        saveStudent("Chen", "ME001", "Mechanical", "2", roomA2, StudentStatus.ACTIVE);
+        saveStudent("Divya", "ME002", "Mechanical", "1", roomB1, StudentStatus.ACTIVE);
+        saveStudent("Emil", "CS003", "Computer Science", "4", null, StudentStatus.LEFT);
+
+        entityManager.flush();
+        entityManager.clear();
+        studentSearchIndex.rebuild();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void pageIsLoadedWithUsersInConstantNumberOfQueries() {
+        PageResponse<StudentResponse> page = studentService.findStudents(
+            new StudentFilter(), PageRequest.of(0, 2, Sort.by("name")));
+
+        // One page query with the user fetch-joined, one count query
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(page.getItems()).extracting(StudentResponse::getName).containsExactly("Asha", "Bilal");
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.getTotalPages()).isEqualTo(3);
+    }
+
+    @Test
+    void filtersAreCombined() {
+        StudentFilter filter = StudentFilter.builder()
+            .status(StudentStatus.ACTIVE)
+            .department("computer science")
+            .build();
+
+        PageResponse<StudentResponse> page = studentService.findStudents(filter, PageRequest.of(0, 20, Sort.by("rollNumber")));
+
+        assertThat(page.getItems()).extracting(StudentResponse::getRollNumber).containsExactly("CS001", "CS002");
+    }
+
+    @Test
+    void blockAndRoomFiltersMatchAssignedStudents() {
+        PageResponse<StudentResponse> inBlock = studentService.findStudents(
+            StudentFilter.builder().blockId(blockAId).build(), PageRequest.of(0, 20, Sort.by("rollNumber")));
+        PageResponse<StudentResponse> inRoom = studentService.findStudents(
+            StudentFilter.builder().roomId(roomA1Id).year("3").build(), PageRequest.of(0, 20));
+
+        assertThat(inBlock.getItems()).extracting(StudentResponse::getRollNumber)
+            .containsExactly("CS001", "CS002", "ME001");
+        assertThat(inRoom.getItems()).extracting(StudentResponse::getName).containsExactly("Bilal");
+    }
+
+    @Test
+    void searchIsServedFromTheIndexWithOneQuery() {
+        statistics.clear();
+
+        List<StudentResponse> results = studentService.searchStudents("mechanical", null);
+
+        // Ranking happens in memory, only the matched students are loaded
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(results).extracting(StudentResponse::getName).containsExactly("Chen", "Divya");
+    }
+
+    @Test
+    void pagesSortedOnSharedValuesNeitherRepeatNorSkipStudents() {
+        List<String> names = new ArrayList<>();
+        for (int page = 0; page < 3; page++) {
+            studentService.findStudents(new StudentFilter(), PageRequest.of(page, 2, Sort.by("department")))
+                .getItems().forEach(student -> names.add(student.getName()));
+        }
+
+        // Equal departments fall back to the id, which follows the insertion order
+        assertThat(names).containsExactly("Asha", "Bilal", "Emil", "Chen", "Divya");
+    }
+
+    @Test
+    void unknownSortPropertyIsRejected() {
+        assertThatThrownBy(() -> studentService.findStudents(new StudentFilter(), PageRequest.of(0, 20, Sort.by("password"))))
+            .isInstanceOf(BadRequestException.class);
+    }
+
+    private Room saveRoom(Block block, String number) {
+        return roomRepository.save(Room.builder()
+            .block(block)
+            .roomNumber(number)
+            .floor(1)
+            .capacity(3)
+            .build());
+    }
+
+    private void saveStudent(String name, String rollNumber, String department, String year,
+                             Room room, StudentStatus status) {
+        User user = userRepository.save(User.builder()
+            .name(name)
+            .email(rollNumber.toLowerCase() + "@test.com")
+            .password("secret")
+            .build());
+        studentRepository.save(Student.builder()
+            .user(user)
+            .rollNumber(rollNumber)
+            .department(department)
+            .year(year)
+            .roomId(room != null ? room.getId() : null)
+            .status(status)
+            .build());
+    }
+}
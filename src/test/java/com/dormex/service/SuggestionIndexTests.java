@@ -0,0 +1,122 @@
+package com.dormex.service;
+
+import com.dormex.dto.search.Suggestion;
+import com.dormex.repository.RoomRepository;
+import com.dormex.repository.StudentRepository;
+import com.dormex.repository.projection.RoomSuggestionView;
+import com.dormex.repository.projection.StudentSearchView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the typeahead trie.
+ */
+class SuggestionIndexTests {
+
+    private final StudentRepository studentRepository = mock(StudentRepository.class);
+
+    private final RoomRepository roomRepository = mock(RoomRepository.class);
+
+    private final SuggestionIndex index = new SuggestionIndex(studentRepository, roomRepository);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(index, "maxResults", 20);
+        when(studentRepository.findAllForSearch()).thenReturn(List.of(
+            student(1L, "John Carter", "CS001"),
+            student(2L, "Johnny Mills", "CS002"),
+            student(3L, "Priya Natarajan", "ME014")));
+        when(roomRepository.findAllForSuggestions()).thenReturn(List.of(
+            room(10L, 1L, "Block A", "101"),
+            room(11L, 1L, "Block A", "102"),
+            room(12L, 2L, "Block B", "201")));
+        index.rebuild();
+    }
+
+    @Test
+    void suggestsByNamePrefixWithShorterKeysFirst() {
+        assertThat(labels("jo", null, 10)).containsExactly("John Carter", "Johnny Mills");
+    }
+
+    @Test
+    void suggestsByLaterNameWordsAndRollNumber() {
+        assertThat(labels("nata", null, 10)).containsExactly("Priya Natarajan");
+        assertThat(labels("cs00", null, 10)).containsExactly("John Carter", "Johnny Mills");
+    }
+
+    @Test
+    void suggestsRoomsByBlockAndRoomNumber() {
+        assertThat(labels("block a", Suggestion.Type.ROOM, 10)).containsExactly("Block A 101", "Block A 102");
+        assertThat(labels("20", Suggestion.Type.ROOM, 10)).containsExactly("Block B 201");
+        assertThat(labels("block", Suggestion.Type.STUDENT, 10)).isEmpty();
+    }
+
+    @Test
+    void resultsAreLimited() {
+        assertThat(labels("block", null, 2)).hasSize(2);
+        assertThat(labels("block", null, 0)).isEmpty();
+    }
+
+    @Test
+    void renamingBlockRekeysItsRooms() {
+        index.blockRenamed(1L, "Annex");
+
+        assertThat(labels("annex", null, 10)).containsExactly("Annex 101", "Annex 102");
+        assertThat(labels("block", null, 10)).containsExactly("Block B 201");
+    }
+
+    @Test
+    void deletedEntriesAreNoLongerSuggested() {
+        index.studentDeleted(1L);
+        index.roomDeleted(12L);
+
+        assertThat(labels("john", null, 10)).containsExactly("Johnny Mills");
+        assertThat(labels("block b", null, 10)).isEmpty();
+    }
+
+    @Test
+    void writesDuringARebuildAreReplayedOntoTheRebuiltTrie() {
+        List<RoomSuggestionView> rooms = List.of(room(10L, 1L, "Block A", "101"), room(12L, 2L, "Block B", "201"));
+        when(roomRepository.findAllForSuggestions()).thenAnswer(invocation -> {
+            // Commit after the rows were read but before the rebuilt trie is swapped in
+            index.blockRenamed(1L, "Annex");
+            index.roomDeleted(12L);
+            return rooms;
+        });
+
+        index.rebuild();
+
+        assertThat(labels("annex", null, 10)).containsExactly("Annex 101");
+        assertThat(labels("block", null, 10)).isEmpty();
+    }
+
+    private List<String> labels(String prefix, Suggestion.Type type, int limit) {
+        return index.suggest(prefix, type, limit).stream().map(Suggestion::getLabel).toList();
+    }
+
+    private static StudentSearchView student(Long id, String name, String rollNumber) {
+        return new StudentSearchView() {
+            public Long getId() { return id; }
+            public String getName() { return name; }
+            public String getRollNumber() { return rollNumber; }
+            public String getEmail() { return null; }
+            public String getDepartment() { return null; }
+        };
+    }
+
+    private static RoomSuggestionView room(Long id, Long blockId, String blockName, String roomNumber) {
+        return new RoomSuggestionView() {
+            public Long getId() { return id; }
+            public Long getBlockId() { return blockId; }
+            public String getBlockName() { return blockName; }
+            public String getRoomNumber() { return roomNumber; }
+        };
+    }
+}
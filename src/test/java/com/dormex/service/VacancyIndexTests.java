@@ -0,0 +1,121 @@
+package com.dormex.service;
+
+import com.dormex.dto.room.RoomResponse;
+import com.dormex.entity.Block;
+import com.dormex.entity.Room;
+import com.dormex.entity.enums.RoomStatus;
+import com.dormex.repository.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the in-memory vacancy index.
+ */
+class VacancyIndexTests {
+
+    private static final Block BLOCK_A = Block.builder().id(1L).name("Block A").build();
+    private static final Block BLOCK_B = Block.builder().id(2L).name("Block B").build();
+
+    private final RoomRepository roomRepository = mock(RoomRepository.class);
+
+    private final VacancyIndex index = new VacancyIndex(roomRepository);
+
+    @BeforeEach
+    void setUp() {
+        when(roomRepository.findAllWithBlock()).thenReturn(List.of(
+            room(10L, BLOCK_A, "101", 1, "Single", 1, 0, RoomStatus.AVAILABLE),
+            room(11L, BLOCK_A, "102", 1, "Triple", 3, 1, RoomStatus.OCCUPIED),
+            room(12L, BLOCK_A, "201", 2, "Triple", 3, 0, RoomStatus.AVAILABLE),
+            room(13L, BLOCK_A, "202", 2, "Double", 2, 2, RoomStatus.FULL),
+            room(14L, BLOCK_A, "203", 2, "Double", 2, 0, RoomStatus.UNDER_MAINTENANCE),
+            room(20L, BLOCK_B, "101", 1, "Double", 2, 0, RoomStatus.AVAILABLE)));
+        index.rebuild();
+    }
+
+    @Test
+    void findsRoomsWithEnoughFreeBeds() {
+        assertThat(ids(null, 1, null, null)).containsExactly(10L, 11L, 12L, 20L);
+        assertThat(ids(1L, 2, null, null)).containsExactly(11L, 12L);
+        assertThat(ids(1L, 3, null, null)).containsExactly(12L);
+        assertThat(ids(2L, 3, null, null)).isEmpty();
+        assertThat(ids(99L, 1, null, null)).isEmpty();
+    }
+
+    @Test
+    void filtersByFloorAndRoomType() {
+        assertThat(ids(1L, 1, 2, null)).containsExactly(12L);
+        assertThat(ids(null, 1, null, "double")).containsExactly(20L);
+    }
+
+    @Test
+    void occupancyChangesMoveRoomsBetweenBuckets() {
+        index.occupancyChanged(12L, 3, RoomStatus.FULL, 1L);
+        index.occupancyChanged(13L, 1, RoomStatus.OCCUPIED, 1L);
+
+        assertThat(ids(1L, 1, null, null)).containsExactly(10L, 11L, 13L);
+        RoomResponse freed = index.find(1L, 1, 2, null).get(0);
+        assertThat(freed.getAvailableSlots()).isEqualTo(1);
+        assertThat(freed.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void lateUpdatesDoNotOverwriteNewerVersions() {
+        index.occupancyChanged(11L, 3, RoomStatus.FULL, 2L);
+        index.occupancyChanged(11L, 2, RoomStatus.OCCUPIED, 1L);
+
+        assertThat(ids(1L, 1, 1, null)).containsExactly(10L);
+    }
+
+    @Test
+    void followsRenamesAndDeletes() {
+        index.blockRenamed(2L, "Annex");
+        index.roomDeleted(10L);
+
+        List<RoomResponse> rooms = index.find(null, 1, 1, null);
+        assertThat(rooms).extracting(RoomResponse::getId).containsExactly(20L, 11L);
+        assertThat(rooms.get(0).getBlockName()).isEqualTo("Annex");
+    }
+
+    @Test
+    void updatesDuringARebuildAreNotLost() {
+        List<Room> rooms = List.of(
+            room(10L, BLOCK_A, "101", 1, "Single", 1, 0, RoomStatus.AVAILABLE),
+            room(11L, BLOCK_A, "102", 1, "Double", 2, 1, RoomStatus.OCCUPIED));
+        when(roomRepository.findAllWithBlock()).thenAnswer(invocation -> {
+            // Room 10 fills up after the rebuild read it; room 11's update was already read and is older
+            index.occupancyChanged(10L, 1, RoomStatus.FULL, 1L);
+            index.occupancyChanged(11L, 0, RoomStatus.AVAILABLE, -1L);
+            return rooms;
+        });
+
+        index.rebuild();
+
+        assertThat(ids(null, 1, null, null)).containsExactly(11L);
+        assertThat(index.find(null, 1, null, null).get(0).getCurrentOccupancy()).isEqualTo(1);
+    }
+
+    private List<Long> ids(Long blockId, int minFreeBeds, Integer floor, String roomType) {
+        return index.find(blockId, minFreeBeds, floor, roomType).stream().map(RoomResponse::getId).toList();
+    }
+
+    private static Room room(Long id, Block block, String number, int floor, String type,
+                             int capacity, int occupancy, RoomStatus status) {
+        return Room.builder()
+            .id(id)
+            .block(block)
+            .roomNumber(number)
+            .floor(floor)
+            .roomType(type)
+            .capacity(capacity)
+            .currentOccupancy(occupancy)
+            .status(status)
+            .version(0L)
+            .build();
+    }
+}